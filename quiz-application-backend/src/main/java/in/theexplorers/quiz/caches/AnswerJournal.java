@@ -0,0 +1,188 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Memory-mapped journal of the answers accepted by the {@link AnswerWriteBuffer}.
+ *
+ * <p>The file holds a header and one fixed-size record per slot of the buffer; the answer with sequence
+ * {@code s} is written to slot {@code s mod capacity}. A record is written field by field and its
+ * sequence last, so a record interrupted by a crash still carries the sequence of the answer it
+ * replaced. The header holds the flushed sequence: records below it are stored in the database, and
+ * their slots may be reused.</p>
+ *
+ * <p>Writes go to the page cache through the mapping, so they survive a crash of the process without
+ * a system call per answer; surviving a crash of the machine would take an {@code fsync} per answer.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class AnswerJournal implements Closeable {
+    private static final long MAGIC = 0x515A414E534A0001L;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int FLUSHED_OFFSET = 16;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 40;
+    // Record layout: sequence + 1 (0 for an empty slot), user ID, question ID, option ID, correctness
+    private static final int USER_ID_OFFSET = 8;
+    private static final int QUESTION_ID_OFFSET = 16;
+    private static final int OPTION_ID_OFFSET = 24;
+    private static final int CORRECT_OFFSET = 32;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private AnswerJournal(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the journal at the given path, creating it when it does not exist.
+     *
+     * <p>A journal created with another capacity is recreated when all its answers are flushed.</p>
+     *
+     * @param path     the path of the file.
+     * @param capacity the number of records.
+     * @return the journal.
+     * @throws IOException           if the file cannot be opened or mapped.
+     * @throws IllegalStateException if the file is not a journal, or was created with another capacity
+     *                               and still holds answers that are not flushed.
+     */
+    public static AnswerJournal open(Path path, int capacity) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() > 0) {
+                AnswerJournal existing = map(channel);
+                if (existing.capacity == capacity) {
+                    return existing;
+                }
+                if (!existing.readUnflushed().isEmpty()) {
+                    throw new IllegalStateException("Answer journal " + path + " was created with a capacity of "
+                            + existing.capacity + " and holds answers that are not stored yet");
+                }
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity));
+            buffer.putLong(CAPACITY_OFFSET, capacity);
+            buffer.putLong(FLUSHED_OFFSET, 0);
+            LONGS.setRelease(buffer, 0, MAGIC);
+            return new AnswerJournal(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes an answer to the slot of its sequence. Answers with different sequences may be written
+     * concurrently.
+     *
+     * @param sequence the sequence of the answer.
+     * @param answer   the graded answer.
+     */
+    public void append(long sequence, AnswerDto answer) {
+        int offset = offset(sequence);
+        buffer.putLong(offset + USER_ID_OFFSET, answer.getUserId());
+        buffer.putLong(offset + QUESTION_ID_OFFSET, answer.getQuestionId());
+        buffer.putLong(offset + OPTION_ID_OFFSET, answer.getSelectedOptionId());
+        buffer.put(offset + CORRECT_OFFSET, (byte) (Boolean.TRUE.equals(answer.getIsCorrect()) ? 1 : 0));
+        LONGS.setRelease(buffer, offset, sequence + 1);
+    }
+
+    /**
+     * Records that every answer below the given sequence is stored in the database.
+     *
+     * @param sequence the sequence of the oldest answer that is not stored yet.
+     */
+    public void markFlushed(long sequence) {
+        LONGS.setRelease(buffer, FLUSHED_OFFSET, sequence);
+    }
+
+    /**
+     * @return the sequence of the oldest answer that is not stored yet.
+     */
+    public long getFlushedSequence() {
+        return (long) LONGS.getAcquire(buffer, FLUSHED_OFFSET);
+    }
+
+    /**
+     * Reads the answers that are not stored yet, in sequence order.
+     *
+     * @return the answers, which are all active, with the sequence of each answer as its ID.
+     */
+    public List<AnswerDto> readUnflushed() {
+        long flushed = getFlushedSequence();
+        List<AnswerDto> answers = new ArrayList<>();
+        for (int slot = 0; slot < capacity; slot++) {
+            int offset = HEADER_SIZE + slot * RECORD_SIZE;
+            long sequence = (long) LONGS.getAcquire(buffer, offset) - 1;
+            if (sequence >= flushed) {
+                answers.add(AnswerDto.builder().id(sequence)
+                        .userId(buffer.getLong(offset + USER_ID_OFFSET))
+                        .questionId(buffer.getLong(offset + QUESTION_ID_OFFSET))
+                        .selectedOptionId(buffer.getLong(offset + OPTION_ID_OFFSET))
+                        .isCorrect(buffer.get(offset + CORRECT_OFFSET) == 1)
+                        .isActive(true)
+                        .build());
+            }
+        }
+        answers.sort(Comparator.comparing(AnswerDto::getId));
+        return answers;
+    }
+
+    /**
+     * Writes the mapped pages to the file and closes it.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int offset(long sequence) {
+        return HEADER_SIZE + (int) Math.floorMod(sequence, (long) capacity) * RECORD_SIZE;
+    }
+
+    private static AnswerJournal map(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IllegalStateException("Answer journal is truncated");
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        long capacity = header.getLong(CAPACITY_OFFSET);
+        if (header.getLong(0) != MAGIC || capacity <= 0 || capacity > Integer.MAX_VALUE || channel.size() != size((int) capacity)) {
+            throw new IllegalStateException("File is not an answer journal");
+        }
+        return new AnswerJournal(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size((int) capacity)), (int) capacity);
+    }
+
+    private static long size(int capacity) {
+        return HEADER_SIZE + (long) capacity * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,195 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.exceptions.ValidationException;
+import in.theexplorers.quiz.repositories.projections.OptionKeyView;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable, compact answer key of a single quiz.
+ *
+ * <p>Question IDs are kept in a sorted {@code long[]}. The options of question {@code i} occupy the
+ * slice {@code [optionOffsets[i], optionOffsets[i + 1])} of the sorted {@code optionIds} array, and
+ * bit {@code j} of {@code correct} is set when {@code optionIds[j]} is a correct option. Lookups are
+ * binary searches over primitive arrays, so grading allocates nothing per answer.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class AnswerKey {
+
+    private final long quizId;
+    private final long[] questionIds;
+    private final int[] optionOffsets;
+    private final long[] optionIds;
+    private final BitSet correct;
+
+    private AnswerKey(long quizId, long[] questionIds, int[] optionOffsets, long[] optionIds, BitSet correct) {
+        this.quizId = quizId;
+        this.questionIds = questionIds;
+        this.optionOffsets = optionOffsets;
+        this.optionIds = optionIds;
+        this.correct = correct;
+    }
+
+    /**
+     * Builds an answer key from the question IDs of a quiz and the key rows of their options.
+     *
+     * @param quizId      the ID of the quiz.
+     * @param questionIds the IDs of the questions, sorted ascending.
+     * @param options     the option rows, sorted by question ID and option ID.
+     * @return the answer key.
+     */
+    public static AnswerKey of(long quizId, List<Long> questionIds, List<OptionKeyView> options) {
+        long[] questions = questionIds.stream().mapToLong(Long::longValue).toArray();
+        int[] offsets = new int[questions.length + 1];
+        long[] optionIds = new long[options.size()];
+        BitSet correct = new BitSet(options.size());
+
+        int count = 0;
+        int questionIndex = 0;
+        for (OptionKeyView option : options) {
+            while (questionIndex < questions.length && questions[questionIndex] < option.getQuestionId()) {
+                offsets[++questionIndex] = count;
+            }
+            if (questionIndex == questions.length || questions[questionIndex] != option.getQuestionId()) {
+                // Option of a question that is not part of the key
+                continue;
+            }
+            if (Boolean.TRUE.equals(option.getIsCorrect())) {
+                correct.set(count);
+            }
+            optionIds[count++] = option.getOptionId();
+        }
+        while (questionIndex < questions.length) {
+            offsets[++questionIndex] = count;
+        }
+
+        return new AnswerKey(quizId, questions, offsets,
+                count == optionIds.length ? optionIds : Arrays.copyOf(optionIds, count), correct);
+    }
+
+    /**
+     * @return the ID of the quiz this key belongs to.
+     */
+    public long getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * @return the number of questions in the quiz.
+     */
+    public int getQuestionCount() {
+        return questionIds.length;
+    }
+
+    /**
+     * Returns the position of a question in this key.
+     *
+     * @param questionId the ID of the question.
+     * @return the question index, or {@code -1} if the question is not part of the quiz.
+     */
+    public int indexOfQuestion(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * @param questionIndex the index of the question.
+     * @return the ID of the question at the given index.
+     */
+    public long getQuestionId(int questionIndex) {
+        return questionIds[questionIndex];
+    }
+
+    /**
+     * @param questionIndex the index of the question.
+     * @return the index of the first option of the question among all options of this key.
+     */
+    public int getOptionOffset(int questionIndex) {
+        return optionOffsets[questionIndex];
+    }
+
+    /**
+     * @param questionIndex the index of the question.
+     * @return the number of active options of the question.
+     */
+    public int getOptionCount(int questionIndex) {
+        return optionOffsets[questionIndex + 1] - optionOffsets[questionIndex];
+    }
+
+    /**
+     * @param optionIndex the index of the option among all options of this key.
+     * @return the ID of the option at the given index.
+     */
+    public long getOptionId(int optionIndex) {
+        return optionIds[optionIndex];
+    }
+
+    /**
+     * Returns the position of an option among all options of this key.
+     *
+     * @param questionIndex the index of the question, as returned by {@link #indexOfQuestion(long)}.
+     * @param optionId      the ID of the option.
+     * @return the option index, or {@code -1} if the option does not belong to the question.
+     */
+    public int indexOfOption(int questionIndex, long optionId) {
+        int from = optionOffsets[questionIndex];
+        int to = optionOffsets[questionIndex + 1];
+        int index = Arrays.binarySearch(optionIds, from, to, optionId);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Checks whether the option at the given index is a correct option.
+     *
+     * @param optionIndex the index of the option, as returned by {@link #indexOfOption(int, long)}.
+     * @return {@code true} if the option is correct.
+     */
+    public boolean isCorrect(int optionIndex) {
+        return correct.get(optionIndex);
+    }
+
+    /**
+     * Grades a selected option, rejecting options that do not belong to the question.
+     *
+     * @param questionId the ID of the question.
+     * @param optionId   the ID of the selected option.
+     * @return {@code true} if the option is correct.
+     * @throws ValidationException if the question is not an active question of this quiz, or the
+     *                             option is not an active option of the question.
+     */
+    public boolean grade(long questionId, long optionId) {
+        int questionIndex = indexOfQuestion(questionId);
+        if (questionIndex < 0) {
+            throw new ValidationException("Question with ID " + questionId + " is not open for answers");
+        }
+        int optionIndex = indexOfOption(questionIndex, optionId);
+        if (optionIndex < 0) {
+            throw new ValidationException("Option with ID " + optionId + " does not belong to question with ID " + questionId);
+        }
+        return correct.get(optionIndex);
+    }
+
+    /**
+     * Checks whether the given option is a correct answer to the given question.
+     *
+     * @param questionId the ID of the question.
+     * @param optionId   the ID of the selected option.
+     * @return {@code true} if the option belongs to the question and is correct.
+     */
+    public boolean isCorrect(long questionId, long optionId) {
+        int questionIndex = indexOfQuestion(questionId);
+        if (questionIndex < 0) {
+            return false;
+        }
+        int optionIndex = indexOfOption(questionIndex, optionId);
+        return optionIndex >= 0 && correct.get(optionIndex);
+    }
+}
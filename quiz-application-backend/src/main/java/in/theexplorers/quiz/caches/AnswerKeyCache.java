@@ -0,0 +1,167 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.repositories.OptionRepository;
+import in.theexplorers.quiz.repositories.QuestionRepository;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of {@link AnswerKey} instances, one per quiz.
+ *
+ * <p>A key is built once from the database on first use and then served from memory, so grading
+ * a submission does not read the database. Every write that changes the questions or options of a
+ * quiz must call {@link #evict(Long)}; the eviction runs after the surrounding transaction commits.</p>
+ *
+ * <p>A key is built outside any lock by the first caller that needs it; concurrent callers of the same
+ * quiz wait for that build, and callers of other quizzes are not blocked. It is read in the caller's
+ * transaction, so a cold key costs no second connection, unless that transaction is read-only: a key
+ * is then read from the primary in a transaction of its own, so it never comes from a lagging
+ * replica. Question IDs that do not exist are remembered for a short while, so repeated lookups of
+ * them do not reach the database.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AnswerKeyCache {
+    private static final Duration MISSING_QUESTIONS_TIME_TO_LIVE = Duration.ofMinutes(1);
+    private static final long MISSING_QUESTIONS_MAX_SIZE = 10_000;
+
+    private final QuestionRepository questionRepository;
+    private final OptionRepository optionRepository;
+    private final TransactionTemplate joiningTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<Long, CompletableFuture<AnswerKey>> answerKeys = new ConcurrentHashMap<>();
+    // A question never moves to another quiz, so entries stay valid across evictions
+    private final Map<Long, Long> quizIdsByQuestionId = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> missingQuestionIds = Caffeine.newBuilder()
+            .maximumSize(MISSING_QUESTIONS_MAX_SIZE)
+            .expireAfterWrite(MISSING_QUESTIONS_TIME_TO_LIVE)
+            .build();
+
+    public AnswerKeyCache(QuestionRepository questionRepository, OptionRepository optionRepository, PlatformTransactionManager transactionManager) {
+        this.questionRepository = questionRepository;
+        this.optionRepository = optionRepository;
+        this.joiningTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the answer key of a quiz, building it on first use.
+     *
+     * @param quizId the ID of the quiz.
+     * @return the answer key.
+     * @throws ResourceNotFoundException if the quiz has no active questions.
+     */
+    public AnswerKey get(Long quizId) {
+        CompletableFuture<AnswerKey> answerKey = answerKeys.get(quizId);
+        if (answerKey == null) {
+            CompletableFuture<AnswerKey> claim = new CompletableFuture<>();
+            answerKey = answerKeys.putIfAbsent(quizId, claim);
+            if (answerKey == null) {
+                answerKey = claim;
+                build(quizId, claim);
+            }
+        }
+        try {
+            return answerKey.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Returns the answer key of the quiz a question belongs to, building it on first use.
+     *
+     * @param questionId the ID of the question.
+     * @return the answer key.
+     * @throws ResourceNotFoundException if the question does not exist or its quiz has no active questions.
+     */
+    public AnswerKey getByQuestionId(Long questionId) {
+        Long quizId = quizIdsByQuestionId.get(questionId);
+        if (quizId == null) {
+            if (missingQuestionIds.getIfPresent(questionId) != null) {
+                throw new ResourceNotFoundException("Question not found with ID: " + questionId);
+            }
+            Optional<Long> found = read(() -> questionRepository.findQuizIdById(questionId));
+            if (found.isEmpty()) {
+                missingQuestionIds.put(questionId, Boolean.TRUE);
+                throw new ResourceNotFoundException("Question not found with ID: " + questionId);
+            }
+            quizId = found.get();
+            // Inactive questions are remembered too, so their lookups stay in memory
+            quizIdsByQuestionId.put(questionId, quizId);
+        }
+        return get(quizId);
+    }
+
+    /**
+     * Removes the answer key of a quiz once the current transaction commits. Question IDs remembered
+     * as missing are forgotten too, since the change may have created them.
+     *
+     * @param quizId the ID of the quiz.
+     */
+    public void evict(Long quizId) {
+        if (quizId != null) {
+            TransactionUtility.runAfterCommit(() -> {
+                answerKeys.remove(quizId);
+                missingQuestionIds.invalidateAll();
+            });
+        }
+    }
+
+    private void build(Long quizId, CompletableFuture<AnswerKey> claim) {
+        try {
+            claim.complete(load(quizId));
+        } catch (RuntimeException e) {
+            // Failures are not cached; the next caller builds the key again
+            answerKeys.remove(quizId, claim);
+            claim.completeExceptionally(e);
+        }
+    }
+
+    private AnswerKey load(Long quizId) {
+        AnswerKey answerKey = read(() -> {
+            List<Long> questionIds = questionRepository.findActiveIdsByQuizId(quizId);
+            return questionIds.isEmpty() ? null : AnswerKey.of(quizId, questionIds, optionRepository.findKeyViewsByQuizId(quizId));
+        });
+        if (answerKey == null) {
+            throw new ResourceNotFoundException("No questions found for quiz with ID: " + quizId);
+        }
+        for (int questionIndex = 0; questionIndex < answerKey.getQuestionCount(); questionIndex++) {
+            quizIdsByQuestionId.put(answerKey.getQuestionId(questionIndex), quizId);
+        }
+        log.debug("Answer key loaded for quiz ID: {} with {} questions", quizId, answerKey.getQuestionCount());
+        return answerKey;
+    }
+
+    // Joins the caller's transaction, or opens one, unless the caller's transaction reads from a replica
+    private <T> T read(Supplier<T> query) {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return (readOnly ? primaryTransaction : joiningTransaction).execute(status -> query.get());
+    }
+}
@@ -0,0 +1,232 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.util.Arrays;
+
+/**
+ * Dense matrix of the current answers of the users of a single quiz.
+ *
+ * <p>Rows are users, interned to row indexes in order of their first answer through an open-addressing
+ * table of primitive arrays; columns are the questions of the {@link AnswerKey} the matrix was built
+ * with. A cell is one byte: the ordinal of the selected option among the options of its question,
+ * starting at 1, with the high bit set when the answer was graded correct at submission, or 0 when the
+ * user has no active answer to the question. A user costs one byte per question plus at most
+ * {@link #BYTES_PER_USER} bytes of interning.</p>
+ *
+ * <p>A user gets a row with their first stored answer, even a withdrawn one or one whose option is not
+ * part of the answer key, and keeps it. A user without a row has no stored answer in the quiz.</p>
+ *
+ * <p>Rows are allocated by doubling, up to the number of users that fit in the memory ceiling given at
+ * construction. Answers of further users are rejected.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class AnswerMatrix {
+    /**
+     * Maximum memory used by a user besides its cells: its ID and up to four slots of the interning table.
+     */
+    public static final int BYTES_PER_USER = Long.BYTES + 4 * Integer.BYTES;
+    /**
+     * Maximum number of options of a question that a cell can address.
+     */
+    public static final int MAX_OPTIONS = 0x7F;
+    private static final int CORRECT = 0x80;
+    private static final int INITIAL_USERS = 16;
+    private static final int MAX_USERS = 1 << 28;
+
+    private final AnswerKey answerKey;
+    private final int questionCount;
+    private final int maxUsers;
+    private long[] userIds = new long[0];
+    // Index + 1 of the user hashed to each slot, 0 for a free slot
+    private int[] slots = new int[0];
+    private byte[] cells = new byte[0];
+    private int userCount;
+
+    private AnswerMatrix(AnswerKey answerKey, int maxUsers) {
+        this.answerKey = answerKey;
+        this.questionCount = answerKey.getQuestionCount();
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * Creates an empty matrix for the questions of an answer key.
+     *
+     * @param answerKey the answer key of the quiz.
+     * @param maxBytes  the memory ceiling of the matrix.
+     * @return the matrix, or null if a question has more than {@link #MAX_OPTIONS} options.
+     */
+    public static AnswerMatrix of(AnswerKey answerKey, long maxBytes) {
+        for (int questionIndex = 0; questionIndex < answerKey.getQuestionCount(); questionIndex++) {
+            if (answerKey.getOptionCount(questionIndex) > MAX_OPTIONS) {
+                return null;
+            }
+        }
+        int questionCount = answerKey.getQuestionCount();
+        long maxUsers = Math.min(maxBytes / (questionCount + BYTES_PER_USER), Math.min(MAX_USERS, (Integer.MAX_VALUE - 8) / questionCount));
+        return new AnswerMatrix(answerKey, (int) maxUsers);
+    }
+
+    /**
+     * @return the answer key whose questions are the columns of the matrix.
+     */
+    public AnswerKey getAnswerKey() {
+        return answerKey;
+    }
+
+    /**
+     * Sets the current answer of a user to a question. The user gets a row even when the question or
+     * option is not part of the answer key; the answer itself is then ignored.
+     *
+     * @param userId     the ID of the user.
+     * @param questionId the ID of the question.
+     * @param optionId   the ID of the selected option.
+     * @param correct    whether the answer was graded correct.
+     * @return false if the user is new and does not fit under the memory ceiling.
+     */
+    public synchronized boolean put(long userId, long questionId, long optionId, boolean correct) {
+        int user = intern(userId);
+        if (user < 0) {
+            return false;
+        }
+        int questionIndex = answerKey.indexOfQuestion(questionId);
+        int optionIndex = questionIndex < 0 ? -1 : answerKey.indexOfOption(questionIndex, optionId);
+        if (optionIndex < 0) {
+            return true;
+        }
+        int ordinal = optionIndex - answerKey.getOptionOffset(questionIndex) + 1;
+        cells[user * questionCount + questionIndex] = (byte) (correct ? ordinal | CORRECT : ordinal);
+        return true;
+    }
+
+    /**
+     * Clears the answer of a user to a question, which stays stored as a withdrawn answer. The user gets a
+     * row if they have none.
+     *
+     * @param userId     the ID of the user.
+     * @param questionId the ID of the question.
+     * @return false if the user is new and does not fit under the memory ceiling.
+     */
+    public synchronized boolean withdraw(long userId, long questionId) {
+        int user = intern(userId);
+        if (user < 0) {
+            return false;
+        }
+        int questionIndex = answerKey.indexOfQuestion(questionId);
+        if (questionIndex >= 0) {
+            cells[user * questionCount + questionIndex] = 0;
+        }
+        return true;
+    }
+
+    /**
+     * @param userId the ID of the user.
+     * @return whether the user has a row, i.e. has stored at least one answer in the quiz.
+     */
+    public synchronized boolean containsUser(long userId) {
+        return indexOf(userId) >= 0;
+    }
+
+    /**
+     * @param userId the ID of the user.
+     * @return the number of questions the user has answered.
+     */
+    public synchronized int countAnswered(long userId) {
+        return count(userId, 0xFF);
+    }
+
+    /**
+     * @param userId the ID of the user.
+     * @return the number of answers of the user that were graded correct.
+     */
+    public synchronized int countCorrect(long userId) {
+        return count(userId, CORRECT);
+    }
+
+    /**
+     * @return the number of users with a row.
+     */
+    public synchronized int getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * @return the memory allocated by the arrays of the matrix, in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return cells.length + (long) userIds.length * Long.BYTES + (long) slots.length * Integer.BYTES;
+    }
+
+    private int count(long userId, int mask) {
+        int user = indexOf(userId);
+        int count = 0;
+        if (user >= 0) {
+            for (int cell = user * questionCount, end = cell + questionCount; cell < end; cell++) {
+                if ((cells[cell] & mask) != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int indexOf(long userId) {
+        if (userCount == 0) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int slot = hash(userId) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (userIds[slots[slot] - 1] == userId) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int intern(long userId) {
+        int user = indexOf(userId);
+        if (user >= 0) {
+            return user;
+        }
+        if (userCount == userIds.length && !grow()) {
+            return -1;
+        }
+        user = userCount++;
+        userIds[user] = userId;
+        addSlot(user);
+        return user;
+    }
+
+    private boolean grow() {
+        int capacity = (int) Math.min(Math.max(userIds.length * 2L, INITIAL_USERS), maxUsers);
+        if (capacity <= userIds.length) {
+            return false;
+        }
+        userIds = Arrays.copyOf(userIds, capacity);
+        cells = Arrays.copyOf(cells, capacity * questionCount);
+        // At least twice as many slots as users keeps probe sequences short
+        slots = new int[Integer.highestOneBit(capacity) << 2];
+        for (int user = 0; user < userCount; user++) {
+            addSlot(user);
+        }
+        return true;
+    }
+
+    private void addSlot(int user) {
+        int mask = slots.length - 1;
+        int slot = hash(userIds[user]) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = user + 1;
+    }
+
+    private static int hash(long userId) {
+        // Spreads sequential IDs over the table
+        return Long.hashCode(userId * 0x9E3779B97F4A7C15L);
+    }
+}
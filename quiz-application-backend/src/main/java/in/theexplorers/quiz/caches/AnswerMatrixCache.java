@@ -0,0 +1,251 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.repositories.AnswerJdbcRepository;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache of {@link AnswerMatrix} instances, one per live quiz.
+ *
+ * <p>The matrices of live quizzes are rebuilt from {@code answer} at startup, and the matrix of a quiz
+ * activated later is built on first use. A matrix is built again when the answer key of its quiz
+ * changes, and dropped when the quiz ends. Every write that changes an answer must call
+ * {@link #recordAnswer} or {@link #recordWithdrawn}; changes are applied after the surrounding
+ * transaction commits, and only to matrices in memory or being built.</p>
+ *
+ * <p>A matrix is built from the primary, in a transaction of its own and outside any lock. The first
+ * caller claims the quiz and builds it; changes committed meanwhile are queued and applied before the
+ * matrix is published. Other callers do not wait: until then the quiz has no matrix and its answers
+ * are read from the database.</p>
+ *
+ * <p>A matrix never exceeds {@code quiz.answers.matrix.max-size-per-quiz}. A quiz whose answers do not
+ * fit is dropped and read from the database until it is activated again.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AnswerMatrixCache {
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    private final AnswerKeyCache answerKeyCache;
+    private final AnswerJdbcRepository answerJdbcRepository;
+    private final QuizRepository quizRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxBytesPerQuiz;
+    private final Set<Long> liveQuizIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    public AnswerMatrixCache(AnswerKeyCache answerKeyCache, AnswerJdbcRepository answerJdbcRepository, QuizRepository quizRepository, PlatformTransactionManager transactionManager, @Value("${quiz.answers.matrix.max-size-per-quiz:64MB}") DataSize maxSizePerQuiz) {
+        this.answerKeyCache = answerKeyCache;
+        this.answerJdbcRepository = answerJdbcRepository;
+        this.quizRepository = quizRepository;
+        // Matrices are loaded from the primary through a cursor, which needs a read-write transaction of its own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBytesPerQuiz = maxSizePerQuiz.toBytes();
+    }
+
+    /**
+     * Rebuilds the matrices of all live quizzes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (maxBytesPerQuiz == 0) {
+            return;
+        }
+        List<Long> quizIds = quizRepository.findLiveIds(LocalDateTime.now());
+        liveQuizIds.addAll(quizIds);
+        long users = 0;
+        long bytes = 0;
+        for (Long quizId : quizIds) {
+            AnswerMatrix matrix = find(quizId);
+            if (matrix != null) {
+                users += matrix.getUserCount();
+                bytes += matrix.getSizeInBytes();
+            }
+        }
+        log.info("Answer matrices rebuilt for {} quizzes with {} users in {} bytes", quizIds.size(), users, bytes);
+    }
+
+    /**
+     * Returns the answer matrix of a quiz, building it on first use.
+     *
+     * @param quizId the ID of the quiz.
+     * @return the matrix, or null if the quiz is not live, has no questions, does not fit in a matrix
+     * or its matrix is being built.
+     */
+    public AnswerMatrix find(Long quizId) {
+        if (!liveQuizIds.contains(quizId)) {
+            return null;
+        }
+        AnswerKey answerKey;
+        try {
+            answerKey = answerKeyCache.get(quizId);
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+        Slot current = slots.get(quizId);
+        if (current != null && current.answerKey() == answerKey) {
+            return current.matrix();
+        }
+        // The columns of a matrix are the questions of its answer key, so a new key needs a new matrix
+        Slot claim = Slot.loading(answerKey);
+        if (current == null ? slots.putIfAbsent(quizId, claim) != null : !slots.replace(quizId, current, claim)) {
+            return null;
+        }
+        AnswerMatrix matrix = load(answerKey);
+        Slot published = slots.compute(quizId, (id, slot) -> {
+            if (slot != claim) {
+                // The quiz ended, or a newer key replaced the claim, while the matrix was loading
+                return slot;
+            }
+            if (matrix == null || !liveQuizIds.contains(quizId)) {
+                return null;
+            }
+            for (Predicate<AnswerMatrix> change : claim.pendingChanges()) {
+                if (!change.test(matrix)) {
+                    drop(quizId);
+                    return null;
+                }
+            }
+            return Slot.loaded(answerKey, matrix);
+        });
+        return published == null ? null : published.matrix();
+    }
+
+    /**
+     * Records the current answer of a user to a question once the current transaction commits.
+     *
+     * @param quizId     the ID of the quiz.
+     * @param userId     the ID of the user.
+     * @param questionId the ID of the question.
+     * @param optionId   the ID of the selected option.
+     * @param correct    whether the answer was graded correct.
+     */
+    public void recordAnswer(long quizId, long userId, long questionId, long optionId, boolean correct) {
+        record(quizId, matrix -> matrix.put(userId, questionId, optionId, correct));
+    }
+
+    /**
+     * Records the answer of a user to a question being withdrawn, or stored inactive, once the current
+     * transaction commits.
+     *
+     * @param quizId     the ID of the quiz.
+     * @param userId     the ID of the user.
+     * @param questionId the ID of the question.
+     */
+    public void recordWithdrawn(long quizId, long userId, long questionId) {
+        record(quizId, matrix -> matrix.withdraw(userId, questionId));
+    }
+
+    /**
+     * Starts holding the answers of activated quizzes once the current transaction commits.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void addQuizzes(Collection<Long> quizIds) {
+        if (maxBytesPerQuiz > 0 && !quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> liveQuizIds.addAll(quizIds));
+        }
+    }
+
+    /**
+     * Drops the matrices of ended or deleted quizzes once the current transaction commits.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void evictQuizzes(Collection<Long> quizIds) {
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> {
+                liveQuizIds.removeAll(quizIds);
+                slots.keySet().removeAll(quizIds);
+            });
+        }
+    }
+
+    // Applies a change, which returns false when the matrix no longer fits, or queues it while the matrix is built
+    private void record(long quizId, Predicate<AnswerMatrix> change) {
+        TransactionUtility.runAfterCommit(() -> slots.computeIfPresent(quizId, (id, slot) -> {
+            if (slot.matrix() == null) {
+                slot.pendingChanges().add(change);
+                return slot;
+            }
+            if (change.test(slot.matrix())) {
+                return slot;
+            }
+            drop(quizId);
+            return null;
+        }));
+    }
+
+    private AnswerMatrix load(AnswerKey answerKey) {
+        long quizId = answerKey.getQuizId();
+        AnswerMatrix matrix = AnswerMatrix.of(answerKey, maxBytesPerQuiz);
+        if (matrix == null) {
+            log.info("Quiz ID: {} has questions with more than {} options, its answers are read from the database", quizId, AnswerMatrix.MAX_OPTIONS);
+            liveQuizIds.remove(quizId);
+            return null;
+        }
+        boolean fits = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            boolean[] fit = {true};
+            answerJdbcRepository.streamAnswersByQuizId(quizId, LOAD_FETCH_SIZE, rs -> {
+                if (fit[0]) {
+                    fit[0] = rs.getBoolean("is_active")
+                            ? matrix.put(rs.getLong("user_id"), rs.getLong("question_id"), rs.getLong("option_id"), rs.getBoolean("is_correct"))
+                            : matrix.withdraw(rs.getLong("user_id"), rs.getLong("question_id"));
+                }
+            });
+            return fit[0];
+        }));
+        if (!fits) {
+            drop(quizId);
+            return null;
+        }
+        log.debug("Answer matrix loaded for quiz ID: {} with {} users in {} bytes", quizId, matrix.getUserCount(), matrix.getSizeInBytes());
+        return matrix;
+    }
+
+    private void drop(long quizId) {
+        liveQuizIds.remove(quizId);
+        log.warn("Answers of quiz ID: {} exceed the answer matrix ceiling of {} bytes, they are read from the database", quizId, maxBytesPerQuiz);
+    }
+
+    /**
+     * The matrix of a quiz, or the claim of the caller building it and the changes committed meanwhile.
+     * Pending changes are only touched inside {@link ConcurrentHashMap#compute} of the quiz.
+     */
+    private record Slot(AnswerKey answerKey, AnswerMatrix matrix, List<Predicate<AnswerMatrix>> pendingChanges) {
+        static Slot loading(AnswerKey answerKey) {
+            return new Slot(answerKey, null, new ArrayList<>());
+        }
+
+        static Slot loaded(AnswerKey answerKey, AnswerMatrix matrix) {
+            return new Slot(answerKey, matrix, List.of());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.utilities.RingBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-behind buffer of graded answers waiting to be stored.
+ *
+ * <p>Accepted answers go to a lock-free {@link RingBuffer} and to the slot of their sequence in an
+ * {@link AnswerJournal}, so a submission costs no database round trip and no lock. A single flusher
+ * drains them in batches and releases a batch once it is stored, which also advances the flushed
+ * sequence of the journal. Answers accepted but not stored when the process stopped are read back
+ * from the journal and accepted again when the buffer is opened.</p>
+ *
+ * <p>When the buffer is full, {@link #offer(AnswerDto)} fails instead of queueing more answers.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public class AnswerWriteBuffer implements Closeable {
+    private final RingBuffer<AnswerDto> ring;
+    private final AnswerJournal journal;
+
+    private AnswerWriteBuffer(RingBuffer<AnswerDto> ring, AnswerJournal journal) {
+        this.ring = ring;
+        this.journal = journal;
+    }
+
+    /**
+     * @return a buffer that accepts no answers, so answers are stored synchronously.
+     */
+    public static AnswerWriteBuffer disabled() {
+        return new AnswerWriteBuffer(null, null);
+    }
+
+    /**
+     * Opens the buffer on its journal and accepts again the answers of the journal that are not stored yet.
+     *
+     * @param journalPath the path of the journal.
+     * @param capacity    the maximum number of answers waiting to be stored, a power of two.
+     * @return the buffer.
+     * @throws IOException if the journal cannot be opened.
+     */
+    public static AnswerWriteBuffer open(Path journalPath, int capacity) throws IOException {
+        AnswerJournal journal = AnswerJournal.open(journalPath, capacity);
+        List<AnswerDto> unflushed = journal.readUnflushed();
+        // New sequences follow the journaled ones, so replayed answers never overwrite an answer still to replay
+        long nextSequence = unflushed.isEmpty() ? journal.getFlushedSequence() : unflushed.get(unflushed.size() - 1).getId() + 1;
+        AnswerWriteBuffer buffer = new AnswerWriteBuffer(new RingBuffer<>(capacity, nextSequence), journal);
+        for (AnswerDto answer : unflushed) {
+            answer.setId(null);
+            buffer.offer(answer);
+        }
+        if (!unflushed.isEmpty()) {
+            log.info("Replaying {} answers from the answer journal", unflushed.size());
+        }
+        return buffer;
+    }
+
+    /**
+     * @return whether answers are accepted by the buffer.
+     */
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Journals a graded answer and queues it to be stored.
+     *
+     * @param answer the graded answer; user, question and selected option IDs and correctness are required.
+     * @return whether the answer was accepted; false when the buffer is full.
+     */
+    public boolean offer(AnswerDto answer) {
+        long sequence = ring.claim();
+        if (sequence < 0) {
+            return false;
+        }
+        journal.append(sequence, answer);
+        ring.publish(sequence, answer);
+        return true;
+    }
+
+    /**
+     * Returns the oldest answers that are not stored yet. They stay in the buffer, and are returned again,
+     * until they are {@link #release(int) released}.
+     *
+     * @param max the maximum number of answers.
+     * @return the answers, in the order they were accepted.
+     */
+    public List<AnswerDto> drain(int max) {
+        List<AnswerDto> answers = new ArrayList<>(Math.min(max, ring.size()));
+        ring.drainTo(answers, max);
+        return answers;
+    }
+
+    /**
+     * Removes stored answers from the buffer and the journal.
+     *
+     * @param count the number of answers, from the start of the last drain, that are stored.
+     */
+    public void release(int count) {
+        // The journal must no longer need the slots before producers can reuse them
+        journal.markFlushed(ring.getHead() + count);
+        ring.release(count);
+    }
+
+    /**
+     * @return the number of accepted answers that are not stored yet.
+     */
+    public int size() {
+        return ring == null ? 0 : ring.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
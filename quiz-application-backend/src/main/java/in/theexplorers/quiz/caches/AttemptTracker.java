@@ -0,0 +1,218 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.enums.QuizAttemptStatus;
+import in.theexplorers.quiz.repositories.UserQuizJdbcRepository;
+import in.theexplorers.quiz.repositories.projections.AttemptProgressView;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory progress of the attempts of users in quizzes.
+ *
+ * <p>The attempt of a user in a quiz is seeded from the database by its first answer write and then
+ * maintained in memory only: answer writes adjust its answered count after they commit, so reading
+ * the progress of a known attempt runs no query. Reading an attempt that is not in memory queries the
+ * database without keeping the result, so reads alone never add attempts. Changed attempts are written
+ * to {@code user_quiz} in batches by {@link #flush()}. The attempts of a quiz are dropped from memory
+ * when the quiz ends.</p>
+ *
+ * <p>Changes are applied after they commit, under the map lock of their attempt. A change is recorded
+ * before its transaction commits, so one recorded after the attempt last read the database is not part
+ * of that read and is applied as a delta. The answered count read for an earlier change may already
+ * include it, so the count is read again instead; the database then holds every committed change.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class AttemptTracker {
+    private final UserQuizJdbcRepository userQuizJdbcRepository;
+    private final Map<AttemptKey, Attempt> attempts = new ConcurrentHashMap<>();
+    private final Set<AttemptKey> changedAttempts = ConcurrentHashMap.newKeySet();
+
+    public AttemptTracker(UserQuizJdbcRepository userQuizJdbcRepository) {
+        this.userQuizJdbcRepository = userQuizJdbcRepository;
+    }
+
+    /**
+     * Records questions newly answered by a user in a quiz, once the current transaction commits.
+     *
+     * @param userId         the ID of the user.
+     * @param quizId         the ID of the quiz.
+     * @param count          the number of newly answered questions.
+     * @param totalQuestions the number of questions of the quiz, used to detect completion.
+     */
+    public void recordAnswered(long userId, long quizId, int count, int totalQuestions) {
+        if (count > 0) {
+            apply(new AttemptKey(userId, quizId),
+                    attempt -> attempt.addAnswered(count, totalQuestions, LocalDateTime.now()),
+                    attempt -> attempt.addAnswered(0, totalQuestions, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Records an answer of a user in a quiz being withdrawn, once the current transaction commits.
+     * A completed attempt is no longer complete afterwards.
+     *
+     * @param userId the ID of the user.
+     * @param quizId the ID of the quiz.
+     */
+    public void recordWithdrawn(long userId, long quizId) {
+        apply(new AttemptKey(userId, quizId), attempt -> attempt.withdrawAnswers(1), attempt -> attempt.withdrawAnswers(0));
+    }
+
+    /**
+     * Returns the progress of a user in a quiz, from memory if the attempt is known.
+     *
+     * @param userId the ID of the user.
+     * @param quizId the ID of the quiz.
+     * @return the progress.
+     */
+    public AttemptProgressView get(long userId, long quizId) {
+        AttemptKey key = new AttemptKey(userId, quizId);
+        Attempt attempt = attempts.get(key);
+        return (attempt != null ? attempt : load(key)).toView(userId, quizId);
+    }
+
+    /**
+     * Writes the attempts changed since the previous flush to {@code user_quiz} in one batch.
+     * Attempts that could not be written are kept for the next flush.
+     */
+    @PreDestroy
+    public synchronized void flush() {
+        List<AttemptKey> keys = new ArrayList<>(changedAttempts);
+        if (keys.isEmpty()) {
+            return;
+        }
+        changedAttempts.removeAll(keys);
+        List<AttemptProgressView> progress = new ArrayList<>(keys.size());
+        for (AttemptKey key : keys) {
+            Attempt attempt = attempts.get(key);
+            if (attempt != null) {
+                progress.add(attempt.toView(key.getUserId(), key.getQuizId()));
+            }
+        }
+        try {
+            // todo: remove after applying security
+            userQuizJdbcRepository.saveProgress(progress, "SYSTEM");
+            log.debug("Flushed progress of {} attempts", progress.size());
+        } catch (DataAccessException e) {
+            changedAttempts.addAll(keys);
+            log.warn("Failed to flush progress of {} attempts, retrying on next flush", keys.size(), e);
+        }
+    }
+
+    /**
+     * Flushes and drops the attempts of ended quizzes once the current transaction commits.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void evictQuizzes(Collection<Long> quizIds) {
+        if (quizIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(quizIds);
+        TransactionUtility.runAfterCommit(() -> {
+            flush();
+            attempts.keySet().removeIf(key -> ids.contains(key.getQuizId()) && !changedAttempts.contains(key));
+        });
+    }
+
+    /**
+     * Applies a change once the current transaction commits: as a delta if the attempt last read the
+     * database before the change was recorded, otherwise as a fresh read followed by the non-counting
+     * part of the change.
+     */
+    private void apply(AttemptKey key, Consumer<Attempt> delta, Consumer<Attempt> afterRead) {
+        long recordedAt = System.nanoTime();
+        TransactionUtility.runAfterCommit(() -> {
+            attempts.compute(key, (k, attempt) -> {
+                if (attempt != null && recordedAt - attempt.readAt >= 0) {
+                    delta.accept(attempt);
+                    return attempt;
+                }
+                Attempt read = load(k);
+                if (attempt != null) {
+                    attempt.reread(read);
+                    read = attempt;
+                }
+                afterRead.accept(read);
+                return read;
+            });
+            changedAttempts.add(key);
+        });
+    }
+
+    private Attempt load(AttemptKey key) {
+        long readAt = System.nanoTime();
+        AttemptProgressView progress = userQuizJdbcRepository.findProgress(key.getUserId(), key.getQuizId());
+        return new Attempt(progress.getAnsweredCount(), progress.getStartedAt(), progress.getCompletedAt(), readAt);
+    }
+
+    @Value
+    private static class AttemptKey {
+        long userId;
+        long quizId;
+    }
+
+    private static final class Attempt {
+        private int answeredCount;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        // System.nanoTime() before the answered count was last read; only used under the map lock
+        private long readAt;
+
+        private Attempt(int answeredCount, LocalDateTime startedAt, LocalDateTime completedAt, long readAt) {
+            this.answeredCount = answeredCount;
+            this.startedAt = startedAt;
+            this.completedAt = completedAt;
+            this.readAt = readAt;
+        }
+
+        synchronized void reread(Attempt read) {
+            // Start and completion may not be flushed yet, so only the count is taken from the database
+            answeredCount = read.answeredCount;
+            readAt = read.readAt;
+        }
+
+        synchronized void addAnswered(int count, int totalQuestions, LocalDateTime now) {
+            answeredCount += count;
+            if (startedAt == null) {
+                startedAt = now;
+            }
+            if (completedAt == null && answeredCount >= totalQuestions) {
+                completedAt = now;
+            }
+        }
+
+        synchronized void withdrawAnswers(int count) {
+            // A user answers each question at most once, so a withdrawn answer always leaves one open
+            answeredCount = Math.max(answeredCount - count, 0);
+            completedAt = null;
+        }
+
+        synchronized AttemptProgressView toView(long userId, long quizId) {
+            QuizAttemptStatus status = completedAt != null ? QuizAttemptStatus.COMPLETED
+                    : startedAt != null ? QuizAttemptStatus.STARTED : QuizAttemptStatus.NOT_STARTED;
+            return new AttemptProgressView(userId, quizId, status, answeredCount, startedAt, completedAt);
+        }
+    }
+}
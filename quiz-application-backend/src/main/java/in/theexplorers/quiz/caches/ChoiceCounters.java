@@ -0,0 +1,161 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.repositories.OptionJdbcRepository;
+import in.theexplorers.quiz.repositories.OptionRepository;
+import in.theexplorers.quiz.repositories.QuestionRepository;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live histograms of the options chosen by the answers of each question.
+ *
+ * <p>Counters are {@link LongAdder}s keyed by question and option ID, so concurrent submissions never
+ * contend on a shared lock. The histogram of a question is seeded from {@code option.choice_count} the
+ * first time it is used and then maintained in memory only. Changes are also accumulated per option and
+ * written to {@code option.choice_count} by {@link #flush()}, so the database lags the counters by at
+ * most one flush interval.</p>
+ *
+ * <p>A histogram is always seeded before its first change is recorded, so the changes pending at any
+ * time are already part of the histograms in memory. The histograms of a quiz are dropped when it ends
+ * or is deleted; one seeded again later adds the changes not flushed yet to the stored counts.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ChoiceCounters {
+    private final OptionRepository optionRepository;
+    private final OptionJdbcRepository optionJdbcRepository;
+    private final QuestionRepository questionRepository;
+    private final Map<Long, Map<Long, LongAdder>> histograms = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> questionIdsByQuizId = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    public ChoiceCounters(OptionRepository optionRepository, OptionJdbcRepository optionJdbcRepository, QuestionRepository questionRepository) {
+        this.optionRepository = optionRepository;
+        this.optionJdbcRepository = optionJdbcRepository;
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Records a change of the number of answers choosing an option, once the current transaction commits.
+     *
+     * @param questionId the ID of the question the option belongs to.
+     * @param optionId   the ID of the option.
+     * @param delta      the change, usually {@code 1} or {@code -1}.
+     */
+    public void record(long questionId, long optionId, long delta) {
+        if (delta != 0) {
+            TransactionUtility.runAfterCommit(() -> add(questionId, optionId, delta));
+        }
+    }
+
+    /**
+     * @param questionId the ID of the question.
+     * @return whether the histogram of the question is in memory.
+     */
+    public boolean contains(long questionId) {
+        return histograms.containsKey(questionId);
+    }
+
+    /**
+     * Returns the current histogram of a question, seeding it on first use.
+     *
+     * @param questionId the ID of the question.
+     * @return the number of answers choosing each option, keyed by option ID in ascending order.
+     */
+    public Map<Long, Long> get(long questionId) {
+        Map<Long, Long> counts = new TreeMap<>();
+        histogram(questionId).forEach((optionId, count) -> counts.put(optionId, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Drops the histograms of the questions of ended or deleted quizzes once the current transaction commits.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void evictQuizzes(Collection<Long> quizIds) {
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> quizIds.forEach(quizId -> {
+                Set<Long> questionIds = questionIdsByQuizId.remove(quizId);
+                if (questionIds != null) {
+                    histograms.keySet().removeAll(questionIds);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Writes the changes recorded since the previous flush to {@code option.choice_count} in one batch.
+     * Changes that could not be written are kept for the next flush.
+     */
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingDeltas.forEach((optionId, pending) -> {
+            long delta = pending.sumThenReset();
+            if (delta != 0) {
+                deltas.put(optionId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            optionJdbcRepository.addChoiceCounts(deltas);
+            log.debug("Flushed choice counts of {} options", deltas.size());
+        } catch (DataAccessException e) {
+            deltas.forEach((optionId, delta) -> pendingDeltas.computeIfAbsent(optionId, id -> new LongAdder()).add(delta));
+            log.warn("Failed to flush choice counts of {} options, retrying on next flush", deltas.size(), e);
+        }
+    }
+
+    private void add(long questionId, long optionId, long delta) {
+        histogram(questionId).computeIfAbsent(optionId, id -> new LongAdder()).add(delta);
+        pendingDeltas.computeIfAbsent(optionId, id -> new LongAdder()).add(delta);
+    }
+
+    private Map<Long, LongAdder> histogram(long questionId) {
+        Map<Long, LongAdder> histogram = histograms.get(questionId);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(questionId, this::load);
+    }
+
+    private Map<Long, LongAdder> load(long questionId) {
+        Map<Long, LongAdder> histogram = new ConcurrentHashMap<>();
+        // Held off while a flush is writing, so each change is either stored or still pending
+        synchronized (this) {
+            optionRepository.findChoiceCountsByQuestionId(questionId).forEach(view -> {
+                LongAdder count = new LongAdder();
+                count.add(view.getChoiceCount());
+                LongAdder pending = pendingDeltas.get(view.getOptionId());
+                if (pending != null) {
+                    count.add(pending.sum());
+                }
+                histogram.put(view.getOptionId(), count);
+            });
+        }
+        questionRepository.findQuizIdById(questionId).ifPresent(quizId ->
+                questionIdsByQuizId.computeIfAbsent(quizId, id -> ConcurrentHashMap.newKeySet()).add(questionId));
+        return histogram;
+    }
+}
@@ -0,0 +1,67 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.theexplorers.quiz.configurations.AnswerBufferProperties;
+import in.theexplorers.quiz.repositories.UserRepository;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache of the IDs of users known to exist, so buffered answers are checked without a database round
+ * trip per submission.
+ *
+ * <p>Only users found are cached, so a user created after a miss is found on the next check. Deleted
+ * users are evicted by this instance; entries also expire, which bounds how long a user deleted through
+ * another instance is still accepted.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class KnownUsers {
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> userIds;
+
+    public KnownUsers(UserRepository userRepository, AnswerBufferProperties answerBufferProperties) {
+        this.userRepository = userRepository;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(answerBufferProperties.getKnownUsers())
+                .expireAfterWrite(TIME_TO_LIVE)
+                .build();
+    }
+
+    /**
+     * Checks whether a user exists, reading the database only if the user is not cached.
+     *
+     * @param userId the ID of the user.
+     * @return true if the user exists.
+     */
+    public boolean exists(long userId) {
+        if (userIds.getIfPresent(userId) != null) {
+            return true;
+        }
+        if (!userRepository.existsById(userId)) {
+            return false;
+        }
+        userIds.put(userId, Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Forgets a deleted user once the current transaction commits.
+     *
+     * @param userId the ID of the user.
+     */
+    public void evict(long userId) {
+        TransactionUtility.runAfterCommit(() -> userIds.invalidate(userId));
+    }
+}
@@ -0,0 +1,185 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory ranking of the users of a single quiz.
+ *
+ * <p>Standings are kept in a sorted set ordered by score descending, then user ID ascending, so a page
+ * starting after any standing is found in O(log n). A Fenwick tree counts users per score, so the rank
+ * of a score (one plus the number of users with a higher score) is also answered in O(log n). Users with
+ * the same score share a rank.</p>
+ *
+ * <p>All methods are synchronized; updates and queries are short and never touch the database.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class Leaderboard {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final long quizId;
+    private final Map<Long, Score> scores = new HashMap<>();
+    private final NavigableSet<Standing> standings = new TreeSet<>();
+    // counts[i] of the Fenwick tree covers the users whose score is in (i - lowbit(i), i], shifted by one
+    private long[] counts = new long[INITIAL_CAPACITY + 1];
+
+    public Leaderboard(long quizId) {
+        this.quizId = quizId;
+    }
+
+    /**
+     * @return the ID of the quiz this leaderboard belongs to.
+     */
+    public long getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * @return the number of ranked users.
+     */
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    /**
+     * Sets the score of a user, adding the user when not ranked yet. A score whose version is not newer
+     * than the one already ranked is ignored, so updates applied out of order never revert a score.
+     *
+     * @param userId  the ID of the user.
+     * @param score   the new score; negative scores are ranked as zero.
+     * @param version the version of the score, as stored with it.
+     */
+    public synchronized void update(long userId, int score, long version) {
+        int newScore = Math.max(score, 0);
+        Score old = scores.get(userId);
+        if (old != null && old.getVersion() >= version) {
+            return;
+        }
+        scores.put(userId, new Score(newScore, version));
+        if (old != null) {
+            int oldScore = old.getScore();
+            if (oldScore == newScore) {
+                return;
+            }
+            standings.remove(new Standing(userId, oldScore));
+            add(oldScore, -1);
+        }
+        standings.add(new Standing(userId, newScore));
+        if (newScore >= counts.length - 1) {
+            grow(newScore);
+        } else {
+            add(newScore, 1);
+        }
+    }
+
+    /**
+     * Returns the standing of a user.
+     *
+     * @param userId the ID of the user.
+     * @return the standing, or {@code null} when the user is not ranked.
+     */
+    public synchronized RankedStanding standingOf(long userId) {
+        Score score = scores.get(userId);
+        return score == null ? null : new RankedStanding(rankOf(score.getScore()), userId, score.getScore());
+    }
+
+    /**
+     * Returns the standings following a given one, best first.
+     *
+     * @param after the standing after which the page starts, or {@code null} for the first page.
+     * @param limit the maximum number of standings to return.
+     * @return the standings with their ranks.
+     */
+    public synchronized List<RankedStanding> page(Standing after, int limit) {
+        List<RankedStanding> page = new ArrayList<>(Math.min(limit, scores.size()));
+        Iterator<Standing> iterator = (after == null ? standings : standings.tailSet(after, false)).iterator();
+        int rank = 0;
+        int rankedScore = -1;
+        while (page.size() < limit && iterator.hasNext()) {
+            Standing standing = iterator.next();
+            if (standing.getScore() != rankedScore) {
+                rankedScore = standing.getScore();
+                rank = rankOf(rankedScore);
+            }
+            page.add(new RankedStanding(rank, standing.getUserId(), standing.getScore()));
+        }
+        return page;
+    }
+
+    private int rankOf(int score) {
+        // Users with a higher score are all users minus those scoring at most `score`
+        return (int) (scores.size() - prefixCount(score)) + 1;
+    }
+
+    private long prefixCount(int score) {
+        long count = 0;
+        for (int i = Math.min(score + 1, counts.length - 1); i > 0; i -= i & -i) {
+            count += counts[i];
+        }
+        return count;
+    }
+
+    private void add(int score, long delta) {
+        for (int i = score + 1; i < counts.length; i += i & -i) {
+            counts[i] += delta;
+        }
+    }
+
+    private void grow(int score) {
+        int capacity = counts.length - 1;
+        while (capacity <= score + 1) {
+            capacity <<= 1;
+        }
+        counts = new long[capacity + 1];
+        for (Score value : scores.values()) {
+            add(value.getScore(), 1);
+        }
+    }
+
+    /**
+     * Ranked score of a user and its version.
+     */
+    @Value
+    private static class Score {
+        int score;
+        long version;
+    }
+
+    /**
+     * Position of a user in the sort order of a leaderboard: score descending, then user ID ascending.
+     */
+    @Value
+    public static class Standing implements Comparable<Standing> {
+        long userId;
+        int score;
+
+        @Override
+        public int compareTo(Standing other) {
+            int byScore = Integer.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(userId, other.userId);
+        }
+    }
+
+    /**
+     * Standing of a user together with its rank.
+     */
+    @Value
+    public static class RankedStanding {
+        int rank;
+        long userId;
+        int score;
+    }
+}
@@ -0,0 +1,166 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.repositories.UserQuizJdbcRepository;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * In-memory cache of {@link Leaderboard} instances, one per quiz.
+ *
+ * <p>The leaderboards of live quizzes are rebuilt from {@code user_quiz} at startup, loaded on first use
+ * when a quiz is activated later, and dropped when the quiz ends. The leaderboards of other quizzes are
+ * loaded on first use into a cache holding at most {@code quiz.leaderboard.max-inactive-quizzes}, and
+ * a quiz that does not exist is rejected without being cached. Every write that changes a score must
+ * pass the resulting scores to {@link #update(List)}; they are applied after the surrounding
+ * transaction commits, and only to leaderboards already in memory, since a leaderboard loaded later
+ * reads the committed scores. Callbacks of concurrent transactions may run in any order, so every
+ * score carries its version and a leaderboard keeps the newest one it has seen.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class LeaderboardCache {
+    private final UserQuizJdbcRepository userQuizJdbcRepository;
+    private final QuizRepository quizRepository;
+    private final Set<Long> liveQuizIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+    private final Cache<Long, Leaderboard> inactiveLeaderboards;
+
+    public LeaderboardCache(UserQuizJdbcRepository userQuizJdbcRepository, QuizRepository quizRepository, @Value("${quiz.leaderboard.max-inactive-quizzes:100}") long maxInactiveQuizzes) {
+        this.userQuizJdbcRepository = userQuizJdbcRepository;
+        this.quizRepository = quizRepository;
+        this.inactiveLeaderboards = Caffeine.newBuilder()
+                .maximumSize(maxInactiveQuizzes)
+                .build();
+    }
+
+    /**
+     * Rebuilds the leaderboards of all live quizzes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Leaderboard> loaded = new HashMap<>();
+        quizRepository.findLiveIds(now).forEach(quizId -> loaded.put(quizId, new Leaderboard(quizId)));
+        List<UserScoreView> scores = userQuizJdbcRepository.findScoresOfLiveQuizzes(now);
+        for (UserScoreView score : scores) {
+            loaded.computeIfAbsent(score.getQuizId(), Leaderboard::new)
+                    .update(score.getUserId(), score.getScore(), score.getVersion());
+        }
+        liveQuizIds.addAll(loaded.keySet());
+        leaderboards.putAll(loaded);
+        log.info("Leaderboards rebuilt for {} quizzes with {} scores", loaded.size(), scores.size());
+    }
+
+    /**
+     * Returns the leaderboard of a quiz, building it on first use.
+     *
+     * @param quizId the ID of the quiz.
+     * @return the leaderboard.
+     * @throws ResourceNotFoundException if the quiz does not exist or has been deleted.
+     */
+    public Leaderboard get(Long quizId) {
+        Leaderboard leaderboard = leaderboards.get(quizId);
+        if (leaderboard != null) {
+            return leaderboard;
+        }
+        if (!liveQuizIds.contains(quizId)) {
+            return inactiveLeaderboards.get(quizId, this::loadIfExists);
+        }
+        leaderboard = leaderboards.computeIfAbsent(quizId, this::load);
+        // The quiz ended while its leaderboard was loading, so it is not kept
+        if (!liveQuizIds.contains(quizId)) {
+            leaderboards.remove(quizId, leaderboard);
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Applies the given scores to the leaderboards in memory once the current transaction commits.
+     *
+     * @param scores the resulting scores and versions of the users whose score changed.
+     */
+    public void update(List<UserScoreView> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        TransactionUtility.runAfterCommit(() -> scores.forEach(score -> {
+            BiFunction<Long, Leaderboard, Leaderboard> apply = (quizId, leaderboard) -> {
+                leaderboard.update(score.getUserId(), score.getScore(), score.getVersion());
+                return leaderboard;
+            };
+            if (leaderboards.computeIfPresent(score.getQuizId(), apply) == null) {
+                inactiveLeaderboards.asMap().computeIfPresent(score.getQuizId(), apply);
+            }
+        }));
+    }
+
+    /**
+     * Starts holding the leaderboards of activated quizzes once the current transaction commits.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void addQuizzes(Collection<Long> quizIds) {
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> {
+                liveQuizIds.addAll(quizIds);
+                inactiveLeaderboards.invalidateAll(quizIds);
+            });
+        }
+    }
+
+    /**
+     * Drops the leaderboards of ended or deleted quizzes once the current transaction commits. An ended
+     * quiz is loaded again into the bounded cache of inactive quizzes when it is next read.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void evictQuizzes(Collection<Long> quizIds) {
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> {
+                liveQuizIds.removeAll(quizIds);
+                leaderboards.keySet().removeAll(quizIds);
+                inactiveLeaderboards.invalidateAll(quizIds);
+            });
+        }
+    }
+
+    private Leaderboard loadIfExists(Long quizId) {
+        if (!quizRepository.existsByIdAndIsDeletedFalse(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
+        }
+        return load(quizId);
+    }
+
+    private Leaderboard load(Long quizId) {
+        Leaderboard leaderboard = new Leaderboard(quizId);
+        userQuizJdbcRepository.findScoresByQuizId(quizId)
+                .forEach(score -> leaderboard.update(score.getUserId(), score.getScore(), score.getVersion()));
+        log.debug("Leaderboard loaded for quiz ID: {} with {} users", quizId, leaderboard.size());
+        return leaderboard;
+    }
+}
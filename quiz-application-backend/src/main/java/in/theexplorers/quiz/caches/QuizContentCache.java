@@ -0,0 +1,154 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import in.theexplorers.quiz.dtos.response.CacheStatsDto;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Names and invalidation of the read-through caches holding quiz content.
+ *
+ * <p>The caches are filled by {@code @Cacheable} read methods of the quiz and question services and
+ * bounded by size and time to live. Every write that changes cached content must call the matching
+ * evict method; evictions run after the surrounding transaction commits, so a concurrent read cannot
+ * put the old state back.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class QuizContentCache {
+    /**
+     * Quiz DTOs by quiz ID.
+     */
+    public static final String QUIZZES = "quizzes";
+
+    /**
+     * Question DTOs, with their options, by question ID.
+     */
+    public static final String QUESTIONS = "questions";
+
+    /**
+     * Lists of question DTOs, with their options, by quiz ID.
+     */
+    public static final String QUIZ_QUESTIONS = "quizQuestions";
+
+    /**
+     * Rendered quiz responses by quiz ID.
+     */
+    public static final String QUIZ_PAYLOADS = "quizPayloads";
+
+    /**
+     * Rendered question list responses by quiz ID.
+     */
+    public static final String QUIZ_QUESTION_PAYLOADS = "quizQuestionPayloads";
+
+    private final CacheManager cacheManager;
+
+    public QuizContentCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts a quiz, e.g. after its details or state change.
+     *
+     * @param quizId the ID of the quiz.
+     */
+    public void evictQuiz(Long quizId) {
+        evictQuizzes(List.of(quizId));
+    }
+
+    /**
+     * Evicts several quizzes at once.
+     *
+     * @param quizIds the IDs of the quizzes.
+     */
+    public void evictQuizzes(Collection<Long> quizIds) {
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> quizIds.forEach(quizId -> {
+                cache(QUIZZES).evict(quizId);
+                cache(QUIZ_PAYLOADS).evict(quizId);
+            }));
+        }
+    }
+
+    /**
+     * Evicts the question list of a quiz, e.g. after a question is added to it.
+     *
+     * @param quizId the ID of the quiz.
+     */
+    public void evictQuizQuestions(Long quizId) {
+        TransactionUtility.runAfterCommit(() -> {
+            cache(QUIZ_QUESTIONS).evict(quizId);
+            cache(QUIZ_QUESTION_PAYLOADS).evict(quizId);
+        });
+    }
+
+    /**
+     * Evicts a question and the question list of its quiz, e.g. after the question or one of its
+     * options changes.
+     *
+     * @param quizId     the ID of the quiz the question belongs to.
+     * @param questionId the ID of the question.
+     */
+    public void evictQuestion(Long quizId, Long questionId) {
+        TransactionUtility.runAfterCommit(() -> {
+            cache(QUESTIONS).evict(questionId);
+            cache(QUIZ_QUESTIONS).evict(quizId);
+            cache(QUIZ_QUESTION_PAYLOADS).evict(quizId);
+        });
+    }
+
+    /**
+     * Returns a rendered payload if it is cached, without loading it.
+     *
+     * @param cacheName {@link #QUIZ_PAYLOADS} or {@link #QUIZ_QUESTION_PAYLOADS}.
+     * @param quizId    the ID of the quiz.
+     * @return the payload, or null if it is not cached.
+     */
+    public RenderedPayload getPayloadIfPresent(String cacheName, Long quizId) {
+        return cache(cacheName).get(quizId, RenderedPayload.class);
+    }
+
+    /**
+     * Returns the statistics of the quiz content caches.
+     *
+     * @return the statistics of each cache.
+     */
+    public List<CacheStatsDto> getStats() {
+        return List.of(QUIZZES, QUESTIONS, QUIZ_QUESTIONS, QUIZ_PAYLOADS, QUIZ_QUESTION_PAYLOADS).stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(QuizContentCache::toStatsDto)
+                .toList();
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache not configured: " + name);
+    }
+
+    private static CacheStatsDto toStatsDto(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return CacheStatsDto.builder()
+                .name(cache.getName())
+                .size(cache.getNativeCache().estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .averageLoadMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+}
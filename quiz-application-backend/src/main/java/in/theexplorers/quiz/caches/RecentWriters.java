@@ -0,0 +1,53 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.theexplorers.quiz.configurations.ReadReplicaProperties;
+import in.theexplorers.quiz.configurations.ReadReplicaRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users who wrote in the last {@code quiz.datasource.read-your-writes-window}.
+ *
+ * <p>Read replicas may not have applied the latest writes yet, so the reads of such a user go to the
+ * primary until the window has passed, and the user always sees their own writes.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class RecentWriters {
+    private final Cache<Long, Boolean> writers;
+
+    public RecentWriters(ReadReplicaProperties readReplicaProperties) {
+        this.writers = Caffeine.newBuilder()
+                .expireAfterWrite(readReplicaProperties.getReadYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Records a write of a user. It is recorded before the write commits, so no read can fall between
+     * the commit and the record.
+     *
+     * @param userId the ID of the user.
+     */
+    public void recordWrite(long userId) {
+        writers.put(userId, Boolean.TRUE);
+    }
+
+    /**
+     * Sends the current transaction to the primary when the user wrote recently. It must be called
+     * before the first query of the transaction.
+     *
+     * @param userId the ID of the user whose data is read.
+     */
+    public void routeReadsOf(long userId) {
+        if (writers.getIfPresent(userId) != null) {
+            ReadReplicaRoutingDataSource.requirePrimary();
+        }
+    }
+}
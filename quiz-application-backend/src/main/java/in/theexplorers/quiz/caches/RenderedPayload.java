@@ -0,0 +1,99 @@
+package in.theexplorers.quiz.caches;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.dtos.response.ApiResponseDto;
+import in.theexplorers.quiz.exceptions.OperationFailedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * A response body serialised once and served as is, with a strong ETag identifying the version of
+ * the content it was rendered from.
+ *
+ * <p>The ETag is derived from a version string built by the caller from the IDs, update timestamps
+ * and states of the rendered entities, not from the bytes, so every instance renders the same ETag
+ * for the same content.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RenderedPayload {
+    private final byte[] body;
+    private final String etag;
+
+    private RenderedPayload(byte[] body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    /**
+     * Serialises the given payload in the standard {@link ApiResponseDto} envelope.
+     *
+     * @param objectMapper the object mapper used for regular responses.
+     * @param payload      the payload.
+     * @param message      the message of the response.
+     * @param version      the version of the content the payload was built from.
+     * @return the rendered payload.
+     */
+    public static RenderedPayload render(ObjectMapper objectMapper, Object payload, String message, String version) {
+        ApiResponseDto response = new ApiResponseDto(HttpStatus.OK.value(), payload, message, LocalDateTime.now());
+        try {
+            return new RenderedPayload(objectMapper.writeValueAsBytes(response),
+                    '"' + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + '"');
+        } catch (JsonProcessingException e) {
+            throw new OperationFailedException("Failed to render response payload");
+        }
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against the ETag of this payload.
+     *
+     * @param ifNoneMatch the header value; may be null.
+     * @return {@code true} if the client already holds this version.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the response for a request: 304 without a body if the client holds this version,
+     * otherwise 200 with the rendered bytes.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header of the request; may be null.
+     * @return the response.
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,49 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.caches.AnswerWriteBuffer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Configuration class for the write-behind ingestion of single answers.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AnswerBufferProperties.class)
+public class AnswerBufferConfiguration {
+
+    /**
+     * Creates the answer buffer, replaying its journal, or a disabled buffer when write-behind
+     * ingestion is off.
+     *
+     * @param answerBufferProperties the buffer configuration.
+     * @param meterRegistry          the registry of the buffer size gauge.
+     * @return the buffer.
+     * @throws IOException if the journal cannot be opened.
+     */
+    @Bean
+    public AnswerWriteBuffer answerWriteBuffer(AnswerBufferProperties answerBufferProperties, MeterRegistry meterRegistry) throws IOException {
+        if (!answerBufferProperties.isEnabled()) {
+            return AnswerWriteBuffer.disabled();
+        }
+        AnswerWriteBuffer answerWriteBuffer = AnswerWriteBuffer.open(answerBufferProperties.getJournalPath(), answerBufferProperties.getCapacity());
+        Gauge.builder("quiz.answers.buffer.size", answerWriteBuffer, AnswerWriteBuffer::size)
+                .description("Accepted answers waiting to be stored")
+                .register(meterRegistry);
+        log.info("Write-behind answer ingestion is enabled with a capacity of {} answers", answerBufferProperties.getCapacity());
+        return answerWriteBuffer;
+    }
+}
@@ -0,0 +1,54 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties of the write-behind answer buffer, bound from {@code quiz.answers.buffer.*}.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "quiz.answers.buffer")
+public class AnswerBufferProperties {
+
+    /**
+     * Whether single answers are acknowledged once journaled and stored in batches afterwards.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of accepted answers waiting to be stored; a power of two. Submissions are
+     * rejected while the buffer is full.
+     */
+    private int capacity = 65536;
+
+    /**
+     * File of the journal replayed on startup. Each instance needs its own file.
+     */
+    private Path journalPath = Path.of("data/answer-journal");
+
+    /**
+     * Maximum number of answers stored per statement.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Delay between two flushes of the buffer. Flushes run on a thread of their own, not on the shared
+     * scheduler.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of user IDs cached as existing, so accepting an answer needs no user lookup.
+     */
+    private long knownUsers = 100_000;
+}
@@ -0,0 +1,22 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class enabling the Spring cache abstraction.
+ *
+ * <p>The caches themselves are Caffeine caches created by Spring Boot from the {@code spring.cache.*}
+ * properties: their names, maximum size, time to live and statistics recording.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+}
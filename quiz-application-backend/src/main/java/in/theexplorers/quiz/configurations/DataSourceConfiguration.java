@@ -0,0 +1,102 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class for the primary database and its read replicas.
+ *
+ * <p>The application data source hands out lazy connections: the physical connection is only taken
+ * when the first statement runs, once the transaction is known to be read-only or not. Read-write
+ * transactions use the primary, read-only transactions ({@code @Transactional(readOnly = true)}) use
+ * the {@link ReadReplicaRoutingDataSource}.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class DataSourceConfiguration {
+
+    /**
+     * Creates the pool of the primary from the {@code spring.datasource.*} properties.
+     *
+     * @param dataSourceProperties the data source configuration.
+     * @return the primary pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates a pool per configured replica and the data source choosing between them.
+     *
+     * @param primaryDataSource     the primary pool, used when no replica is usable.
+     * @param readReplicaProperties the replica configuration.
+     * @return the data source of read-only transactions.
+     */
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     ReadReplicaProperties readReplicaProperties) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReadReplicaProperties.Replica replica : readReplicaProperties.getReplicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(readReplicaProperties.getReplicaPoolSize());
+            pool.setReadOnly(true);
+            replicas.add(pool);
+        }
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, readReplicaProperties.getLagQuery());
+    }
+
+    /**
+     * Creates the data source used by JPA and JDBC.
+     *
+     * @param primaryDataSource            the primary pool.
+     * @param readReplicaRoutingDataSource the data source of read-only transactions.
+     * @return the application data source.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Publishes the pool metrics of the replicas, which are not beans and so are not picked up by
+     * Spring Boot like the primary.
+     *
+     * @param readReplicaRoutingDataSource the data source owning the replica pools.
+     * @return the meter binder.
+     */
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return registry -> readReplicaRoutingDataSource.getReplicas().stream()
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+}
@@ -0,0 +1,44 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the application metrics exposed on {@code /actuator/prometheus}.
+ *
+ * <p>Request, connection pool and scheduled task metrics come from Spring Boot; the {@code @Timed}
+ * services and the domain meters are registered by the application. Tags with one value per quiz
+ * multiply the number of time series by the number of quizzes, so they are dropped unless
+ * {@code quiz.metrics.high-cardinality-tags} is enabled.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class MetricsConfiguration {
+    public static final String QUIZ_ID_TAG = "quizId";
+
+    /**
+     * Drops the per-quiz tags from every meter unless high-cardinality tags are enabled.
+     *
+     * @param highCardinalityTags whether per-quiz tags are kept.
+     * @return the meter filter.
+     */
+    @Bean
+    public MeterFilter highCardinalityTagFilter(@Value("${quiz.metrics.high-cardinality-tags:false}") boolean highCardinalityTags) {
+        if (highCardinalityTags) {
+            log.info("Per-quiz metric tags are enabled");
+            return new MeterFilter() {
+            };
+        }
+        return MeterFilter.ignoreTags(QUIZ_ID_TAG);
+    }
+}
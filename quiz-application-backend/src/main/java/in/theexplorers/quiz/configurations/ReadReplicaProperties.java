@@ -0,0 +1,67 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties of the read replicas, bound from {@code quiz.datasource.*}.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "quiz.datasource")
+public class ReadReplicaProperties {
+
+    /**
+     * Replicas serving read-only transactions. Without replicas every transaction uses the primary.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Maximum number of connections of each replica pool.
+     */
+    private int replicaPoolSize = 10;
+
+    /**
+     * Replication lag above which a replica stops serving reads until it catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * Delay between two lag checks of the replicas. It is also read by {@code @Scheduled}, so it must be
+     * written in ISO-8601 form, e.g. {@code PT5S}.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replication lag of a replica in seconds. The default reports no lag on a
+     * PostgreSQL standby that has replayed everything it received.
+     */
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    /**
+     * Time after a write of a user during which the reads of that user use the primary. It should be
+     * longer than {@code maxLag} plus {@code lagCheckInterval}.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    /**
+     * Connection settings of a replica.
+     */
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
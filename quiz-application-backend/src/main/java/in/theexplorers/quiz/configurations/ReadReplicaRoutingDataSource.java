@@ -0,0 +1,161 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source serving the connections of read-only transactions.
+ *
+ * <p>Connections come from the replicas in turn, skipping the replicas whose last lag check failed or
+ * reported more than the allowed lag; when no replica is usable they come from the primary. A transaction
+ * that must see the latest writes, e.g. a read of a user right after their own submission, is sent to
+ * the primary with {@link #requirePrimary()}.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Object PRIMARY_REQUIRED = new Object();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  the primary, used when no replica is usable.
+     * @param replicas the replicas, in the order they are named in the logs.
+     * @param lagQuery the query returning the replication lag of a replica in seconds.
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+    }
+
+    /**
+     * Sends the rest of the current transaction to the primary. It must be called before the first
+     * query of the transaction; it has no effect outside a transaction.
+     */
+    public static void requirePrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(PRIMARY_REQUIRED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PRIMARY_REQUIRED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PRIMARY_REQUIRED);
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    /**
+     * Measures the lag of every replica and takes the replicas lagging more than the given maximum,
+     * or failing the check, out of rotation until a later check succeeds.
+     *
+     * @param maxLag the maximum lag of a usable replica.
+     */
+    public void checkReplicas(Duration maxLag) {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            boolean usable;
+            String reason;
+            try {
+                Double lagSeconds = replica.jdbcTemplate.queryForObject(lagQuery, Double.class);
+                // A standby that has not replayed any transaction yet reports no lag
+                usable = lagSeconds == null || lagSeconds * 1000 <= maxLag.toMillis();
+                reason = "lag of " + lagSeconds + "s";
+            } catch (DataAccessException e) {
+                usable = false;
+                reason = e.getMessage();
+            }
+            if (usable != replica.usable) {
+                replica.usable = usable;
+                if (usable) {
+                    log.info("Read replica {} back in rotation", i + 1);
+                } else {
+                    log.warn("Read replica {} taken out of rotation: {}", i + 1, reason);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the data sources of the replicas.
+     */
+    public List<DataSource> getReplicas() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    /**
+     * @return the number of replicas currently serving reads.
+     */
+    public int getUsableReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.usable).count();
+    }
+
+    /**
+     * Closes the replica pools; the primary is left open.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource target() {
+        if (replicas.isEmpty() || TransactionSynchronizationManager.hasResource(PRIMARY_REQUIRED)) {
+            return primary;
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.usable) {
+                return replica.dataSource;
+            }
+        }
+        return primary;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile boolean usable = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+    }
+}
@@ -5,8 +5,11 @@ package in.theexplorers.quiz.configurations;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
  * Configuration class for defining RestTemplate as a Spring Bean.
  * This allows for centralized HTTP client setup used in service classes.
@@ -21,10 +24,20 @@ public class RestTemplateConfig {
     /**
      * Creates and returns a RestTemplate bean for performing HTTP requests.
      *
+     * <p>Requests go through a single JDK {@link HttpClient}, which keeps connections to each
+     * receiver alive and reuses them, and are bounded by the configured connect and read timeouts.</p>
+     *
+     * @param webhookProperties the webhook configuration holding the timeouts.
      * @return RestTemplate instance
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(WebhookProperties webhookProperties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(webhookProperties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(webhookProperties.getReadTimeout());
+        return new RestTemplate(requestFactory);
     }
 }
@@ -0,0 +1,42 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the webhook delivery subsystem.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(WebhookProperties.class)
+public class WebhookConfiguration {
+
+    /**
+     * Creates the fixed pool of worker threads sending webhook deliveries.
+     *
+     * <p>The queue itself is not bounded here; the dispatcher never hands over more deliveries than
+     * {@code workers + queueCapacity}.</p>
+     *
+     * @param webhookProperties the webhook configuration.
+     * @return the executor.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService webhookExecutor(WebhookProperties webhookProperties) {
+        return new ThreadPoolExecutor(webhookProperties.getWorkers(), webhookProperties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("webhook-"));
+    }
+}
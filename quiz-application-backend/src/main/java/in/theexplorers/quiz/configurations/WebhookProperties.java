@@ -0,0 +1,88 @@
+package in.theexplorers.quiz.configurations;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the webhook delivery subsystem, bound from {@code quiz.webhooks.*}.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "quiz.webhooks")
+public class WebhookProperties {
+
+    /**
+     * Endpoint notified when a quiz is activated.
+     */
+    private String quizActivationUrl;
+
+    /**
+     * Maximum time allowed to open a connection to a receiver.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time allowed for a receiver to answer once the request has been sent.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Number of worker threads sending deliveries.
+     */
+    private int workers = 8;
+
+    /**
+     * Maximum number of claimed deliveries waiting for a worker.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Maximum number of deliveries claimed from the outbox per poll.
+     */
+    private int batchSize = 64;
+
+    /**
+     * Maximum number of concurrent requests sent to a single receiver (host and port).
+     */
+    private int perEndpointConcurrency = 4;
+
+    /**
+     * Number of attempts after which a delivery is given up and marked as failed.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Delay before the first retry; it doubles with every further attempt.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the retry delay.
+     */
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /**
+     * Time after which a claimed delivery that was neither acknowledged nor failed is claimed again,
+     * e.g. because the instance sending it stopped.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Delay between two polls of the outbox. It is also read by {@code @Scheduled}, so it must be
+     * written in ISO-8601 form, e.g. {@code PT1S}.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Delay before a delivery deferred by the per-endpoint limit is tried again.
+     */
+    private Duration deferDelay = Duration.ofMillis(500);
+}
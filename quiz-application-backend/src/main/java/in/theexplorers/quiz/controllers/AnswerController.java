@@ -4,21 +4,27 @@ package in.theexplorers.quiz.controllers;
  */
 
 import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.dtos.request.BulkAnswerSubmissionDto;
 import in.theexplorers.quiz.dtos.response.ApiResponseDto;
+import in.theexplorers.quiz.dtos.response.BulkAnswerResultDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.services.AnswerService;
+import in.theexplorers.quiz.utilities.CursorUtility;
 import in.theexplorers.quiz.utilities.DateTimeUtility;
 import in.theexplorers.quiz.utilities.StringConstants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/answers")
@@ -33,19 +39,36 @@ public class AnswerController {
     }
 
     /**
-     * Fetch all answers.
+     * Fetch one page of answers.
      *
-     * @return List of all AnswerDto objects.
+     * @param cursor Cursor returned with the previous page; omit it for the first page.
+     * @param size   Maximum number of answers in the page.
+     * @return Page of AnswerDto objects with the cursor of the next page.
      */
-    @Operation(summary = "Get all answers", description = "Retrieve all answers from the system.")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved all answers")
+    @Operation(summary = "Get all answers", description = "Retrieve answers from the system one page at a time, in ID order.")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the answers")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @GetMapping
-    public ResponseEntity<ApiResponseDto> getAllAnswers() {
+    public ResponseEntity<ApiResponseDto> getAllAnswers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = CursorUtility.DEFAULT_PAGE_SIZE) int size) {
         logger.info(StringConstants.METHOD_START, "getAllAnswers");
-        List<AnswerDto> answers = answerService.getAllAnswers();
+        CursorPageDto<AnswerDto> answers = answerService.getAnswers(cursor, size);
         logger.info(StringConstants.METHOD_END, "getAllAnswers");
         return ApiResponseDto.generateResponse(
-                HttpStatus.OK, answers, "All answers retrieved successfully", LocalDateTime.parse(DateTimeUtility.getCurrentTimestamp()));
+                HttpStatus.OK, answers, "All answers retrieved successfully", LocalDateTime.now());
+    }
+
+    /**
+     * Stream all answers as newline-delimited JSON.
+     *
+     * @return Response body that writes one AnswerDto per line as rows are read.
+     */
+    @Operation(summary = "Stream all answers", description = "Stream every answer as newline-delimited JSON (application/x-ndjson).")
+    @ApiResponse(responseCode = "200", description = "Answers streamed successfully")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAnswers() {
+        logger.info(StringConstants.METHOD_START, "streamAnswers");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(answerService::streamAnswers);
     }
 
     /**
@@ -70,19 +93,66 @@ public class AnswerController {
      * Create a new answer.
      *
      * @param answerDto Answer data to be created.
-     * @return The created AnswerDto object.
+     * @return The created AnswerDto object, or the graded answer without an ID when it was accepted by the
+     * write-behind buffer and will be stored shortly.
      */
     @Operation(summary = "Create a new answer", description = "Add a new answer to the system.")
     @ApiResponse(responseCode = "201", description = "Successfully created the answer")
+    @ApiResponse(responseCode = "202", description = "Answer accepted by the write-behind buffer")
+    @ApiResponse(responseCode = "429", description = "Too many answers are waiting to be stored")
     @PostMapping
     public ResponseEntity<ApiResponseDto> createAnswer(@RequestBody AnswerDto answerDto) {
         logger.info(StringConstants.METHOD_START, "createAnswer");
         AnswerDto createdAnswer = answerService.submitAnswer(answerDto);
         logger.info(StringConstants.METHOD_END, "createAnswer");
+        if (createdAnswer.getId() == null) {
+            return ApiResponseDto.generateResponse(
+                    HttpStatus.ACCEPTED, createdAnswer, "Answer accepted", LocalDateTime.now());
+        }
         return ApiResponseDto.generateResponse(
                 HttpStatus.CREATED, createdAnswer, "Answer created successfully", LocalDateTime.parse(DateTimeUtility.getCurrentTimestamp()));
     }
 
+    /**
+     * Submit many answers in a single request.
+     *
+     * @param bulkAnswerSubmissionDto Answers to be created, for one or many users.
+     * @return Summary of the submission.
+     */
+    @Operation(summary = "Submit answers in bulk", description = "Add many answers, for one or many users, in a single request.")
+    @ApiResponse(responseCode = "201", description = "Successfully submitted the answers")
+    @ApiResponse(responseCode = "400", description = "Invalid answers in the request")
+    @ApiResponse(responseCode = "409", description = "A question has already been answered by the user")
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponseDto> createAnswers(@Valid @RequestBody BulkAnswerSubmissionDto bulkAnswerSubmissionDto) {
+        logger.info(StringConstants.METHOD_START, "createAnswers");
+        BulkAnswerResultDto result = answerService.submitAnswers(bulkAnswerSubmissionDto.getAnswers());
+        logger.info(StringConstants.METHOD_END, "createAnswers");
+        return ApiResponseDto.generateResponse(
+                HttpStatus.CREATED, result, "Answers submitted successfully", LocalDateTime.now());
+    }
+
+    /**
+     * Store the answer of a user to a question, replacing any previous answer of the user to it.
+     *
+     * @param answerDto      Answer to store.
+     * @param idempotencyKey Optional key identifying the request; a retry with the same key changes nothing.
+     * @return The stored AnswerDto object.
+     */
+    @Operation(summary = "Create or replace an answer", description = "Store the answer of a user to a question in a single statement; retries carrying the same Idempotency-Key are ignored.")
+    @ApiResponse(responseCode = "200", description = "Successfully stored the answer")
+    @ApiResponse(responseCode = "400", description = "Invalid answer or idempotency key")
+    @ApiResponse(responseCode = "404", description = "Question not found")
+    @PutMapping
+    public ResponseEntity<ApiResponseDto> upsertAnswer(@RequestBody AnswerDto answerDto,
+                                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.info(StringConstants.METHOD_START, "upsertAnswer");
+        AnswerDto storedAnswer = answerService.upsertAnswer(answerDto, idempotencyKey);
+        logger.info(StringConstants.METHOD_END, "upsertAnswer");
+        return ApiResponseDto.generateResponse(
+                HttpStatus.OK, storedAnswer, "Answer stored successfully", LocalDateTime.now());
+    }
+
     /**
      * Update an existing answer by ID.
      *
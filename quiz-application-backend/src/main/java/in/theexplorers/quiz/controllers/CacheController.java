@@ -0,0 +1,56 @@
+package in.theexplorers.quiz.controllers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.caches.QuizContentCache;
+import in.theexplorers.quiz.dtos.response.ApiResponseDto;
+import in.theexplorers.quiz.dtos.response.CacheStatsDto;
+import in.theexplorers.quiz.utilities.StringConstants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller exposing the statistics of the in-process caches.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/caches")
+@Tag(name = "Cache Controller", description = "APIs for inspecting in-process caches")
+public class CacheController {
+
+    private final QuizContentCache quizContentCache;
+
+    public CacheController(QuizContentCache quizContentCache) {
+        this.quizContentCache = quizContentCache;
+    }
+
+    /**
+     * Get the hit, miss and eviction statistics of the quiz content caches.
+     *
+     * @return Statistics of each cache.
+     */
+    @Operation(summary = "Get cache statistics", description = "Retrieves size, hit, miss and eviction statistics of the quiz content caches.")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @GetMapping
+    public ResponseEntity<ApiResponseDto> getCacheStats() {
+        log.info(StringConstants.METHOD_START, "getCacheStats");
+        List<CacheStatsDto> stats = quizContentCache.getStats();
+        log.info(StringConstants.METHOD_END, "getCacheStats");
+        return ApiResponseDto.generateResponse(HttpStatus.OK, stats, "Cache statistics retrieved successfully", LocalDateTime.now());
+    }
+}
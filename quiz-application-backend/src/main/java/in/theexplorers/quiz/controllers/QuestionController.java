@@ -9,10 +9,13 @@ import in.theexplorers.quiz.dtos.common.QuestionDto;
 import in.theexplorers.quiz.dtos.request.OptionRequestDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
 import in.theexplorers.quiz.dtos.response.ApiResponseDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.dtos.response.OptionResponseDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.dtos.response.QuestionStatsDto;
 import in.theexplorers.quiz.services.OptionService;
 import in.theexplorers.quiz.services.QuestionService;
+import in.theexplorers.quiz.utilities.CursorUtility;
 import in.theexplorers.quiz.utilities.DateTimeUtility;
 import in.theexplorers.quiz.utilities.StringConstants;
 import io.swagger.v3.oas.annotations.Operation;
@@ -54,16 +57,23 @@ public class QuestionController {
     // -------------------- Question Endpoints --------------------
 
     /**
-     * Retrieve all questions from the system.
+     * Retrieve one page of questions from the system.
      *
-     * @return a ResponseEntity containing a list of {@link QuestionDto} and a success message.
+     * @param cursor          the cursor returned with the previous page; omit it for the first page.
+     * @param size            the maximum number of questions in the page.
+     * @param includeInactive whether deleted questions and options are included.
+     * @return a ResponseEntity containing a page of {@link QuestionResponseDto} and a success message.
      */
-    @Operation(summary = "Get all questions", description = "Retrieve all questions from the system.")
+    @Operation(summary = "Get all questions", description = "Retrieve questions from the system one page at a time, in ID order.")
     @ApiResponse(responseCode = "200", description = "Questions retrieved successfully", content = @Content(schema = @Schema(implementation = QuestionDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size", content = @Content)
     @GetMapping
-    public ResponseEntity<ApiResponseDto> getAllQuestions() {
+    public ResponseEntity<ApiResponseDto> getAllQuestions(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = CursorUtility.DEFAULT_PAGE_SIZE) int size,
+                                                          // todo: restrict to admins after applying security
+                                                          @RequestParam(defaultValue = "false") boolean includeInactive) {
         log.info(StringConstants.METHOD_START, "getAllQuestions");
-        List<QuestionResponseDto> questions = questionService.getAllQuestions();
+        CursorPageDto<QuestionResponseDto> questions = questionService.getQuestions(cursor, size, includeInactive);
         log.info(StringConstants.METHOD_END, "getAllQuestions");
         return ApiResponseDto.generateResponse(HttpStatus.OK, questions, "Questions retrieved successfully", LocalDateTime.now());
     }
@@ -160,20 +170,40 @@ public class QuestionController {
     /**
      * Retrieve all options for a specific question.
      *
-     * @param questionId the ID of the question to get options for.
+     * @param questionId      the ID of the question to get options for.
+     * @param includeInactive whether deleted options are included.
      * @return a ResponseEntity containing a list of {@link OptionDto} and a success message.
      */
     @Operation(summary = "Get all options for a question", description = "Retrieve all options for a specific question.")
     @ApiResponse(responseCode = "200", description = "Options retrieved successfully", content = @Content(schema = @Schema(implementation = OptionDto.class)))
     @ApiResponse(responseCode = "404", description = "Question not found", content = @Content)
     @GetMapping("/{questionId}/options")
-    public ResponseEntity<ApiResponseDto> getOptionsForQuestion(@PathVariable Long questionId) {
+    public ResponseEntity<ApiResponseDto> getOptionsForQuestion(@PathVariable Long questionId,
+                                                                // todo: restrict to admins after applying security
+                                                                @RequestParam(defaultValue = "false") boolean includeInactive) {
         log.info(StringConstants.METHOD_START, "getOptionsForQuestion");
-        List<OptionResponseDto> options = optionService.getOptionsByQuestionId(questionId);
+        List<OptionResponseDto> options = optionService.getOptionsByQuestionId(questionId, includeInactive);
         log.info(StringConstants.METHOD_END, "getOptionsForQuestion");
         return ApiResponseDto.generateResponse(HttpStatus.OK, options, "Options retrieved successfully", LocalDateTime.now());
     }
 
+    /**
+     * Retrieve the number of answers choosing each option of a question.
+     *
+     * @param questionId the ID of the question.
+     * @return a ResponseEntity containing the {@link QuestionStatsDto} and a success message.
+     */
+    @Operation(summary = "Get the answer statistics of a question", description = "Retrieve how many answers chose each option of a question.")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(schema = @Schema(implementation = QuestionStatsDto.class)))
+    @ApiResponse(responseCode = "404", description = "Question not found", content = @Content)
+    @GetMapping("/{questionId}/stats")
+    public ResponseEntity<ApiResponseDto> getQuestionStats(@PathVariable Long questionId) {
+        log.info(StringConstants.METHOD_START, "getQuestionStats");
+        QuestionStatsDto stats = questionService.getQuestionStats(questionId);
+        log.info(StringConstants.METHOD_END, "getQuestionStats");
+        return ApiResponseDto.generateResponse(HttpStatus.OK, stats, "Statistics retrieved successfully", LocalDateTime.now());
+    }
+
     // -------------------- Answer Endpoints --------------------
 
     /**
@@ -3,20 +3,37 @@ package in.theexplorers.quiz.controllers;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import in.theexplorers.quiz.caches.QuizContentCache;
+import in.theexplorers.quiz.caches.RenderedPayload;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
 import in.theexplorers.quiz.dtos.request.QuizRequestDto;
+import in.theexplorers.quiz.dtos.request.QuizSubmissionDto;
 import in.theexplorers.quiz.dtos.response.ApiResponseDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
+import in.theexplorers.quiz.dtos.response.LeaderboardEntryDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
 import in.theexplorers.quiz.dtos.response.QuizDto;
+import in.theexplorers.quiz.dtos.response.QuizResultDto;
+import in.theexplorers.quiz.dtos.response.QuizStatusDto;
+import in.theexplorers.quiz.services.AnswerService;
+import in.theexplorers.quiz.services.LeaderboardService;
+import in.theexplorers.quiz.services.QuestionImportService;
+import in.theexplorers.quiz.services.QuizEventService;
 import in.theexplorers.quiz.services.QuestionService;
 import in.theexplorers.quiz.services.QuizService;
+import in.theexplorers.quiz.utilities.CursorUtility;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,40 +54,66 @@ public class QuizController {
 
     private final QuizService quizService;
     private final QuestionService questionService;
+    private final QuizContentCache quizContentCache;
+    private final LeaderboardService leaderboardService;
+    private final QuizEventService quizEventService;
+    private final QuestionImportService questionImportService;
+    private final AnswerService answerService;
 
-    public QuizController(QuizService quizService, QuestionService questionService) {
+    public QuizController(QuizService quizService, QuestionService questionService, QuizContentCache quizContentCache, LeaderboardService leaderboardService, QuizEventService quizEventService, QuestionImportService questionImportService, AnswerService answerService) {
         this.quizService = quizService;
         this.questionService = questionService;
+        this.quizContentCache = quizContentCache;
+        this.leaderboardService = leaderboardService;
+        this.quizEventService = quizEventService;
+        this.questionImportService = questionImportService;
+        this.answerService = answerService;
     }
 
     // CRUD Operations for Quizzes
 
     /**
-     * Get all quizzes.
+     * Get one page of quizzes.
      *
-     * @return List of all quizzes.
+     * @param cursor          Cursor returned with the previous page; omit it for the first page.
+     * @param size            Maximum number of quizzes in the page.
+     * @param includeInactive Whether deleted quizzes are included.
+     * @return Page of quizzes with the cursor of the next page.
      */
-    @Operation(summary = "Get all quizzes", description = "Retrieves all available quizzes.")
+    @Operation(summary = "Get all quizzes", description = "Retrieves available quizzes one page at a time, in ID order.")
     @ApiResponse(responseCode = "200", description = "Quizzes retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
     @GetMapping
-    public ResponseEntity<ApiResponseDto> getAllQuizzes() {
-        List<QuizDto> quizzes = quizService.getAllQuizzes();
+    public ResponseEntity<ApiResponseDto> getAllQuizzes(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = CursorUtility.DEFAULT_PAGE_SIZE) int size,
+                                                        // todo: restrict to admins after applying security
+                                                        @RequestParam(defaultValue = "false") boolean includeInactive) {
+        CursorPageDto<QuizDto> quizzes = quizService.getQuizzes(cursor, size, includeInactive);
         return ApiResponseDto.generateResponse(HttpStatus.OK, quizzes, "Quizzes retrieved successfully", LocalDateTime.now());
     }
 
     /**
      * Get quiz details by ID.
      *
-     * @param quizId ID of the quiz to retrieve.
+     * <p>The response is rendered once per version of the quiz and carries an ETag; a request whose
+     * {@code If-None-Match} matches the cached version is answered with 304 from memory.</p>
+     *
+     * @param quizId      ID of the quiz to retrieve.
+     * @param ifNoneMatch ETag of the version held by the client, if any.
      * @return Quiz details.
      */
     @Operation(summary = "Get quiz details", description = "Fetches details of a specific quiz by its ID.")
     @ApiResponse(responseCode = "200", description = "Quiz details retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Quiz details not modified since the given ETag")
     @ApiResponse(responseCode = "404", description = "Quiz not found")
     @GetMapping("/{quizId}")
-    public ResponseEntity<ApiResponseDto> getQuizById(@PathVariable Long quizId) {
-        QuizDto quiz = quizService.getQuizById(quizId);
-        return ApiResponseDto.generateResponse(HttpStatus.OK, quiz, "Quiz details retrieved successfully", LocalDateTime.now());
+    public ResponseEntity<byte[]> getQuizById(@PathVariable Long quizId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        RenderedPayload payload = quizContentCache.getPayloadIfPresent(QuizContentCache.QUIZ_PAYLOADS, quizId);
+        if (payload == null) {
+            payload = quizService.getQuizPayload(quizId);
+        }
+        return payload.toResponse(ifNoneMatch);
     }
 
     /**
@@ -123,15 +166,24 @@ public class QuizController {
     /**
      * Get all questions in a quiz.
      *
-     * @param quizId ID of the quiz.
+     * <p>The response is rendered once per version of the quiz content and carries an ETag; a request
+     * whose {@code If-None-Match} matches the cached version is answered with 304 from memory.</p>
+     *
+     * @param quizId      ID of the quiz.
+     * @param ifNoneMatch ETag of the version held by the client, if any.
      * @return List of questions in the quiz.
      */
     @Operation(summary = "Get all questions in a quiz", description = "Retrieves all questions for a given quiz.")
     @ApiResponse(responseCode = "200", description = "Questions retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Questions not modified since the given ETag")
     @GetMapping("/{quizId}/questions")
-    public ResponseEntity<ApiResponseDto> getQuestionsInQuiz(@PathVariable Long quizId) {
-        List<QuestionResponseDto> questions = questionService.getQuestionsByQuizId(quizId);
-        return ApiResponseDto.generateResponse(HttpStatus.OK, questions, "Questions retrieved successfully", LocalDateTime.now());
+    public ResponseEntity<byte[]> getQuestionsInQuiz(@PathVariable Long quizId,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        RenderedPayload payload = quizContentCache.getPayloadIfPresent(QuizContentCache.QUIZ_QUESTION_PAYLOADS, quizId);
+        if (payload == null) {
+            payload = questionService.getQuizQuestionsPayload(quizId);
+        }
+        return payload.toResponse(ifNoneMatch);
     }
 
     /**
@@ -148,5 +200,159 @@ public class QuizController {
         QuestionResponseDto addedQuestions = quizService.addQuestionToQuiz(quizId, questionRequestDto);
         return ApiResponseDto.generateResponse(HttpStatus.CREATED, addedQuestions, "Questions added successfully", LocalDateTime.now());
     }
-}
 
+    /**
+     * Import a question bank into a quiz.
+     *
+     * @param quizId  ID of the quiz.
+     * @param request Request carrying the question bank as a JSON array or a CSV file.
+     * @return Progress of the import as newline-delimited JSON.
+     */
+    @Operation(summary = "Import questions into a quiz", description = "Streams a JSON array of questions, or a CSV file with the header "
+            + "text,correctOption,option1,option2,..., into a quiz in chunked batches, and reports per-row errors and progress as "
+            + "newline-delimited JSON (application/x-ndjson).")
+    @ApiResponse(responseCode = "200", description = "Import started, progress streamed")
+    @ApiResponse(responseCode = "404", description = "Quiz not found")
+    @PostMapping(value = "/{quizId}/questions/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, QuestionImportService.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importQuestions(@PathVariable Long quizId, HttpServletRequest request) {
+        // Fails before the response is committed when the quiz does not exist
+        quizService.getQuizById(quizId);
+        QuestionImportService.Format format = MediaType.parseMediaType(QuestionImportService.TEXT_CSV_VALUE)
+                .includes(MediaType.parseMediaType(request.getContentType()))
+                ? QuestionImportService.Format.CSV : QuestionImportService.Format.JSON;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> questionImportService.importQuestions(quizId, format, request.getInputStream(), output));
+    }
+
+    // -------------------- Evaluation Endpoints --------------------
+
+    /**
+     * Evaluate a quiz submission.
+     *
+     * @param quizId     ID of the quiz.
+     * @param submission Answers submitted by the user.
+     * @return Result of the submission.
+     */
+    @Operation(summary = "Evaluate a quiz submission", description = "Grades the submitted answers against the answer key of the quiz.")
+    @ApiResponse(responseCode = "200", description = "Submission evaluated successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid submission")
+    @ApiResponse(responseCode = "404", description = "Quiz has no questions")
+    @PostMapping("/{quizId}/evaluate")
+    public ResponseEntity<ApiResponseDto> evaluateQuiz(@PathVariable Long quizId, @RequestBody QuizSubmissionDto submission) {
+        QuizResultDto result = quizService.evaluateQuiz(quizId, submission);
+        return ApiResponseDto.generateResponse(HttpStatus.OK, result, "Submission evaluated successfully", LocalDateTime.now());
+    }
+
+    /**
+     * Get the result of a user from the stored answers.
+     *
+     * @param quizId ID of the quiz.
+     * @param userId ID of the user.
+     * @return Result of the user.
+     */
+    @Operation(summary = "Get the result of a user", description = "Counts the correct answers the user has stored for the quiz.")
+    @ApiResponse(responseCode = "200", description = "Result retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Quiz has no questions")
+    @GetMapping("/{quizId}/results/{userId}")
+    public ResponseEntity<ApiResponseDto> getResult(@PathVariable Long quizId, @PathVariable Long userId) {
+        QuizResultDto result = quizService.getResult(quizId, userId);
+        return ApiResponseDto.generateResponse(HttpStatus.OK, result, "Result retrieved successfully", LocalDateTime.now());
+    }
+
+    /**
+     * Export the results of a quiz as CSV.
+     *
+     * @param quizId ID of the quiz.
+     * @return Every active answer of the quiz with the score of its user, one CSV row per answer.
+     */
+    @Operation(summary = "Export the results of a quiz", description = "Streams every active answer of the quiz with the score of its user as CSV (text/csv).")
+    @ApiResponse(responseCode = "200", description = "Results streamed successfully")
+    @ApiResponse(responseCode = "404", description = "Quiz not found")
+    @GetMapping(value = "/{quizId}/results.csv", produces = QuestionImportService.TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportResults(@PathVariable Long quizId) {
+        // Fails before the response is committed when the quiz does not exist
+        quizService.getQuizById(quizId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(QuestionImportService.TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"quiz-" + quizId + "-results.csv\"")
+                .body(output -> answerService.exportQuizResults(quizId, output));
+    }
+
+    /**
+     * Get the progress of a user in a quiz.
+     *
+     * @param quizId ID of the quiz.
+     * @param userId ID of the user.
+     * @return Status of the attempt of the user.
+     */
+    @Operation(summary = "Get the progress of a user", description = "Retrieves whether the user started or completed the quiz and how many questions were answered.")
+    @ApiResponse(responseCode = "200", description = "Status retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Quiz has no questions")
+    @GetMapping("/{quizId}/status/{userId}")
+    public ResponseEntity<ApiResponseDto> getQuizStatus(@PathVariable Long quizId, @PathVariable Long userId) {
+        QuizStatusDto status = quizService.getQuizStatus(quizId, userId);
+        return ApiResponseDto.generateResponse(HttpStatus.OK, status, "Status retrieved successfully", LocalDateTime.now());
+    }
+
+    // -------------------- Leaderboard Endpoints --------------------
+
+    /**
+     * Get one page of the leaderboard of a quiz.
+     *
+     * @param quizId ID of the quiz.
+     * @param cursor Cursor returned with the previous page; omit it for the first page.
+     * @param size   Maximum number of entries in the page.
+     * @return Page of the leaderboard with the cursor of the next page.
+     */
+    @Operation(summary = "Get the leaderboard of a quiz", description = "Retrieves users by score, best first, one page at a time.")
+    @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    @ApiResponse(responseCode = "404", description = "Quiz not found")
+    @GetMapping("/{quizId}/leaderboard")
+    public ResponseEntity<ApiResponseDto> getLeaderboard(@PathVariable Long quizId,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = CursorUtility.DEFAULT_PAGE_SIZE) int size) {
+        CursorPageDto<LeaderboardEntryDto> leaderboard = leaderboardService.getLeaderboard(quizId, cursor, size);
+        return ApiResponseDto.generateResponse(HttpStatus.OK, leaderboard, "Leaderboard retrieved successfully", LocalDateTime.now());
+    }
+
+    /**
+     * Get the rank of a user on the leaderboard of a quiz.
+     *
+     * @param quizId ID of the quiz.
+     * @param userId ID of the user.
+     * @return Standing of the user.
+     */
+    @Operation(summary = "Get the rank of a user", description = "Retrieves the rank and score of a user on the leaderboard of a quiz.")
+    @ApiResponse(responseCode = "200", description = "Rank retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Quiz not found, or user has no score in the quiz")
+    @GetMapping("/{quizId}/leaderboard/{userId}")
+    public ResponseEntity<ApiResponseDto> getStanding(@PathVariable Long quizId, @PathVariable Long userId) {
+        LeaderboardEntryDto standing = leaderboardService.getStanding(quizId, userId);
+        return ApiResponseDto.generateResponse(HttpStatus.OK, standing, "Rank retrieved successfully", LocalDateTime.now());
+    }
+
+    // -------------------- Event Endpoints --------------------
+
+    /**
+     * Open a Server-Sent Events stream of the status of a quiz.
+     *
+     * <p>The current status is sent as soon as the stream opens, then again whenever the quiz is activated
+     * or deactivated. Comment heartbeats keep idle streams open; the stream is completed when the quiz is
+     * deleted.</p>
+     *
+     * @param quizId ID of the quiz.
+     * @return The event stream.
+     */
+    @Operation(summary = "Stream quiz status events", description = "Pushes the status of a quiz whenever it changes, instead of polling the quiz.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @ApiResponse(responseCode = "404", description = "Quiz not found")
+    @GetMapping(value = "/{quizId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuizEvents(@PathVariable Long quizId) {
+        // Fails with 404 before a stream is opened for an unknown quiz
+        quizService.getQuizById(quizId);
+        return quizEventService.subscribe(quizId);
+    }
+}
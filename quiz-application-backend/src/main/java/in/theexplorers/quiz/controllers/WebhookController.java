@@ -4,15 +4,26 @@ package in.theexplorers.quiz.controllers;
  */
 
 import in.theexplorers.quiz.dtos.request.QuizActivationDto;
+import in.theexplorers.quiz.dtos.request.QuizRequestDto;
+import in.theexplorers.quiz.dtos.response.ApiResponseDto;
 import in.theexplorers.quiz.dtos.response.QuizDto;
+import in.theexplorers.quiz.dtos.response.WebhookMetricsDto;
 import in.theexplorers.quiz.services.QuizService;
+import in.theexplorers.quiz.services.WebhookService;
 import in.theexplorers.quiz.utilities.converters.QuizConverter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 /**
  * @author Md Wasif Ali
  * @version 1.0.0
@@ -25,10 +36,12 @@ public class WebhookController {
 
     private final QuizService quizService;
     private final QuizConverter quizConverter;
+    private final WebhookService webhookService;
 
-    public WebhookController(QuizService quizService, QuizConverter quizConverter) {
+    public WebhookController(QuizService quizService, QuizConverter quizConverter, WebhookService webhookService) {
         this.quizService = quizService;
         this.quizConverter = quizConverter;
+        this.webhookService = webhookService;
     }
 
     @PostMapping("/quiz-activation")
@@ -36,11 +49,24 @@ public class WebhookController {
         // Fetch the quiz by ID; let the service handle exceptions
         QuizDto quizDto = quizService.getQuizById(payload.getQuizId());
 
-        // Set the quiz as active
-        quizDto.setActive(true);
+        // Set the quiz as active on a copy, the fetched DTO may be shared through the cache
+        QuizRequestDto quizRequestDto = quizConverter.quizDtoToQuizRequestDto(quizDto);
+        quizRequestDto.setIsActive(true);
 
         // Update the quiz
-        quizService.updateQuiz(quizDto.getId(), quizConverter.quizDtoToQuizRequestDto(quizDto));
+        quizService.updateQuiz(quizDto.getId(), quizRequestDto);
     }
 
+    /**
+     * Get the delivery metrics of outgoing webhooks.
+     *
+     * @return Delivered, retried, failed and deferred counts since startup and the current outbox backlog.
+     */
+    @Operation(summary = "Get webhook delivery metrics", description = "Retrieves delivery counters of outgoing webhooks and the current outbox backlog.")
+    @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully")
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponseDto> getDeliveryMetrics() {
+        WebhookMetricsDto metrics = webhookService.getMetrics();
+        return ApiResponseDto.generateResponse(HttpStatus.OK, metrics, "Webhook metrics retrieved successfully", LocalDateTime.now());
+    }
 }
@@ -4,19 +4,21 @@ package in.theexplorers.quiz.dtos.common;
  */
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * DTO representing an answer in the quiz application.
  *
  * <p>This DTO is used to transfer answer data between the application and clients.
- * It includes essential fields such as the answer ID, the user's selected answer,
- * and its active status.</p>
+ * It includes essential fields such as the answer ID, the option selected by the user,
+ * whether that option is correct, and its active status.</p>
  *
  * <p>Example usage:</p>
  * <pre>
- *     AnswerDto answerDto = new AnswerDto(1L, "Option A", true);
+ *     AnswerDto answerDto = AnswerDto.builder().userId(1L).questionId(7L).selectedOptionId(21L).build();
  * </pre>
  *
  * @version 1.0.0
@@ -24,12 +26,16 @@ import lombok.Data;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Data Transfer Object for representing an answer in the quiz application.")
 public class AnswerDto {
     private Long id;
     private Long questionId;
     private Long userId;
-    private String selectedAnswer;
+    private Long selectedOptionId;
+    @Schema(description = "Whether the selected option is correct; set by the server at submission", accessMode = Schema.AccessMode.READ_ONLY)
+    private Boolean isCorrect;
     private Boolean isActive;
     private String createdBy;
     private String updatedBy;
@@ -0,0 +1,34 @@
+package in.theexplorers.quiz.dtos.request;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO used to submit many answers in a single request.
+ * The answers may belong to one user or to many users.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request DTO for submitting answers in bulk.")
+public class BulkAnswerSubmissionDto {
+
+    @NotEmpty(message = "At least one answer is required")
+    @Schema(description = "Answers to submit; each answer needs a user, a question and a selected option")
+    private List<AnswerDto> answers;
+}
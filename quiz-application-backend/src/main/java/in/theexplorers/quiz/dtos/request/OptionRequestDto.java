@@ -33,10 +33,10 @@ public class OptionRequestDto {
 
     @JsonProperty("isCorrect")
     @Schema(description = "Indicates if this is the correct answer", example = "true", defaultValue = "false")
-    private boolean isCorrect;
+    private Boolean isCorrect;
 
     @JsonProperty("isActive")
     @Schema(description = "Indicates if this is active", example = "true", defaultValue = "true")
-    private boolean isActive;
+    private Boolean isActive;
 }
 
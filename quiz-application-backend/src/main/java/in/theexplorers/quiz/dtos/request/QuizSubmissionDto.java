@@ -1,13 +1,17 @@
 package in.theexplorers.quiz.dtos.request;
 
 import in.theexplorers.quiz.dtos.common.AnswerDto;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class QuizSubmissionDto {
     private Long userId; // The user submitting the quiz
     private List<AnswerDto> answers; // List of answers submitted for the quiz
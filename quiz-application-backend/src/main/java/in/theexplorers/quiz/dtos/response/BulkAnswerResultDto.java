@@ -0,0 +1,31 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO summarising a bulk answer submission.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO summarising a bulk answer submission.")
+public class BulkAnswerResultDto {
+
+    @Schema(description = "Number of answers received in the request", example = "10")
+    private int received;
+
+    @Schema(description = "Number of answers persisted", example = "10")
+    private int persisted;
+}
@@ -0,0 +1,46 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO with the statistics of an in-process cache since startup.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO with the statistics of an in-process cache since startup.")
+public class CacheStatsDto {
+
+    @Schema(description = "Name of the cache", example = "quizzes")
+    private String name;
+
+    @Schema(description = "Approximate number of entries", example = "42")
+    private long size;
+
+    @Schema(description = "Number of lookups served from the cache", example = "9800")
+    private long hits;
+
+    @Schema(description = "Number of lookups that had to load the value", example = "200")
+    private long misses;
+
+    @Schema(description = "Ratio of hits to lookups", example = "0.98")
+    private double hitRate;
+
+    @Schema(description = "Number of entries removed because of size or age", example = "3")
+    private long evictions;
+
+    @Schema(description = "Average time spent loading a value in milliseconds", example = "4.2")
+    private double averageLoadMillis;
+}
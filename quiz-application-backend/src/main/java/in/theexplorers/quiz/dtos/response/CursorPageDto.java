@@ -0,0 +1,59 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Standardized structure for one page of a keyset (seek) paginated list.
+ *
+ * @param <T> type of the items in the page.
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a cursor paginated list.")
+public class CursorPageDto<T> {
+
+    @Schema(description = "Items of the page")
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor of the next page, null when this is the last page", example = "MTA")
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that
+     * another page exists and is not returned.
+     *
+     * @param rows     The fetched rows.
+     * @param size     The requested page size.
+     * @param mapper   Converts a row to a page item.
+     * @param cursorOf Builds the cursor that resumes after a row.
+     * @param <E>      Type of the fetched rows.
+     * @param <T>      Type of the page items.
+     * @return The page.
+     */
+    public static <E, T> CursorPageDto<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        int count = hasMore ? size : rows.size();
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(mapper.apply(rows.get(i)));
+        }
+        String nextCursor = hasMore ? cursorOf.apply(rows.get(count - 1)) : null;
+        return new CursorPageDto<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,34 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for the standing of a user on the leaderboard of a quiz.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for the standing of a user on the leaderboard of a quiz.")
+public class LeaderboardEntryDto {
+
+    @Schema(description = "Rank of the user; users with the same score share a rank", example = "1")
+    private int rank;
+
+    @Schema(description = "Unique identifier of the user", example = "1")
+    private Long userId;
+
+    @Schema(description = "Number of correct answers of the user", example = "8")
+    private int score;
+}
@@ -0,0 +1,52 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one line of the progress of a question import.
+ *
+ * <p>An {@code error} event reports a rejected row, a {@code progress} event follows every written chunk
+ * and a single {@code completed} or {@code aborted} event ends the import.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Response DTO for one line of the progress of a question import.")
+public class QuestionImportEventDto {
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String COMPLETED = "completed";
+    public static final String ABORTED = "aborted";
+
+    @Schema(description = "Type of the event: error, progress, completed or aborted", example = "progress")
+    private String event;
+
+    @Schema(description = "Row of the rejected question, counted from 1 without the CSV header", example = "17")
+    private Long row;
+
+    @Schema(description = "Reason the row was rejected or the import aborted", example = "Question text is required")
+    private String message;
+
+    @Schema(description = "Number of rows read so far", example = "1000")
+    private Long processed;
+
+    @Schema(description = "Number of questions written so far", example = "998")
+    private Long imported;
+
+    @Schema(description = "Number of rows rejected so far", example = "2")
+    private Long failed;
+}
@@ -0,0 +1,52 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for the histogram of the options chosen by the answers of a question.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO for the histogram of the options chosen by the answers of a question.")
+public class QuestionStatsDto {
+
+    @Schema(description = "Unique identifier of the question", example = "1")
+    private Long questionId;
+
+    @Schema(description = "Number of active answers to the question", example = "120")
+    private long totalAnswers;
+
+    @Schema(description = "Number of active answers choosing each option, in option ID order")
+    private List<OptionStats> options;
+
+    /**
+     * Number of answers choosing a single option.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Number of answers choosing a single option.")
+    public static class OptionStats {
+
+        @Schema(description = "Unique identifier of the option", example = "3")
+        private Long optionId;
+
+        @Schema(description = "Number of active answers choosing the option", example = "42")
+        private long choiceCount;
+    }
+}
@@ -0,0 +1,36 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO pushed to the event stream of a quiz whenever its status changes.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO pushed to the event stream of a quiz whenever its status changes.")
+public class QuizEventDto {
+
+    @Schema(description = "Unique identifier of the quiz", example = "1")
+    private Long quizId;
+
+    @Schema(description = "Whether the quiz is live", example = "true")
+    private boolean isActive;
+
+    @Schema(description = "Time at which the status was observed", example = "2024-12-11T10:00:00")
+    private LocalDateTime occurredOn;
+}
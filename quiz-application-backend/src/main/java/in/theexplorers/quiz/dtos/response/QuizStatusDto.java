@@ -5,6 +5,7 @@ package in.theexplorers.quiz.dtos.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -18,6 +19,7 @@ import java.time.LocalDateTime;
  * @since 1.0.0
  */
 @Data
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class QuizStatusDto {
@@ -34,6 +36,12 @@ public class QuizStatusDto {
     @Schema(description = "Flag indicating whether the quiz has been completed", example = "false")
     private boolean completed; // Indicates if the quiz is completed
 
+    @Schema(description = "Number of questions answered by the user", example = "6")
+    private int answeredCount; // Number of answered questions
+
+    @Schema(description = "Number of questions in the quiz", example = "10")
+    private int totalQuestions; // Number of questions in the quiz
+
     @Schema(description = "Progress percentage of the quiz", example = "60")
     private int progressPercentage; // Progress percentage in the quiz
 
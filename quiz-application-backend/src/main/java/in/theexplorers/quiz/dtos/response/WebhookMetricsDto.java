@@ -0,0 +1,46 @@
+package in.theexplorers.quiz.dtos.response;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO with the delivery metrics of the webhook dispatcher since startup.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response DTO with the delivery metrics of the webhook dispatcher since startup.")
+public class WebhookMetricsDto {
+
+    @Schema(description = "Number of deliveries sent and acknowledged", example = "120")
+    private long delivered;
+
+    @Schema(description = "Number of failed attempts that were scheduled for a retry", example = "7")
+    private long retried;
+
+    @Schema(description = "Number of deliveries given up", example = "1")
+    private long failed;
+
+    @Schema(description = "Number of deliveries postponed by the per-endpoint concurrency limit", example = "3")
+    private long deferred;
+
+    @Schema(description = "Number of deliveries claimed by a dispatcher and not yet settled", example = "2")
+    private long inFlight;
+
+    @Schema(description = "Number of deliveries waiting in the outbox", example = "5")
+    private long pending;
+
+    @Schema(description = "Average duration of an attempt in milliseconds", example = "42.5")
+    private double averageLatencyMillis;
+}
@@ -34,27 +34,28 @@ public class Answer {
      * Unique identifier for each answer record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answer_seq")
+    @SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = 50)
     private Long id;
 
     /**
      * The user who submitted this answer.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     /**
      * The question to which this answer corresponds.
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "question_id", nullable = false)
     private Question question;
 
     /**
      * The selected option
      */
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "option_id")
     private Option selectedOption;
 
@@ -69,6 +70,12 @@ public class Answer {
     @Builder.Default
     private Boolean isActive = true;
 
+    /**
+     * Client supplied key of the request that last wrote this answer, used to recognise retries.
+     */
+    @Column(length = 100)
+    private String idempotencyKey;
+
     /**
      * Username of the user who created this record, non-updatable.
      */
@@ -3,12 +3,15 @@ package in.theexplorers.quiz.entities;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -29,13 +32,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "option")
+@Filter(name = SoftDeleteUtility.FILTER, condition = SoftDeleteUtility.ACTIVE)
 public class Option {
 
     /**
      * Unique identifier for each option record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "option_seq")
+    @SequenceGenerator(name = "option_seq", sequenceName = "option_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -64,6 +69,15 @@ public class Option {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Number of active answers selecting this option, as of the last flush of the live choice counters.
+     * It is only written by the flush, never by entity updates.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long choiceCount = 0L;
+
     /**
      * Username of the user who created this record, non-updatable.
      */
@@ -3,6 +3,7 @@ package in.theexplorers.quiz.entities;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -32,13 +34,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "question")
+@Filter(name = SoftDeleteUtility.FILTER, condition = SoftDeleteUtility.ACTIVE)
 public class Question {
 
     /**
      * Unique identifier for each question record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+    @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -58,6 +62,8 @@ public class Question {
      * List of possible answer options associated with this question.
      */
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("id")
+    @Filter(name = SoftDeleteUtility.FILTER, condition = SoftDeleteUtility.ACTIVE)
     private List<Option> options;
 
     /**
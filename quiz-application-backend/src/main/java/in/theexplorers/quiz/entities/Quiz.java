@@ -7,8 +7,12 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -21,6 +25,9 @@ import java.util.List;
  * <p>This entity stores information about each quiz, including title, scheduled start
  * and end times, associated questions, and audit details for record management.</p>
  *
+ * <p>Deleted quizzes and inactive questions are hidden from queries by the
+ * {@value SoftDeleteUtility#FILTER}, which is defined here and enabled in every session.</p>
+ *
  * @author Md Wasif Ali
  * @version 1.0.0
  * @since 1.0.0
@@ -31,13 +38,16 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "quiz")
+@FilterDef(name = SoftDeleteUtility.FILTER, autoEnabled = true)
+@Filter(name = SoftDeleteUtility.FILTER, condition = "is_deleted = false")
 public class Quiz {
 
     /**
      * It represents the unique id of every record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_seq")
+    @SequenceGenerator(name = "quiz_seq", sequenceName = "quiz_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -68,6 +78,7 @@ public class Quiz {
      * List of questions associated with this quiz.
      */
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Filter(name = SoftDeleteUtility.FILTER, condition = SoftDeleteUtility.ACTIVE)
     private List<Question> questions;
 
     /**
@@ -79,11 +90,21 @@ public class Quiz {
     private List<UserQuiz> userQuizzes;
 
     /**
-     * Indicates whether the quiz is active. Default is true.
+     * Indicates whether the quiz is active, i.e. running. The scheduler sets it when the quiz starts
+     * and clears it when the quiz ends. Default is true.
      */
     @Builder.Default
     private Boolean isActive = true;
 
+    /**
+     * Indicates whether the quiz has been deleted. Deleted quizzes are kept but hidden from every read
+     * and never activated again.
+     */
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private Boolean isDeleted = false;
+
     /**
      * The username of the user who created this record.
      */
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -23,7 +24,9 @@ public class UserQuiz {
      * It represents the unique id of every record.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Rows are only inserted by upserts, which draw one value for every row they touch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_quiz_seq")
+    @SequenceGenerator(name = "user_quiz_seq", sequenceName = "user_quiz_seq", allocationSize = 1)
     private Long id;
 
     /**
@@ -52,6 +55,12 @@ public class UserQuiz {
      */
     private Integer score;
 
+    /**
+     * Number of questions answered in this attempt, as of the last flush of the attempt tracker.
+     */
+    @ColumnDefault("0")
+    private Integer answeredCount;
+
     /**
      * Quiz start timestamp for this user.
      */
@@ -0,0 +1,113 @@
+package in.theexplorers.quiz.entities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a webhook delivery in the outbox.
+ *
+ * <p>A row is written in the same transaction as the change it notifies about and is sent later by
+ * the webhook dispatcher, which retries it with exponential backoff until the receiver acknowledges
+ * it or the attempts are exhausted.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Builder
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "webhook_delivery")
+public class WebhookDelivery {
+    /**
+     * Unique identifier for each delivery.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_delivery_seq")
+    @SequenceGenerator(name = "webhook_delivery_seq", sequenceName = "webhook_delivery_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Type of the event being delivered, e.g. QUIZ_ACTIVATED.
+     */
+    @Column(nullable = false)
+    private String eventType;
+
+    /**
+     * URL of the receiver.
+     */
+    @Column(nullable = false)
+    private String endpoint;
+
+    /**
+     * JSON body sent to the receiver.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Current status of the delivery.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private WebhookDeliveryStatus status = WebhookDeliveryStatus.PENDING;
+
+    /**
+     * Number of attempts made so far.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Time at which the delivery becomes due; while in flight, the time at which its claim expires.
+     */
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Error of the last failed attempt.
+     */
+    @Column(length = 1000)
+    private String lastError;
+
+    /**
+     * Time at which the receiver acknowledged the delivery.
+     */
+    private LocalDateTime deliveredAt;
+
+    /**
+     * Username of the user who created this record, non-updatable.
+     */
+    @Column(nullable = false, updatable = false)
+    private String createdBy;
+
+    /**
+     * Timestamp indicating when the delivery was created.
+     */
+    @CreationTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(updatable = false)
+    private LocalDateTime createdOn;
+
+    /**
+     * Timestamp indicating when the delivery was last updated.
+     */
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private LocalDateTime updatedOn;
+}
@@ -0,0 +1,40 @@
+package in.theexplorers.quiz.entities.enums;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+/**
+ * Enum representing the status of a webhook delivery in the outbox.
+ *
+ * <p>
+ * This enum defines four status:
+ * </p>
+ * <ul>
+ *   <li><b>PENDING</b>: Represents delivery is waiting to be sent or retried.</li>
+ *   <li><b>IN_FLIGHT</b>: Represents delivery is claimed by a worker.</li>
+ *   <li><b>DELIVERED</b>: Represents delivery is acknowledged by the receiver.</li>
+ *   <li><b>FAILED</b>: Represents delivery is given up.</li>
+ * </ul>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum WebhookDeliveryStatus {
+    /**
+     * Represents delivery is waiting to be sent or retried.
+     */
+    PENDING,
+    /**
+     * Represents delivery is claimed by a worker.
+     */
+    IN_FLIGHT,
+    /**
+     * Represents delivery is acknowledged by the receiver.
+     */
+    DELIVERED,
+    /**
+     * Represents delivery is given up.
+     */
+    FAILED
+}
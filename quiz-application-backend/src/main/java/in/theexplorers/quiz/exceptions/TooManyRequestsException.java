@@ -0,0 +1,21 @@
+package in.theexplorers.quiz.exceptions;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * This is a custom exception class for requests rejected under load.
+ * It extends {@link ApiException}
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TooManyRequestsException extends ApiException {
+
+    public TooManyRequestsException(String message) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,288 @@
+package in.theexplorers.quiz.repositories;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.entities.Answer;
+import in.theexplorers.quiz.repositories.projections.AnswerUpsertView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is a JDBC repository for write-heavy operations on {@link Answer} records.
+ *
+ * <p>Answers are written with plain JDBC batches that reference users, questions and options by ID,
+ * so none of the referenced entities is loaded. Referential integrity is enforced by the foreign keys
+ * of the {@code answer} table.</p>
+ *
+ * <p>IDs come from {@code answer_seq} with the pooled-lo allocation Hibernate uses: every value drawn
+ * reserves itself and the next {@value #ID_ALLOCATION_SIZE} - 1 values. The repository hands out the
+ * values of a block across calls, so single upserts draw one value per {@value #ID_ALLOCATION_SIZE}
+ * answers and batches one value per block of rows. An upsert that replaces an answer leaves its ID
+ * unused.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Repository
+public class AnswerJdbcRepository {
+    // Must match the allocation size of the answer_seq generator of the Answer entity
+    static final int ID_ALLOCATION_SIZE = 50;
+    private static final String ALLOCATE_IDS = "SELECT nextval('answer_seq') FROM generate_series(1, ?)";
+    private static final String INSERT_ANSWER = "INSERT INTO answer " +
+            "(id, user_id, question_id, option_id, is_correct, is_active, created_by, created_on, updated_on) " +
+            "VALUES (?, ?, ?, ?, ?, true, ?, ?, ?)";
+    // The previous row is locked and read in the same statement, so callers can derive exact deltas. The
+    // insert reads its row through the lock, which is therefore taken before the row is replaced; a
+    // lock taken later would skip the row the statement has already changed
+    private static final String UPSERT_ANSWER = "WITH previous AS (" +
+            "SELECT id, option_id, is_correct, is_active FROM answer WHERE user_id = ? AND question_id = ? FOR UPDATE" +
+            "), upserted AS (" +
+            "INSERT INTO answer (id, user_id, question_id, option_id, is_correct, is_active, idempotency_key, " +
+            "created_by, created_on, updated_on) SELECT ?::bigint, ?::bigint, ?::bigint, ?::bigint, ?::boolean, true, " +
+            "?::varchar, ?::varchar, ?::timestamp, ?::timestamp FROM (SELECT 1) AS one LEFT JOIN previous ON true " +
+            "ON CONFLICT (user_id, question_id) DO UPDATE SET option_id = EXCLUDED.option_id, " +
+            "is_correct = EXCLUDED.is_correct, is_active = true, idempotency_key = EXCLUDED.idempotency_key, " +
+            "updated_by = EXCLUDED.created_by, updated_on = EXCLUDED.updated_on " +
+            "WHERE EXCLUDED.idempotency_key IS NULL OR answer.idempotency_key IS DISTINCT FROM EXCLUDED.idempotency_key " +
+            "RETURNING id" +
+            ") SELECT COALESCE(u.id, p.id) AS id, u.id IS NOT NULL AS applied, p.id IS NOT NULL AS existed, " +
+            "p.option_id, p.is_correct, p.is_active " +
+            "FROM (SELECT 1) AS one LEFT JOIN upserted u ON true LEFT JOIN previous p ON true";
+    // Locks the answers a batch replaces, in a fixed order, and reads their state before the upsert
+    private static final String LOCK_ANSWERS = "SELECT a.user_id, a.question_id, a.option_id, a.is_correct, a.is_active " +
+            "FROM answer a JOIN unnest(?::bigint[], ?::bigint[]) AS i(user_id, question_id) " +
+            "ON a.user_id = i.user_id AND a.question_id = i.question_id ORDER BY a.user_id, a.question_id FOR UPDATE OF a";
+    // Answers of unknown users are skipped, so one of them cannot fail the whole batch
+    private static final String UPSERT_ANSWERS = "INSERT INTO answer " +
+            "(id, user_id, question_id, option_id, is_correct, is_active, created_by, created_on, updated_on) " +
+            "SELECT i.id, i.user_id, i.question_id, i.option_id, i.is_correct, true, ?, ?, ? " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[], ?::boolean[]) AS i(id, user_id, question_id, option_id, is_correct) " +
+            "JOIN app_user u ON u.id = i.user_id ORDER BY i.user_id, i.question_id " +
+            "ON CONFLICT (user_id, question_id) DO UPDATE SET option_id = EXCLUDED.option_id, " +
+            "is_correct = EXCLUDED.is_correct, is_active = true, idempotency_key = NULL, " +
+            "updated_by = EXCLUDED.created_by, updated_on = EXCLUDED.updated_on " +
+            "RETURNING id, user_id, question_id";
+    private static final String FIND_RESULTS_BY_QUIZ_ID = "SELECT a.user_id, u.name AS user_name, uq.score, " +
+            "a.question_id, a.option_id, a.is_correct, a.updated_on AS answered_on " +
+            "FROM answer a JOIN question q ON q.id = a.question_id JOIN app_user u ON u.id = a.user_id " +
+            "LEFT JOIN user_quiz uq ON uq.user_id = a.user_id AND uq.quiz_id = q.quiz_id " +
+            "WHERE q.quiz_id = ? AND a.is_active = true ORDER BY a.user_id, a.question_id";
+    private static final String FIND_ANSWERS_BY_QUIZ_ID = "SELECT a.user_id, a.question_id, a.option_id, a.is_correct, a.is_active " +
+            "FROM answer a JOIN question q ON q.id = a.question_id WHERE q.quiz_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    // Values of the last block drawn that are not handed out yet: [nextId, blockEnd)
+    private long nextId;
+    private long blockEnd;
+
+    public AnswerJdbcRepository(JdbcTemplate jdbcTemplate, @Value("${quiz.answers.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts the given answers using JDBC batches, assigning them their IDs.
+     *
+     * @param answers   the graded answers to insert; user, question and selected option IDs and the
+     *                  correctness flag are used as is.
+     * @param createdBy the username recorded as creator of the rows.
+     * @return the number of inserted rows.
+     */
+    public int batchInsert(List<AnswerDto> answers, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] ids = allocateIds(answers.size());
+        for (int i = 0; i < answers.size(); i++) {
+            answers.get(i).setId(ids[i]);
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_ANSWER, answers, batchSize, (ps, answer) -> {
+            ps.setLong(1, answer.getId());
+            ps.setLong(2, answer.getUserId());
+            ps.setLong(3, answer.getQuestionId());
+            if (answer.getSelectedOptionId() == null) {
+                ps.setNull(4, Types.BIGINT);
+            } else {
+                ps.setLong(4, answer.getSelectedOptionId());
+            }
+            if (answer.getIsCorrect() == null) {
+                ps.setNull(5, Types.BOOLEAN);
+            } else {
+                ps.setBoolean(5, answer.getIsCorrect());
+            }
+            ps.setString(6, createdBy);
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        return Arrays.stream(counts).flatMapToInt(Arrays::stream).map(count -> count < 0 ? 1 : count).sum();
+    }
+
+    /**
+     * Inserts an answer, or replaces the answer the user already gave to the question, in one statement.
+     *
+     * <p>When an idempotency key is given and equals the key of the stored answer, the request is a retry:
+     * nothing is written and the stored answer is reported instead.</p>
+     *
+     * @param answer         the graded answer; user, question and selected option IDs and the correctness flag are used as is.
+     * @param idempotencyKey the client supplied key of the request, or null.
+     * @param createdBy      the username recorded as creator or updater of the row.
+     * @return the ID of the stored answer, whether it was written, and its state before the statement.
+     */
+    public AnswerUpsertView upsert(AnswerDto answer, String idempotencyKey, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.queryForObject(UPSERT_ANSWER, (rs, rowNum) -> new AnswerUpsertView(
+                        rs.getLong("id"), rs.getBoolean("applied"), rs.getBoolean("existed"),
+                        rs.getObject("option_id", Long.class), rs.getObject("is_correct", Boolean.class),
+                        rs.getObject("is_active", Boolean.class)),
+                answer.getUserId(), answer.getQuestionId(),
+                allocateIds(1)[0], answer.getUserId(), answer.getQuestionId(), answer.getSelectedOptionId(), answer.getIsCorrect(),
+                idempotencyKey, createdBy, now, now);
+    }
+
+    /**
+     * Inserts many answers, or replaces the answers the users already gave to the questions, with one
+     * statement that locks the answers to replace and one upsert.
+     *
+     * <p>Answers of users that do not exist are skipped. No two answers may have the same user and question.</p>
+     *
+     * @param answers   the graded answers; user, question and selected option IDs and the correctness flag are used as is.
+     * @param createdBy the username recorded as creator or updater of the rows.
+     * @return for each answer, in the same order, its ID and its state before the statement, or null when it was skipped.
+     */
+    public List<AnswerUpsertView> upsertAll(List<AnswerDto> answers, String createdBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] userIds = answers.stream().map(AnswerDto::getUserId).toArray();
+        Object[] questionIds = answers.stream().map(AnswerDto::getQuestionId).toArray();
+
+        // Locked by a statement of its own: a locking read in the upsert would skip the rows the upsert changes
+        Map<List<Long>, AnswerUpsertView> previous = new HashMap<>();
+        jdbcTemplate.query(LOCK_ANSWERS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", questionIds));
+        }, rs -> {
+            previous.put(List.of(rs.getLong("user_id"), rs.getLong("question_id")), new AnswerUpsertView(0, true, true,
+                    rs.getObject("option_id", Long.class), rs.getObject("is_correct", Boolean.class),
+                    rs.getObject("is_active", Boolean.class)));
+        });
+
+        Object[] newIds = Arrays.stream(allocateIds(answers.size())).boxed().toArray();
+        Map<List<Long>, Long> ids = new HashMap<>();
+        jdbcTemplate.query(UPSERT_ANSWERS, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setString(1, createdBy);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setArray(4, connection.createArrayOf("bigint", newIds));
+            ps.setArray(5, connection.createArrayOf("bigint", userIds));
+            ps.setArray(6, connection.createArrayOf("bigint", questionIds));
+            ps.setArray(7, connection.createArrayOf("bigint", answers.stream().map(AnswerDto::getSelectedOptionId).toArray()));
+            ps.setArray(8, connection.createArrayOf("boolean", answers.stream().map(AnswerDto::getIsCorrect).toArray()));
+        }, rs -> {
+            ids.put(List.of(rs.getLong("user_id"), rs.getLong("question_id")), rs.getLong("id"));
+        });
+
+        List<AnswerUpsertView> results = new ArrayList<>(answers.size());
+        for (AnswerDto answer : answers) {
+            List<Long> key = List.of(answer.getUserId(), answer.getQuestionId());
+            Long id = ids.get(key);
+            AnswerUpsertView before = previous.get(key);
+            results.add(id == null ? null : new AnswerUpsertView(id, true, before != null,
+                    before == null ? null : before.getPreviousOptionId(),
+                    before == null ? null : before.getPreviousIsCorrect(),
+                    before == null ? null : before.getPreviousIsActive()));
+        }
+        return results;
+    }
+
+    /**
+     * Reads the active answers of a quiz with the score of their user, ordered by user and question,
+     * from a forward-only cursor. Rows are passed to the handler as they are fetched and never mapped
+     * to entities, so the number of rows held in memory is bounded by the fetch size.
+     *
+     * <p>The columns are {@code user_id}, {@code user_name}, {@code score}, {@code question_id},
+     * {@code option_id}, {@code is_correct} and {@code answered_on}. The driver only fetches in chunks
+     * inside a transaction.</p>
+     *
+     * @param quizId    the ID of the quiz.
+     * @param fetchSize the number of rows fetched per round trip.
+     * @param handler   the handler called for each row.
+     */
+    public void streamResultsByQuizId(long quizId, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_RESULTS_BY_QUIZ_ID,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, quizId);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Reads the answers of a quiz, withdrawn ones included, from a forward-only cursor, in no particular
+     * order. Rows are passed to the handler as they are fetched and never mapped to objects.
+     *
+     * <p>The columns are {@code user_id}, {@code question_id}, {@code option_id}, {@code is_correct} and
+     * {@code is_active}. The driver only fetches in chunks inside a transaction.</p>
+     *
+     * @param quizId    the ID of the quiz.
+     * @param fetchSize the number of rows fetched per round trip.
+     * @param handler   the handler called for each row.
+     */
+    public void streamAnswersByQuizId(long quizId, int fetchSize, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_ANSWERS_BY_QUIZ_ID,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, quizId);
+            return statement;
+        }, handler);
+    }
+
+    // Hands out the current block first; the blocks still needed are drawn in one query, outside the lock
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int taken = 0;
+        synchronized (this) {
+            while (taken < count && nextId < blockEnd) {
+                ids[taken++] = nextId++;
+            }
+        }
+        if (taken == count) {
+            return ids;
+        }
+        int blocks = (count - taken + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+        List<Long> blockStarts = jdbcTemplate.queryForList(ALLOCATE_IDS, Long.class, blocks);
+        long id = 0;
+        for (Long blockStart : blockStarts) {
+            id = blockStart;
+            for (long end = blockStart + ID_ALLOCATION_SIZE; id < end && taken < count; id++) {
+                ids[taken++] = id;
+            }
+        }
+        long lastBlockEnd = blockStarts.get(blockStarts.size() - 1) + ID_ALLOCATION_SIZE;
+        // What is left of the last block is kept for later calls, unless another call kept more
+        synchronized (this) {
+            if (lastBlockEnd - id > blockEnd - nextId) {
+                nextId = id;
+                blockEnd = lastBlockEnd;
+            }
+        }
+        return ids;
+    }
+}
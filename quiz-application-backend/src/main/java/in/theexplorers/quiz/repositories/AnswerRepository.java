@@ -5,13 +5,18 @@ package in.theexplorers.quiz.repositories;
 
 import in.theexplorers.quiz.entities.Answer;
 import in.theexplorers.quiz.entities.Question;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This is a repository interface which provides CRUD operations for {@link Answer}.
@@ -52,6 +57,17 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     @Query("SELECT a FROM Answer a WHERE a.user.id = :userId AND a.question.quiz.id = :quizId")
     List<Answer> findByUserIdAndQuizId(@Param("userId") Long userId, @Param("quizId") Long quizId);
 
+    /**
+     * Counts the active answers of a user in a quiz that were graded correct at submission.
+     *
+     * @param userId the ID of the user
+     * @param quizId the ID of the quiz
+     * @return the number of correct answers
+     */
+    @Query("SELECT COUNT(a) FROM Answer a WHERE a.user.id = :userId AND a.question.quiz.id = :quizId " +
+            "AND a.isActive = true AND a.isCorrect = true")
+    long countCorrectByUserIdAndQuizId(@Param("userId") Long userId, @Param("quizId") Long quizId);
+
     /**
      * Retrieves a list of answers associated with the specified question.
      *
@@ -61,4 +77,26 @@ public interface AnswerRepository extends JpaRepository<Answer, Long> {
     @Query("SELECT a FROM Answer a WHERE a.question = :question")
     List<Answer> findByQuestion(@Param("question") Question question);
 
+    /**
+     * Finds the page of answers that follows the given ID, in ID order.
+     *
+     * @param id    the ID after which the page starts
+     * @param limit the maximum number of answers to return
+     * @return the answers of the page
+     */
+    List<Answer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams all answers in ID order, fetching rows from the database in chunks.
+     * Must be consumed inside a transaction, and the stream must be closed afterwards.
+     *
+     * @return a stream of read-only {@link Answer} entities.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Answer a ORDER BY a.id")
+    Stream<Answer> streamAll();
+
 }
@@ -0,0 +1,43 @@
+package in.theexplorers.quiz.repositories;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.Option;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is a JDBC repository for write-heavy operations on {@link Option} records.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Repository
+public class OptionJdbcRepository {
+    private static final String ADD_CHOICE_COUNT = "UPDATE option SET choice_count = choice_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OptionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the given changes to the choice counts of options in one JDBC batch.
+     *
+     * @param deltas the change to apply, keyed by option ID.
+     */
+    public void addChoiceCounts(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(ADD_CHOICE_COUNT, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+}
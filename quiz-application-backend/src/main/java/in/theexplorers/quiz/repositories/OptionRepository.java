@@ -5,6 +5,9 @@ package in.theexplorers.quiz.repositories;
 
 import in.theexplorers.quiz.entities.Option;
 import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.repositories.projections.OptionChoiceCountView;
+import in.theexplorers.quiz.repositories.projections.OptionKeyView;
+import in.theexplorers.quiz.repositories.projections.OptionOwnerView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This is a repository interface which provides crud operation for {@link Option}.
@@ -39,6 +43,37 @@ public interface OptionRepository extends JpaRepository<Option, Long> {
      */
     List<Option> findByQuestion(Question question);
 
+    /**
+     * Retrieves the answer-key rows of every active option of the active questions of a quiz,
+     * ordered by question and option ID.
+     *
+     * @param quizId the ID of the quiz
+     * @return the question ID, option ID and correctness flag of each option
+     */
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId, o.isCorrect AS isCorrect FROM Option o " +
+            "WHERE o.question.quiz.id = :quizId AND o.question.isActive = true AND o.isActive = true " +
+            "ORDER BY o.question.id, o.id")
+    List<OptionKeyView> findKeyViewsByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * Retrieves the persisted choice counts of the active options of a question.
+     *
+     * @param questionId the ID of the question
+     * @return the option ID and choice count of each option
+     */
+    @Query("SELECT o.id AS optionId, o.choiceCount AS choiceCount FROM Option o " +
+            "WHERE o.question.id = :questionId AND o.isActive = true")
+    List<OptionChoiceCountView> findChoiceCountsByQuestionId(@Param("questionId") Long questionId);
+
+    /**
+     * Finds the IDs of the question and quiz an option belongs to.
+     *
+     * @param optionId the ID of the option
+     * @return the question and quiz IDs, or empty if the option does not exist
+     */
+    @Query("SELECT o.question.id AS questionId, o.question.quiz.id AS quizId FROM Option o WHERE o.id = :optionId")
+    Optional<OptionOwnerView> findOwnerById(@Param("optionId") Long optionId);
+
     /**
      *
      * @param optionId
@@ -46,4 +81,26 @@ public interface OptionRepository extends JpaRepository<Option, Long> {
     @Modifying
     @Query("UPDATE Option o SET o.isActive = false WHERE o.id = :optionId")
     void deleteById(@Param("optionId") Long optionId);
+
+    /**
+     * Soft deletes, in a single statement, every option of a question.
+     *
+     * @param questionId the ID of the question
+     * @return the number of deactivated options
+     */
+    @Modifying
+    @Query("UPDATE Option o SET o.isActive = false WHERE o.question.id = :questionId AND o.isActive = true")
+    int deactivateByQuestionId(@Param("questionId") Long questionId);
+
+    /**
+     * Soft deletes, in a single statement, every option of the questions of a quiz. It must run before the
+     * questions are deactivated: the soft delete filter may hide inactive questions from the subquery.
+     *
+     * @param quizId the ID of the quiz
+     * @return the number of deactivated options
+     */
+    @Modifying
+    @Query("UPDATE Option o SET o.isActive = false WHERE o.isActive = true " +
+            "AND o.question.id IN (SELECT q.id FROM Question q WHERE q.quiz.id = :quizId)")
+    int deactivateByQuizId(@Param("quizId") Long quizId);
 }
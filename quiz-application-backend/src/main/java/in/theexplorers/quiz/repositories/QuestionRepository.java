@@ -4,13 +4,17 @@ package in.theexplorers.quiz.repositories;
  */
 
 import in.theexplorers.quiz.entities.Question;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This is a repository interface which provides crud operation for {@link Question}.
@@ -30,6 +34,63 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("SELECT q FROM Question q WHERE q.quiz.id = :quizId")
     List<Question> findByQuizId(@Param("quizId") Long quizId);
 
+    /**
+     * Fetch all questions of the given quiz together with their quiz and options in a single query.
+     *
+     * @param quizId The ID of the quiz.
+     * @return A list of questions with their options initialized, ordered by ID.
+     */
+    @Query("SELECT q FROM Question q JOIN FETCH q.quiz LEFT JOIN FETCH q.options WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<Question> findWithOptionsByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * Fetch a question together with its quiz and options in a single query.
+     *
+     * @param questionId The ID of the question.
+     * @return The question with its options initialized.
+     */
+    @EntityGraph(attributePaths = {"quiz", "options"})
+    @Query("SELECT q FROM Question q WHERE q.id = :questionId")
+    Optional<Question> findWithOptionsById(@Param("questionId") Long questionId);
+
+    /**
+     * Fetch the IDs of the page of questions that follows the given ID, in ID order.
+     *
+     * @param afterId The ID after which the page starts.
+     * @param limit   The maximum number of IDs to return.
+     * @return A list of question IDs.
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.id > :afterId ORDER BY q.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Fetch the given questions together with their quiz and options in a single query.
+     *
+     * @param ids The IDs of the questions.
+     * @return A list of questions with their options initialized, ordered by ID.
+     */
+    @Query("SELECT q FROM Question q JOIN FETCH q.quiz LEFT JOIN FETCH q.options WHERE q.id IN :ids ORDER BY q.id")
+    List<Question> findWithOptionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fetch the IDs of all active questions of the given quiz, ordered by ID.
+     *
+     * @param quizId The ID of the quiz.
+     * @return A list of question IDs.
+     */
+    @Query("SELECT q.id FROM Question q WHERE q.quiz.id = :quizId AND q.isActive = true ORDER BY q.id")
+    List<Long> findActiveIdsByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * Finds the ID of the quiz a question belongs to.
+     *
+     * @param questionId The ID of the question.
+     * @return The quiz ID, or empty if the question does not exist.
+     */
+    // Native, so the owner of an inactive question is found too
+    @Query(value = "SELECT quiz_id FROM question WHERE id = :questionId", nativeQuery = true)
+    Optional<Long> findQuizIdById(@Param("questionId") Long questionId);
+
     /**
      *
      * @param questionId
@@ -38,4 +99,14 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("UPDATE Question q SET q.isActive = false WHERE q.id = :questionId")
     void deleteById(@Param("questionId") Long questionId);
 
+    /**
+     * Soft deletes, in a single statement, every question of a quiz.
+     *
+     * @param quizId The ID of the quiz.
+     * @return The number of deactivated questions.
+     */
+    @Modifying
+    @Query("UPDATE Question q SET q.isActive = false WHERE q.quiz.id = :quizId AND q.isActive = true")
+    int deactivateByQuizId(@Param("quizId") Long quizId);
+
 }
@@ -4,14 +4,18 @@ package in.theexplorers.quiz.repositories;
  */
 
 import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.repositories.projections.QuizScheduleView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * This is a repository interface which provides crud operation for {@link Quiz}.
@@ -23,16 +27,77 @@ import java.util.List;
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     /**
-     * Finds all quizzes that have a start time before now, an end time after now,
-     * and are currently inactive.
+     * Activates, in a single statement, every inactive quiz whose time range contains the given time.
      *
      * @param time the current time
-     * @return a list of inactive quizzes that are within the active time range
+     * @return the IDs of the activated quizzes
      */
-    @Query("SELECT q FROM Quiz q WHERE q.startTime <= :time AND q.endTime >= :time AND q.isActive = false")
-    List<Quiz> findAllByStartTimeBeforeAndEndTimeAfterAndIsActiveFalse(@Param("time") LocalDateTime time);
+    @Transactional
+    @Query(value = "UPDATE quiz SET is_active = true, updated_by = 'SYSTEM', updated_on = :time " +
+            "WHERE start_time <= :time AND end_time >= :time AND is_active = false AND is_deleted = false RETURNING id", nativeQuery = true)
+    List<Long> activateQuizzesWithinTimeRange(@Param("time") LocalDateTime time);
 
+    /**
+     * Deactivates, in a single statement, every active quiz whose end time has passed.
+     *
+     * @param time the current time
+     * @return the IDs of the deactivated quizzes
+     */
+    @Transactional
+    @Query(value = "UPDATE quiz SET is_active = false, updated_by = 'SYSTEM', updated_on = :time " +
+            "WHERE end_time < :time AND is_active = true RETURNING id", nativeQuery = true)
+    List<Long> deactivateQuizzesEndedBefore(@Param("time") LocalDateTime time);
+
+    /**
+     * Finds the time ranges of all quizzes that have not ended yet.
+     *
+     * @param time the current time
+     * @return the time ranges of the quizzes
+     */
+    @Query("SELECT q.id AS id, q.startTime AS startTime, q.endTime AS endTime FROM Quiz q WHERE q.endTime >= :time")
+    List<QuizScheduleView> findScheduleViewsEndingAfter(@Param("time") LocalDateTime time);
+
+    /**
+     * Finds the IDs of the active quizzes that have not ended yet.
+     *
+     * @param time the current time
+     * @return the IDs of the live quizzes
+     */
+    @Query("SELECT q.id FROM Quiz q WHERE q.isActive = true AND q.endTime >= :time")
+    List<Long> findLiveIds(@Param("time") LocalDateTime time);
+
+    /**
+     * Finds the page of quizzes that follows the given ID, in ID order.
+     *
+     * @param id    the ID after which the page starts
+     * @param limit the maximum number of quizzes to return
+     * @return the quizzes of the page
+     */
+    List<Quiz> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Finds a quiz that has not been deleted. Unlike {@link #findById(Object)}, which loads deleted
+     * quizzes too, it is a query and so is subject to the soft delete filter.
+     *
+     * @param id the ID of the quiz
+     * @return the quiz, or empty if it does not exist or has been deleted
+     */
+    Optional<Quiz> findByIdAndIsDeletedFalse(Long id);
+
+    /**
+     * Checks whether a quiz exists and has not been deleted.
+     *
+     * @param id the ID of the quiz
+     * @return true if the quiz exists and has not been deleted
+     */
+    boolean existsByIdAndIsDeletedFalse(Long id);
+
+    /**
+     * Soft deletes a quiz. It is also deactivated, and the scheduler never activates it again.
+     *
+     * @param quizId the ID of the quiz
+     */
     @Modifying
-    @Query("UPDATE Quiz q SET q.isActive = false WHERE q.id = :quizId")
+    @Query("UPDATE Quiz q SET q.isDeleted = true, q.isActive = false WHERE q.id = :quizId")
     void deleteById(Long quizId);
 }
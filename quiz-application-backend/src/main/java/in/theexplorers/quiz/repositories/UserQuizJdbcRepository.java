@@ -0,0 +1,189 @@
+package in.theexplorers.quiz.repositories;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.UserQuiz;
+import in.theexplorers.quiz.entities.enums.QuizAttemptStatus;
+import in.theexplorers.quiz.repositories.projections.AttemptProgressView;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This is a JDBC repository for the scores kept in {@link UserQuiz} records.
+ *
+ * <p>Scores are changed with a single PostgreSQL upsert over {@code unnest}ed arrays, so a bulk
+ * submission touching many users costs one round trip. The upsert returns the resulting scores,
+ * which keeps in-memory rankings in step with the database without re-reading it. Each score is returned
+ * with its version, incremented by every change, so a ranking can tell which of two scores is newer.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Repository
+public class UserQuizJdbcRepository {
+    private static final String ADD_SCORES = "INSERT INTO user_quiz " +
+            "(id, user_id, quiz_id, status, score, score_version, started_at, created_by, created_on, updated_on) " +
+            // A new record starts at the clamped change; an existing one is passed the change as is, which
+            // the update adds to its score, since EXCLUDED only holds the values proposed for insertion
+            "SELECT nextval('user_quiz_seq'), d.user_id, d.quiz_id, ?, " +
+            "CASE WHEN uq.id IS NULL THEN GREATEST(d.delta, 0) ELSE d.delta END, 1, ?, ?, ?, ? " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::int[]) AS d(user_id, quiz_id, delta) " +
+            "LEFT JOIN user_quiz uq ON uq.user_id = d.user_id AND uq.quiz_id = d.quiz_id " +
+            "ON CONFLICT (user_id, quiz_id) DO UPDATE SET " +
+            "score = GREATEST(COALESCE(user_quiz.score, 0) + EXCLUDED.score, 0), " +
+            "score_version = user_quiz.score_version + 1, " +
+            "updated_by = EXCLUDED.created_by, updated_on = EXCLUDED.updated_on " +
+            "RETURNING user_id, quiz_id, score, score_version";
+    private static final String SAVE_PROGRESS = "INSERT INTO user_quiz " +
+            "(id, user_id, quiz_id, status, answered_count, started_at, completed_at, created_by, created_on, updated_on) " +
+            "SELECT nextval('user_quiz_seq'), d.user_id, d.quiz_id, d.status, d.answered_count, d.started_at, d.completed_at, ?, ?, ? " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::varchar[], ?::int[], ?::timestamp[], ?::timestamp[]) " +
+            "AS d(user_id, quiz_id, status, answered_count, started_at, completed_at) " +
+            "ON CONFLICT (user_id, quiz_id) DO UPDATE SET " +
+            "status = EXCLUDED.status, answered_count = EXCLUDED.answered_count, " +
+            "started_at = EXCLUDED.started_at, completed_at = EXCLUDED.completed_at, " +
+            "updated_by = EXCLUDED.created_by, updated_on = EXCLUDED.updated_on";
+    private static final String FIND_PROGRESS = "SELECT uq.status, uq.started_at, uq.completed_at, " +
+            "(SELECT COUNT(*) FROM answer a JOIN question q ON q.id = a.question_id " +
+            "WHERE a.user_id = ? AND q.quiz_id = ? AND a.is_active = true) AS answered_count " +
+            "FROM (SELECT 1) AS one LEFT JOIN user_quiz uq ON uq.user_id = ? AND uq.quiz_id = ?";
+    private static final String FIND_SCORES_BY_QUIZ_ID = "SELECT user_id, quiz_id, score, score_version FROM user_quiz " +
+            "WHERE quiz_id = ? AND score IS NOT NULL";
+    private static final String FIND_SCORES_OF_LIVE_QUIZZES = "SELECT uq.user_id, uq.quiz_id, uq.score, uq.score_version FROM user_quiz uq " +
+            "JOIN quiz q ON q.id = uq.quiz_id WHERE q.is_active = true AND q.end_time >= ? AND uq.score IS NOT NULL";
+    private static final RowMapper<UserScoreView> USER_SCORE_MAPPER = (rs, rowNum) ->
+            new UserScoreView(rs.getLong("user_id"), rs.getLong("quiz_id"), rs.getInt("score"), rs.getLong("score_version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserQuizJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the given changes to the scores of users, creating the user-quiz records that do not exist yet.
+     *
+     * @param deltas    the changes to apply, at most one per user and quiz; a score never drops below zero.
+     * @param createdBy the username recorded as creator or updater of the rows.
+     * @return the resulting score and version of every changed record.
+     */
+    public List<UserScoreView> addScores(Collection<UserScoreView> deltas, String createdBy) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        Long[] userIds = new Long[deltas.size()];
+        Long[] quizIds = new Long[deltas.size()];
+        Integer[] changes = new Integer[deltas.size()];
+        int i = 0;
+        for (UserScoreView delta : deltas) {
+            userIds[i] = delta.getUserId();
+            quizIds[i] = delta.getQuizId();
+            changes[i++] = delta.getScore();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ADD_SCORES);
+            ps.setString(1, QuizAttemptStatus.STARTED.name());
+            ps.setTimestamp(2, now);
+            ps.setString(3, createdBy);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.setArray(6, connection.createArrayOf("bigint", userIds));
+            ps.setArray(7, connection.createArrayOf("bigint", quizIds));
+            ps.setArray(8, connection.createArrayOf("integer", changes));
+            return ps;
+        }, USER_SCORE_MAPPER);
+    }
+
+    /**
+     * Writes the progress of attempts in a single upsert, creating the user-quiz records that do not exist yet.
+     * Scores are left untouched.
+     *
+     * @param attempts  the progress to store, at most one per user and quiz.
+     * @param updatedBy the username recorded as creator or updater of the rows.
+     */
+    public void saveProgress(Collection<AttemptProgressView> attempts, String updatedBy) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        int size = attempts.size();
+        Long[] userIds = new Long[size];
+        Long[] quizIds = new Long[size];
+        String[] statuses = new String[size];
+        Integer[] answeredCounts = new Integer[size];
+        Timestamp[] startedAts = new Timestamp[size];
+        Timestamp[] completedAts = new Timestamp[size];
+        int i = 0;
+        for (AttemptProgressView attempt : attempts) {
+            userIds[i] = attempt.getUserId();
+            quizIds[i] = attempt.getQuizId();
+            statuses[i] = attempt.getStatus().name();
+            answeredCounts[i] = attempt.getAnsweredCount();
+            startedAts[i] = attempt.getStartedAt() == null ? null : Timestamp.valueOf(attempt.getStartedAt());
+            completedAts[i++] = attempt.getCompletedAt() == null ? null : Timestamp.valueOf(attempt.getCompletedAt());
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SAVE_PROGRESS);
+            ps.setString(1, updatedBy);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setArray(4, connection.createArrayOf("bigint", userIds));
+            ps.setArray(5, connection.createArrayOf("bigint", quizIds));
+            ps.setArray(6, connection.createArrayOf("varchar", statuses));
+            ps.setArray(7, connection.createArrayOf("integer", answeredCounts));
+            ps.setArray(8, connection.createArrayOf("timestamp", startedAts));
+            ps.setArray(9, connection.createArrayOf("timestamp", completedAts));
+            return ps;
+        });
+    }
+
+    /**
+     * Retrieves the progress of a user in a quiz. The answered count is counted from the active answers,
+     * so it is exact even for attempts whose progress was never stored.
+     *
+     * @param userId the ID of the user.
+     * @param quizId the ID of the quiz.
+     * @return the progress; the status is null when no user-quiz record exists.
+     */
+    public AttemptProgressView findProgress(Long userId, Long quizId) {
+        return jdbcTemplate.queryForObject(FIND_PROGRESS, (rs, rowNum) -> {
+            String status = rs.getString("status");
+            Timestamp startedAt = rs.getTimestamp("started_at");
+            Timestamp completedAt = rs.getTimestamp("completed_at");
+            return new AttemptProgressView(userId, quizId, status == null ? null : QuizAttemptStatus.valueOf(status),
+                    rs.getInt("answered_count"), startedAt == null ? null : startedAt.toLocalDateTime(),
+                    completedAt == null ? null : completedAt.toLocalDateTime());
+        }, userId, quizId, userId, quizId);
+    }
+
+    /**
+     * Retrieves the scores of all users of a quiz.
+     *
+     * @param quizId the ID of the quiz.
+     * @return the scores, in no particular order.
+     */
+    public List<UserScoreView> findScoresByQuizId(Long quizId) {
+        return jdbcTemplate.query(FIND_SCORES_BY_QUIZ_ID, USER_SCORE_MAPPER, quizId);
+    }
+
+    /**
+     * Retrieves the scores of all users of the quizzes that are active and have not ended.
+     *
+     * @param time the current time.
+     * @return the scores, in no particular order.
+     */
+    public List<UserScoreView> findScoresOfLiveQuizzes(LocalDateTime time) {
+        return jdbcTemplate.query(FIND_SCORES_OF_LIVE_QUIZZES, USER_SCORE_MAPPER, Timestamp.valueOf(time));
+    }
+}
@@ -4,9 +4,12 @@ package in.theexplorers.quiz.repositories;
  */
 
 import in.theexplorers.quiz.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * This is a repository interface which provides crud operation for {@link User}.
  *
@@ -16,4 +19,12 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Finds the page of users that follows the given ID, in ID order.
+     *
+     * @param id    the ID after which the page starts
+     * @param limit the maximum number of users to return
+     * @return the users of the page
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,56 @@
+package in.theexplorers.quiz.repositories;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.WebhookDelivery;
+import in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This is a repository interface which provides CRUD operations for {@link WebhookDelivery}.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+    /**
+     * Find and lock the deliveries that are due, oldest first.
+     *
+     * <p>Pending deliveries whose retry time has passed are due, as are in-flight deliveries whose
+     * claim has expired because the worker holding them died. Rows locked by another instance are
+     * skipped ({@code FOR UPDATE SKIP LOCKED}), so several instances can poll the outbox at once.</p>
+     *
+     * @param now   the current time.
+     * @param limit the maximum number of deliveries to return.
+     * @return the due deliveries.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM WebhookDelivery d WHERE d.status IN " +
+            "(in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus.PENDING, " +
+            "in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus.IN_FLIGHT) " +
+            "AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<WebhookDelivery> findDueForUpdate(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Count the deliveries in the given status.
+     *
+     * @param status the status.
+     * @return the number of deliveries.
+     */
+    long countByStatus(WebhookDeliveryStatus status);
+}
@@ -0,0 +1,32 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Value;
+
+/**
+ * Outcome of an answer upsert, together with the state of the answer before it.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Value
+public class AnswerUpsertView {
+    /**
+     * ID of the stored answer.
+     */
+    long id;
+    /**
+     * Whether the answer was written; false when the request repeated the idempotency key of the stored answer.
+     */
+    boolean applied;
+    /**
+     * Whether an answer of the user to the question existed before.
+     */
+    boolean existed;
+    Long previousOptionId;
+    Boolean previousIsCorrect;
+    Boolean previousIsActive;
+}
@@ -0,0 +1,26 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.enums.QuizAttemptStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a user in a quiz, as stored in {@code user_quiz}.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Value
+public class AttemptProgressView {
+    long userId;
+    long quizId;
+    QuizAttemptStatus status;
+    int answeredCount;
+    LocalDateTime startedAt;
+    LocalDateTime completedAt;
+}
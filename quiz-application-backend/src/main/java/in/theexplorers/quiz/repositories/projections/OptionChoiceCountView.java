@@ -0,0 +1,18 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+/**
+ * Projection of the persisted choice count of an option.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface OptionChoiceCountView {
+
+    Long getOptionId();
+
+    Long getChoiceCount();
+}
@@ -0,0 +1,32 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+/**
+ * Lightweight projection of an {@link in.theexplorers.quiz.entities.Option} used to build answer keys.
+ *
+ * <p>Only the identifiers and the correctness flag are selected, so no option or question
+ * entity is hydrated while a key is being built.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface OptionKeyView {
+
+    /**
+     * @return the ID of the question the option belongs to.
+     */
+    Long getQuestionId();
+
+    /**
+     * @return the ID of the option.
+     */
+    Long getOptionId();
+
+    /**
+     * @return whether the option is a correct answer.
+     */
+    Boolean getIsCorrect();
+}
@@ -0,0 +1,22 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the time range of a quiz, used to schedule its activation and deactivation.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface QuizScheduleView {
+
+    Long getId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
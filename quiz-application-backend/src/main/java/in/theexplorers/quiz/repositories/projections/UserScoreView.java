@@ -0,0 +1,31 @@
+package in.theexplorers.quiz.repositories.projections;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Score of a user in a quiz, as stored in {@code user_quiz.score}.
+ *
+ * <p>When passed to a write, {@code score} is the change to apply rather than the new value, and
+ * {@code version} is unused. When read, {@code version} is {@code user_quiz.score_version}, which
+ * every change increments.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Value
+@AllArgsConstructor
+public class UserScoreView {
+    long userId;
+    long quizId;
+    int score;
+    long version;
+
+    public UserScoreView(long userId, long quizId, int score) {
+        this(userId, quizId, score, 0);
+    }
+}
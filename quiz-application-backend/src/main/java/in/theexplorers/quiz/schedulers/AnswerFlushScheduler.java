@@ -0,0 +1,93 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.caches.AnswerWriteBuffer;
+import in.theexplorers.quiz.configurations.AnswerBufferProperties;
+import in.theexplorers.quiz.services.AnswerService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler storing the answers accepted by the write-behind buffer.
+ *
+ * <p>Flushes run one at a time, so the buffer has a single consumer. A flush stores the answers that
+ * were waiting when it started. Flushes run on a thread of their own rather than on the shared
+ * {@code @Scheduled} thread, so their interval is not stretched by slower tasks such as webhook
+ * dispatch, and a long flush delays no other task. On shutdown the buffer is flushed until it is
+ * empty.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class AnswerFlushScheduler {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final AnswerService answerService;
+    private final AnswerWriteBuffer answerWriteBuffer;
+    private final Duration flushInterval;
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("answer-flush-"));
+
+    public AnswerFlushScheduler(AnswerService answerService, AnswerWriteBuffer answerWriteBuffer, AnswerBufferProperties answerBufferProperties) {
+        this.answerService = answerService;
+        this.answerWriteBuffer = answerWriteBuffer;
+        this.flushInterval = answerBufferProperties.getFlushInterval();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (answerWriteBuffer.isEnabled()) {
+            flushExecutor.scheduleWithFixedDelay(this::flushAnswers, flushInterval.toNanos(), flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public synchronized void flushAnswers() {
+        if (!answerWriteBuffer.isEnabled()) {
+            return;
+        }
+        int pending = answerWriteBuffer.size();
+        try {
+            while (pending > 0) {
+                int flushed = answerService.flushBufferedAnswers();
+                if (flushed == 0) {
+                    // The next answer is claimed but not published yet
+                    return;
+                }
+                pending -= flushed;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to store {} buffered answers, retrying on next flush", answerWriteBuffer.size(), e);
+        } catch (RuntimeException e) {
+            // An exception escaping a periodic task would cancel every later flush
+            log.error("Failed to flush {} buffered answers, retrying on next flush", answerWriteBuffer.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        // Lets a running flush finish rather than interrupting its statement
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Answer flush still running after {}, flushing on shutdown anyway", SHUTDOWN_TIMEOUT);
+        }
+        flushAnswers();
+        if (answerWriteBuffer.size() > 0) {
+            log.warn("{} buffered answers are left in the journal and will be replayed on startup", answerWriteBuffer.size());
+        }
+    }
+}
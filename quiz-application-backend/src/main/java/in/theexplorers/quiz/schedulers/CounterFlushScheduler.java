@@ -0,0 +1,38 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.caches.AttemptTracker;
+import in.theexplorers.quiz.caches.ChoiceCounters;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scheduler persisting the live option choice counters and attempt progress.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Service
+public class CounterFlushScheduler {
+
+    private final ChoiceCounters choiceCounters;
+    private final AttemptTracker attemptTracker;
+
+    public CounterFlushScheduler(ChoiceCounters choiceCounters, AttemptTracker attemptTracker) {
+        this.choiceCounters = choiceCounters;
+        this.attemptTracker = attemptTracker;
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.stats.flush-interval:PT5S}")
+    public void flushChoiceCounts() {
+        choiceCounters.flush();
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.attempts.flush-interval:PT5S}")
+    public void flushAttemptProgress() {
+        attemptTracker.flush();
+    }
+}
@@ -4,17 +4,25 @@ package in.theexplorers.quiz.schedulers;
  */
 
 
+import in.theexplorers.quiz.services.QuizEventService;
 import in.theexplorers.quiz.services.QuizService;
-import in.theexplorers.quiz.services.WebhookService;
-import in.theexplorers.quiz.utilities.converters.QuizConverter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 /**
- * REST Controller for managing quizzes in the quiz application.
+ * Scheduler switching quizzes on and off according to their time range.
+ *
+ * <p>Start and end times are kept in a {@link QuizTransitionWheel}, loaded at startup and updated
+ * when quizzes are created, updated or deleted. The wheel is checked every 250 ms and the database
+ * is only updated when a transition is due, so quizzes go live well within a second of their start time.
+ * A low-frequency reconciliation picks up changes the wheel missed, e.g. from other instances.</p>
  *
- * <p>Provides CRUD operations for quizzes and their associated question, answer as well as user interactions.</p>
+ * <p>It also sends the periodic heartbeats of the quiz event streams.</p>
  *
  * @author Md Wasif Ali
  * @version 1.0.0
@@ -23,25 +31,40 @@ import org.springframework.stereotype.Service;
 @Service
 public class QuizScheduler {
 
-    private final WebhookService webhookService;
     private final QuizService quizService;
-    private final QuizConverter quizConverter;
+    private final QuizTransitionWheel quizTransitionWheel;
+    private final QuizEventService quizEventService;
 
-    public QuizScheduler(WebhookService webhookService, QuizService quizService, QuizConverter quizConverter) {
-        this.webhookService = webhookService;
+    public QuizScheduler(QuizService quizService, QuizTransitionWheel quizTransitionWheel, QuizEventService quizEventService) {
         this.quizService = quizService;
-        this.quizConverter = quizConverter;
+        this.quizTransitionWheel = quizTransitionWheel;
+        this.quizEventService = quizEventService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadQuizTransitions() {
+        quizService.reconcileQuizTransitions();
     }
 
-    @Scheduled(fixedRate = 60000) // Runs every 1 minute
-    public void activateQuizzes() {
-        quizService.findInactiveQuizzesWithinTimeRange().forEach(quiz -> {
-            // Update quiz status
-            quiz.setActive(true);
-            quizService.updateQuiz(quiz.getId(), quizConverter.quizDtoToQuizRequestDto(quiz));
+    @Scheduled(fixedRate = 250) // Runs every 250 ms, matching the wheel tick
+    public void fireDueTransitions() {
+        List<QuizTransition> transitions = quizTransitionWheel.advance();
+        if (transitions.stream().anyMatch(QuizTransition::isActivation)) {
+            quizService.activateDueQuizzes();
+        }
+        if (transitions.stream().anyMatch(transition -> !transition.isActivation())) {
+            quizService.deactivateEndedQuizzes();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.scheduler.reconcile-interval:PT10M}",
+            initialDelayString = "${quiz.scheduler.reconcile-interval:PT10M}")
+    public void reconcileQuizTransitions() {
+        quizService.reconcileQuizTransitions();
+    }
 
-            // Trigger webhook
-            webhookService.triggerQuizActivationWebhook(quiz.getId());
-        });
+    @Scheduled(fixedRateString = "${quiz.events.heartbeat-interval:PT15S}")
+    public void sendEventHeartbeats() {
+        quizEventService.sendHeartbeats();
     }
 }
@@ -0,0 +1,28 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import lombok.Value;
+
+/**
+ * Key of a scheduled quiz transition: the activation at the start time of a quiz or its
+ * deactivation at the end time.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Value
+public class QuizTransition {
+    Long quizId;
+    boolean activation;
+
+    public static QuizTransition start(Long quizId) {
+        return new QuizTransition(quizId, true);
+    }
+
+    public static QuizTransition end(Long quizId) {
+        return new QuizTransition(quizId, false);
+    }
+}
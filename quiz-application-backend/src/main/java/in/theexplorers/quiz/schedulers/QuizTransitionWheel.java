@@ -0,0 +1,89 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.repositories.projections.QuizScheduleView;
+import in.theexplorers.quiz.utilities.TimingWheel;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * In-memory schedule of the upcoming start and end times of quizzes.
+ *
+ * <p>Quiz times are stored as local date-times and compared with {@link LocalDateTime#now()} by the
+ * activation queries, so they are converted using the default time zone. A deactivation is due one
+ * millisecond after the end time, since a quiz is still live at its end time.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Component
+public class QuizTransitionWheel {
+    static final Duration TICK = Duration.ofMillis(250);
+
+    private final TimingWheel<QuizTransition> timingWheel = new TimingWheel<>(TICK, System.currentTimeMillis());
+
+    /**
+     * Schedules the transitions of a quiz once the current transaction commits, replacing any
+     * previous schedule of the quiz.
+     *
+     * @param quizId    the ID of the quiz.
+     * @param startTime the start time of the quiz.
+     * @param endTime   the end time of the quiz.
+     */
+    public void schedule(Long quizId, LocalDateTime startTime, LocalDateTime endTime) {
+        TransactionUtility.runAfterCommit(() -> scheduleNow(quizId, startTime, endTime, true));
+    }
+
+    /**
+     * Cancels the transitions of a quiz once the current transaction commits.
+     *
+     * @param quizId the ID of the quiz.
+     */
+    public void cancel(Long quizId) {
+        TransactionUtility.runAfterCommit(() -> {
+            timingWheel.cancel(QuizTransition.start(quizId));
+            timingWheel.cancel(QuizTransition.end(quizId));
+        });
+    }
+
+    /**
+     * Schedules the transitions of the given quizzes. Start times that have already passed are not
+     * scheduled; the caller activates those quizzes itself.
+     *
+     * @param quizzes the time ranges of the quizzes.
+     */
+    public void scheduleAll(List<QuizScheduleView> quizzes) {
+        quizzes.forEach(quiz -> scheduleNow(quiz.getId(), quiz.getStartTime(), quiz.getEndTime(), false));
+    }
+
+    /**
+     * Returns the transitions that are due.
+     *
+     * @return the due transitions; empty if none.
+     */
+    public List<QuizTransition> advance() {
+        return timingWheel.advance(System.currentTimeMillis());
+    }
+
+    private void scheduleNow(Long quizId, LocalDateTime startTime, LocalDateTime endTime, boolean includePastStart) {
+        long startMillis = toEpochMillis(startTime);
+        if (includePastStart || startMillis > System.currentTimeMillis()) {
+            timingWheel.schedule(QuizTransition.start(quizId), startMillis);
+        } else {
+            timingWheel.cancel(QuizTransition.start(quizId));
+        }
+        timingWheel.schedule(QuizTransition.end(quizId), toEpochMillis(endTime) + 1);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
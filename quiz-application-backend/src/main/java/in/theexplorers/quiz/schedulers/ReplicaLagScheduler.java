@@ -0,0 +1,33 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.configurations.ReadReplicaProperties;
+import in.theexplorers.quiz.configurations.ReadReplicaRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scheduler checking the replication lag of the read replicas.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Service
+public class ReplicaLagScheduler {
+
+    private final ReadReplicaRoutingDataSource readReplicaRoutingDataSource;
+    private final ReadReplicaProperties readReplicaProperties;
+
+    public ReplicaLagScheduler(ReadReplicaRoutingDataSource readReplicaRoutingDataSource, ReadReplicaProperties readReplicaProperties) {
+        this.readReplicaRoutingDataSource = readReplicaRoutingDataSource;
+        this.readReplicaProperties = readReplicaProperties;
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.datasource.lag-check-interval:PT5S}")
+    public void checkReplicaLag() {
+        readReplicaRoutingDataSource.checkReplicas(readReplicaProperties.getMaxLag());
+    }
+}
@@ -0,0 +1,162 @@
+package in.theexplorers.quiz.schedulers;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.configurations.WebhookProperties;
+import in.theexplorers.quiz.entities.WebhookDelivery;
+import in.theexplorers.quiz.services.WebhookService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scheduler sending the deliveries of the webhook outbox.
+ *
+ * <p>Every poll claims as many due deliveries as there is room for on the worker pool and hands them
+ * to it, so the poller never waits on a receiver. At most {@code perEndpointConcurrency} requests are
+ * in flight per receiver; deliveries over that limit are put back in the outbox for a short while, so
+ * one slow receiver cannot occupy every worker.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class WebhookDispatcher {
+    static final String EVENT_HEADER = "X-Webhook-Event";
+    static final String DELIVERY_HEADER = "X-Webhook-Delivery";
+
+    private final WebhookService webhookService;
+    private final RestTemplate restTemplate;
+    private final ExecutorService webhookExecutor;
+    private final WebhookProperties webhookProperties;
+    private final Semaphore capacity;
+    private final Map<String, Semaphore> endpointPermits = new ConcurrentHashMap<>();
+
+    public WebhookDispatcher(WebhookService webhookService, RestTemplate restTemplate,
+                             @Qualifier("webhookExecutor") ExecutorService webhookExecutor, WebhookProperties webhookProperties) {
+        this.webhookService = webhookService;
+        this.restTemplate = restTemplate;
+        this.webhookExecutor = webhookExecutor;
+        this.webhookProperties = webhookProperties;
+        this.capacity = new Semaphore(webhookProperties.getWorkers() + webhookProperties.getQueueCapacity());
+    }
+
+    /**
+     * Claims the due deliveries and hands them to the worker pool.
+     */
+    @Scheduled(fixedDelayString = "${quiz.webhooks.poll-interval:PT1S}")
+    public void dispatchDueDeliveries() {
+        int limit = Math.min(webhookProperties.getBatchSize(), capacity.availablePermits());
+        if (limit == 0) {
+            return;
+        }
+        List<WebhookDelivery> deliveries = webhookService.claimDueDeliveries(limit);
+        deliveries.forEach(this::dispatch);
+    }
+
+    /**
+     * Hands a claimed delivery to the worker pool, or defers it when its receiver is at its limit.
+     *
+     * @param delivery the claimed delivery.
+     */
+    void dispatch(WebhookDelivery delivery) {
+        Semaphore endpointPermit = endpointPermits.computeIfAbsent(endpointKey(delivery.getEndpoint()),
+                key -> new Semaphore(webhookProperties.getPerEndpointConcurrency()));
+        if (!endpointPermit.tryAcquire()) {
+            webhookService.deferDelivery(delivery.getId());
+            return;
+        }
+        if (!capacity.tryAcquire()) {
+            endpointPermit.release();
+            webhookService.deferDelivery(delivery.getId());
+            return;
+        }
+        try {
+            webhookExecutor.execute(() -> {
+                try {
+                    send(delivery);
+                } finally {
+                    endpointPermit.release();
+                    capacity.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            endpointPermit.release();
+            capacity.release();
+            webhookService.deferDelivery(delivery.getId());
+        }
+    }
+
+    private void send(WebhookDelivery delivery) {
+        long start = System.nanoTime();
+        String error = null;
+        boolean retryable = true;
+        try {
+            RequestEntity<String> request = RequestEntity.post(URI.create(delivery.getEndpoint()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(EVENT_HEADER, delivery.getEventType())
+                    .header(DELIVERY_HEADER, String.valueOf(delivery.getId()))
+                    .body(delivery.getPayload());
+            restTemplate.exchange(request, Void.class);
+        } catch (HttpStatusCodeException e) {
+            error = "HTTP " + e.getStatusCode().value();
+            retryable = isRetryable(e);
+        } catch (RestClientException e) {
+            // Connection refused, timeouts and other I/O errors
+            error = e.getMessage();
+        } catch (IllegalArgumentException e) {
+            error = "Invalid endpoint: " + e.getMessage();
+            retryable = false;
+        }
+        Duration latency = elapsedSince(start);
+        try {
+            if (error == null) {
+                webhookService.markDelivered(delivery.getId(), latency);
+            } else {
+                webhookService.markAttemptFailed(delivery.getId(), error, retryable, latency);
+            }
+        } catch (RuntimeException e) {
+            // The outcome could not be recorded; the claim expires and the delivery is sent again
+            log.error("Failed to record outcome of webhook delivery ID: {}", delivery.getId(), e);
+        }
+    }
+
+    private static boolean isRetryable(HttpStatusCodeException e) {
+        int status = e.getStatusCode().value();
+        return e.getStatusCode().is5xxServerError()
+                || status == HttpStatus.REQUEST_TIMEOUT.value()
+                || status == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static Duration elapsedSince(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static String endpointKey(String endpoint) {
+        try {
+            URI uri = URI.create(endpoint);
+            return uri.getHost() == null ? endpoint : uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return endpoint;
+        }
+    }
+}
@@ -4,8 +4,12 @@ package in.theexplorers.quiz.services;
  */
 
 import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.dtos.response.BulkAnswerResultDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.entities.Answer;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -30,14 +34,65 @@ import java.util.List;
 public interface AnswerService {
     AnswerDto submitAnswer(AnswerDto answerDto);
 
+    /**
+     * Persists many answers in one operation using batched inserts.
+     *
+     * <p>Users, questions and options are referenced by ID and are not loaded. When the same user answers
+     * the same question more than once in a request, the last answer wins.</p>
+     *
+     * @param answers The answers to persist.
+     * @return A summary of the submission.
+     */
+    BulkAnswerResultDto submitAnswers(List<AnswerDto> answers);
+
+    /**
+     * Stores the answer of a user to a question, replacing the answer the user already gave to it.
+     *
+     * <p>When the idempotency key equals the key of the request that stored the current answer, the
+     * request is treated as a retry and the stored answer is returned unchanged.</p>
+     *
+     * @param answerDto      The answer to store.
+     * @param idempotencyKey The client supplied key of the request, or null.
+     * @return The stored answer.
+     */
+    AnswerDto upsertAnswer(AnswerDto answerDto, String idempotencyKey);
+
+    /**
+     * Stores the oldest answers waiting in the write-behind buffer.
+     *
+     * @return The number of answers taken from the buffer; zero when it is empty.
+     */
+    int flushBufferedAnswers();
+
     List<AnswerDto> getAnswersByUserIdAndQuizId(Long userId, Long quizId);
 
     /**
-     * Retrieves all answers from the database.
+     * Retrieves one page of answers in ID order.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size   Maximum number of answers in the page.
+     * @return The page of answers.
+     */
+    CursorPageDto<AnswerDto> getAnswers(String cursor, int size);
+
+    /**
+     * Writes all answers to the given stream as newline-delimited JSON, one answer per line,
+     * as they are read from the database. Memory use does not depend on the number of answers.
+     *
+     * @param outputStream The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    void streamAnswers(OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes the active answers of a quiz, with the score of their user, to the given stream as CSV.
+     * Memory use does not depend on the number of answers.
      *
-     * @return A list of AnswerDto objects representing all answers.
+     * @param quizId       The ID of the quiz.
+     * @param outputStream The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
      */
-    List<AnswerDto> getAllAnswers();
+    void exportQuizResults(Long quizId, OutputStream outputStream) throws IOException;
 
     /**
      * Retrieves an answer by its ID.
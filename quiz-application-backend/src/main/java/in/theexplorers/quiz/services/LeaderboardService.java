@@ -0,0 +1,46 @@
+package in.theexplorers.quiz.services;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
+import in.theexplorers.quiz.dtos.response.LeaderboardEntryDto;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
+
+import java.util.Collection;
+
+/**
+ * Service interface for the scores of users and the leaderboards of quizzes.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface LeaderboardService {
+
+    /**
+     * Adds changes to the scores of users, in the current transaction.
+     *
+     * @param deltas The changes to apply, at most one per user and quiz.
+     */
+    void addToScores(Collection<UserScoreView> deltas);
+
+    /**
+     * Retrieves one page of the leaderboard of a quiz, best score first.
+     *
+     * @param quizId The ID of the quiz.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size   Maximum number of entries in the page.
+     * @return The page of the leaderboard.
+     */
+    CursorPageDto<LeaderboardEntryDto> getLeaderboard(Long quizId, String cursor, int size);
+
+    /**
+     * Retrieves the standing of a user on the leaderboard of a quiz.
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The standing of the user.
+     */
+    LeaderboardEntryDto getStanding(Long quizId, Long userId);
+}
@@ -7,7 +7,14 @@ import in.theexplorers.quiz.dtos.response.OptionResponseDto;
 import java.util.List;
 
 public interface OptionService {
-    List<OptionResponseDto> getOptionsByQuestionId(Long questionId);
+    /**
+     * Retrieves the options of a question.
+     *
+     * @param questionId      the ID of the question.
+     * @param includeInactive whether deleted options are included.
+     * @return the options of the question.
+     */
+    List<OptionResponseDto> getOptionsByQuestionId(Long questionId, boolean includeInactive);
 
     OptionResponseDto addOption(Long questionId, OptionRequestDto optionRequestDto);
 
@@ -0,0 +1,46 @@
+package in.theexplorers.quiz.services;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service interface for importing question banks into quizzes.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface QuestionImportService {
+    String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Formats of the question banks that can be imported.
+     */
+    enum Format {
+        /**
+         * A JSON array of questions, each shaped like a question creation request.
+         */
+        JSON,
+        /**
+         * A CSV file with a header row and one question per row: {@code text,correctOption,option1,option2,...},
+         * where {@code correctOption} is the 1-based position of the correct option.
+         */
+        CSV
+    }
+
+    /**
+     * Reads a question bank and adds its valid questions to a quiz, writing the progress to the given
+     * stream as newline-delimited JSON.
+     *
+     * @param quizId The ID of the quiz.
+     * @param format The format of the question bank.
+     * @param input  The question bank; it is not closed.
+     * @param output The stream to write the progress to; it is flushed but not closed.
+     * @throws IOException If reading the question bank or writing the progress fails.
+     */
+    void importQuestions(Long quizId, Format format, InputStream input, OutputStream output) throws IOException;
+}
@@ -1,16 +1,27 @@
 package in.theexplorers.quiz.services;
 
+import in.theexplorers.quiz.caches.RenderedPayload;
 import in.theexplorers.quiz.dtos.common.AnswerDto;
 import in.theexplorers.quiz.dtos.common.OptionDto;
 import in.theexplorers.quiz.dtos.common.QuestionDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.dtos.response.QuestionStatsDto;
 import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
 
 import java.util.List;
 
 public interface QuestionService {
-    List<QuestionResponseDto> getAllQuestions();
+    /**
+     * Retrieves one page of questions, with their options, in ID order.
+     *
+     * @param cursor          Cursor returned with the previous page, or null for the first page.
+     * @param size            Maximum number of questions in the page.
+     * @param includeInactive Whether deleted questions and options are included.
+     * @return The page of questions.
+     */
+    CursorPageDto<QuestionResponseDto> getQuestions(String cursor, int size, boolean includeInactive);
 
     QuestionResponseDto getQuestionById(Long questionId);
 
@@ -54,6 +65,15 @@ public interface QuestionService {
      */
     List<AnswerDto> getAnswersForQuestion(Long questionId);
 
+    /**
+     * Retrieves the number of answers choosing each option of a question.
+     *
+     * @param questionId the ID of the question.
+     * @return the histogram of the chosen options.
+     * @throws ResourceNotFoundException if the question with the given ID is not found.
+     */
+    QuestionStatsDto getQuestionStats(Long questionId);
+
     /**
      * Retrieve all questions for a given quiz ID.
      *
@@ -61,4 +81,12 @@ public interface QuestionService {
      * @return List of QuestionDto objects.
      */
     List<QuestionResponseDto> getQuestionsByQuizId(Long quizId);
+
+    /**
+     * Retrieve all questions for a given quiz ID as a serialised response with an ETag.
+     *
+     * @param quizId ID of the quiz.
+     * @return the rendered response.
+     */
+    RenderedPayload getQuizQuestionsPayload(Long quizId);
 }
@@ -0,0 +1,56 @@
+package in.theexplorers.quiz.services;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+/**
+ * Service interface for the Server-Sent Events streams of quizzes.
+ *
+ * <p>Clients subscribe to the stream of a quiz and are pushed its status whenever it changes,
+ * instead of polling the quiz.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface QuizEventService {
+
+    /**
+     * Opens an event stream for a quiz. Its first event is the current status of the quiz, read from
+     * the primary after the stream is registered, so no later change is missed or overtaken.
+     *
+     * @param quizId ID of the quiz.
+     * @return the emitter of the stream.
+     */
+    SseEmitter subscribe(Long quizId);
+
+    /**
+     * Pushes the new status of quizzes to their streams once the current transaction commits.
+     *
+     * @param quizIds  IDs of the quizzes whose status changed.
+     * @param isActive whether the quizzes are now live.
+     */
+    void publishStatus(Collection<Long> quizIds, boolean isActive);
+
+    /**
+     * Completes the streams of a quiz once the current transaction commits.
+     *
+     * @param quizId ID of the quiz.
+     */
+    void close(Long quizId);
+
+    /**
+     * Sends a heartbeat comment to every open stream, so idle connections are kept open by proxies
+     * and dead ones are detected and released.
+     */
+    void sendHeartbeats();
+
+    /**
+     * @return the number of open streams.
+     */
+    int getSubscriberCount();
+}
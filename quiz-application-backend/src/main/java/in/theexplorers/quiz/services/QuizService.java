@@ -1,20 +1,39 @@
 package in.theexplorers.quiz.services;
 
+import in.theexplorers.quiz.caches.RenderedPayload;
 import in.theexplorers.quiz.dtos.common.QuestionDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
 import in.theexplorers.quiz.dtos.request.QuizRequestDto;
 import in.theexplorers.quiz.dtos.request.QuizSubmissionDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
 import in.theexplorers.quiz.dtos.response.QuizDto;
 import in.theexplorers.quiz.dtos.response.QuizResultDto;
+import in.theexplorers.quiz.dtos.response.QuizStatusDto;
 
 import java.util.List;
 
 public interface QuizService {
-    List<QuizDto> getAllQuizzes();
+    /**
+     * Retrieves one page of quizzes in ID order.
+     *
+     * @param cursor          Cursor returned with the previous page, or null for the first page.
+     * @param size            Maximum number of quizzes in the page.
+     * @param includeInactive Whether deleted quizzes are included.
+     * @return The page of quizzes.
+     */
+    CursorPageDto<QuizDto> getQuizzes(String cursor, int size, boolean includeInactive);
 
     QuizDto getQuizById(Long quizId);
 
+    /**
+     * Retrieves the details of a quiz as a serialised response with an ETag.
+     *
+     * @param quizId The ID of the quiz.
+     * @return The rendered response.
+     */
+    RenderedPayload getQuizPayload(Long quizId);
+
     QuizDto createQuiz(QuizRequestDto quizRequestDto);
 
     /**
@@ -38,7 +57,60 @@ public interface QuizService {
      */
     QuestionResponseDto addQuestionToQuiz(Long quizId, QuestionRequestDto questionRequestDto);
 
+    /**
+     * Adds many validated questions to a quiz in one transaction, using batched inserts.
+     *
+     * @param quizId    The ID of the quiz.
+     * @param questions The questions to add.
+     * @return The number of added questions.
+     */
+    int addQuestionsToQuiz(Long quizId, List<QuestionRequestDto> questions);
+
+    /**
+     * Grades a submission against the answer key of the quiz.
+     *
+     * @param quizId     The ID of the quiz.
+     * @param submission The answers submitted by the user.
+     * @return The result of the submission.
+     */
     QuizResultDto evaluateQuiz(Long quizId, QuizSubmissionDto submission);
 
-    List<QuizDto> findInactiveQuizzesWithinTimeRange();
+    /**
+     * Computes the result of a user from the answers stored for a quiz.
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The result of the user.
+     */
+    QuizResultDto getResult(Long quizId, Long userId);
+
+    /**
+     * Retrieves the progress of a user in a quiz.
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The status of the attempt of the user.
+     */
+    QuizStatusDto getQuizStatus(Long quizId, Long userId);
+
+    /**
+     * Activates every inactive quiz whose time range has started and enqueues its activation webhook.
+     *
+     * @return The IDs of the activated quizzes.
+     */
+    List<Long> activateDueQuizzes();
+
+    /**
+     * Deactivates every active quiz whose end time has passed.
+     *
+     * @return The IDs of the deactivated quizzes.
+     */
+    List<Long> deactivateEndedQuizzes();
+
+    /**
+     * Brings the quiz states and the in-memory transition schedule in line with the database:
+     * applies every transition that is due and schedules the upcoming ones, including quizzes
+     * created or changed by other instances.
+     */
+    void reconcileQuizTransitions();
 }
@@ -1,11 +1,17 @@
 package in.theexplorers.quiz.services;
 
 import in.theexplorers.quiz.dtos.common.UserDto;
-
-import java.util.List;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 
 public interface UserService {
-    List<UserDto> getAllUsers();
+    /**
+     * Retrieves one page of users in ID order.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size   Maximum number of users in the page.
+     * @return The page of users.
+     */
+    CursorPageDto<UserDto> getUsers(String cursor, int size);
 
     UserDto getUserById(Long userId);
 
@@ -1,5 +1,70 @@
 package in.theexplorers.quiz.services;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
 
+import in.theexplorers.quiz.dtos.response.WebhookMetricsDto;
+import in.theexplorers.quiz.entities.WebhookDelivery;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Service interface for the webhook outbox.
+ *
+ * <p>Webhooks are not sent by the caller: they are written to the outbox and sent later by the
+ * webhook dispatcher, which reports the outcome of every attempt back to this service.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 public interface WebhookService {
+
+    /**
+     * Enqueues a quiz activation webhook in the current transaction.
+     *
+     * @param quizId ID of the activated quiz.
+     */
     void triggerQuizActivationWebhook(Long quizId);
+
+    /**
+     * Claims the due deliveries so that no other poller sends them.
+     *
+     * @param limit maximum number of deliveries to claim.
+     * @return the claimed deliveries.
+     */
+    List<WebhookDelivery> claimDueDeliveries(int limit);
+
+    /**
+     * Records a delivery acknowledged by its receiver.
+     *
+     * @param deliveryId ID of the delivery.
+     * @param latency    duration of the attempt.
+     */
+    void markDelivered(Long deliveryId, Duration latency);
+
+    /**
+     * Records a failed attempt, scheduling a retry with exponential backoff or giving the delivery up.
+     *
+     * @param deliveryId ID of the delivery.
+     * @param error      description of the failure.
+     * @param retryable  whether the failure may succeed on a later attempt.
+     * @param latency    duration of the attempt.
+     */
+    void markAttemptFailed(Long deliveryId, String error, boolean retryable, Duration latency);
+
+    /**
+     * Puts a claimed delivery back in the outbox without counting an attempt.
+     *
+     * @param deliveryId ID of the delivery.
+     */
+    void deferDelivery(Long deliveryId);
+
+    /**
+     * Returns the delivery metrics since startup.
+     *
+     * @return the metrics.
+     */
+    WebhookMetricsDto getMetrics();
 }
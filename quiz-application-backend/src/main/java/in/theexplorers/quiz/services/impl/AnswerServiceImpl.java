@@ -3,21 +3,69 @@ package in.theexplorers.quiz.services.impl;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.caches.AnswerKey;
+import in.theexplorers.quiz.caches.AnswerKeyCache;
+import in.theexplorers.quiz.caches.AnswerMatrix;
+import in.theexplorers.quiz.caches.AnswerMatrixCache;
+import in.theexplorers.quiz.caches.AnswerWriteBuffer;
+import in.theexplorers.quiz.caches.AttemptTracker;
+import in.theexplorers.quiz.caches.ChoiceCounters;
+import in.theexplorers.quiz.caches.KnownUsers;
+import in.theexplorers.quiz.caches.RecentWriters;
+import in.theexplorers.quiz.configurations.MetricsConfiguration;
 import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.dtos.response.BulkAnswerResultDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.entities.Answer;
-import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Option;
 import in.theexplorers.quiz.entities.User;
+import in.theexplorers.quiz.exceptions.ResourceAlreadyExistsException;
 import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.exceptions.TooManyRequestsException;
+import in.theexplorers.quiz.exceptions.ValidationException;
+import in.theexplorers.quiz.repositories.AnswerJdbcRepository;
 import in.theexplorers.quiz.repositories.AnswerRepository;
 import in.theexplorers.quiz.repositories.QuestionRepository;
 import in.theexplorers.quiz.repositories.UserRepository;
+import in.theexplorers.quiz.repositories.projections.AnswerUpsertView;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
 import in.theexplorers.quiz.services.AnswerService;
+import in.theexplorers.quiz.services.LeaderboardService;
+import in.theexplorers.quiz.utilities.CsvWriter;
+import in.theexplorers.quiz.utilities.CursorUtility;
+import in.theexplorers.quiz.utilities.TransactionUtility;
 import in.theexplorers.quiz.utilities.converters.AnswerConverter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing {@link Answer} entities.
@@ -31,61 +79,402 @@ import java.util.stream.Collectors;
  */
 @Service
 @Slf4j
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class AnswerServiceImpl implements AnswerService {
+    private static final int STREAM_FLUSH_INTERVAL = 1000;
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
     private final AnswerRepository answerRepository;
     private final UserRepository userRepository;
     private final QuestionRepository questionRepository;
     private final AnswerConverter answerConverter;
+    private final AnswerJdbcRepository answerJdbcRepository;
+    private final int bulkMaxSize;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final AnswerKeyCache answerKeyCache;
+    private final LeaderboardService leaderboardService;
+    private final ChoiceCounters choiceCounters;
+    private final AttemptTracker attemptTracker;
+    private final MeterRegistry meterRegistry;
+    private final int exportFetchSize;
+    private final RecentWriters recentWriters;
+    private final AnswerWriteBuffer answerWriteBuffer;
+    private final int bufferBatchSize;
+    private final AnswerMatrixCache answerMatrixCache;
+    private final KnownUsers knownUsers;
 
-    public AnswerServiceImpl(AnswerRepository answerRepository, UserRepository userRepository, QuestionRepository questionRepository, AnswerConverter answerConverter) {
+    public AnswerServiceImpl(AnswerRepository answerRepository, UserRepository userRepository, QuestionRepository questionRepository, AnswerConverter answerConverter, AnswerJdbcRepository answerJdbcRepository, @Value("${quiz.answers.bulk-max-size:10000}") int bulkMaxSize, EntityManager entityManager, ObjectMapper objectMapper, AnswerKeyCache answerKeyCache, LeaderboardService leaderboardService, ChoiceCounters choiceCounters, AttemptTracker attemptTracker, MeterRegistry meterRegistry, @Value("${quiz.exports.fetch-size:1000}") int exportFetchSize, RecentWriters recentWriters, AnswerWriteBuffer answerWriteBuffer, @Value("${quiz.answers.buffer.batch-size:1000}") int bufferBatchSize, AnswerMatrixCache answerMatrixCache, KnownUsers knownUsers) {
         this.answerRepository = answerRepository;
         this.userRepository = userRepository;
         this.questionRepository = questionRepository;
         this.answerConverter = answerConverter;
+        this.answerJdbcRepository = answerJdbcRepository;
+        this.bulkMaxSize = bulkMaxSize;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.answerKeyCache = answerKeyCache;
+        this.leaderboardService = leaderboardService;
+        this.choiceCounters = choiceCounters;
+        this.attemptTracker = attemptTracker;
+        this.meterRegistry = meterRegistry;
+        this.exportFetchSize = exportFetchSize;
+        this.recentWriters = recentWriters;
+        this.answerWriteBuffer = answerWriteBuffer;
+        this.bufferBatchSize = bufferBatchSize;
+        this.answerMatrixCache = answerMatrixCache;
+        this.knownUsers = knownUsers;
     }
 
+    /**
+     * Submits an answer, grading it against the cached answer key of its quiz and updating the score
+     * of the user in the same transaction.
+     *
+     * <p>When the write-behind buffer is enabled, the graded answer is only journaled and queued, and is
+     * returned without an ID; it is stored, replacing any previous answer of the user to the question,
+     * by the next {@link #flushBufferedAnswers() flush}.</p>
+     *
+     * @param answerDto The answer to submit.
+     * @return The stored answer, including whether it is correct.
+     * @throws ValidationException       if the user, question or selected option is missing, the question is
+     *                                   not active, or the option does not belong to the question.
+     * @throws ResourceNotFoundException if the user or question does not exist.
+     * @throws TooManyRequestsException  if the write-behind buffer is full.
+     */
+    @Transactional
     @Override
     public AnswerDto submitAnswer(AnswerDto answerDto) {
+        if (answerDto.getUserId() == null || answerDto.getQuestionId() == null || answerDto.getSelectedOptionId() == null) {
+            throw new ValidationException("An answer must have a user ID, a question ID and a selected option ID");
+        }
+        if (answerWriteBuffer.isEnabled()) {
+            return bufferAnswer(answerDto);
+        }
         User user = userRepository.findById(answerDto.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        Question question = questionRepository.findById(answerDto.getQuestionId())
-                .orElseThrow(() -> new ResourceNotFoundException("Question not found"));
+        recentWriters.recordWrite(user.getId());
+        AnswerKey answerKey = answerKeyCache.getByQuestionId(answerDto.getQuestionId());
+        boolean correct = answerKey.grade(answerDto.getQuestionId(), answerDto.getSelectedOptionId());
 
         Answer answer = answerConverter.answerDtoToAnswer(answerDto);
         answer.setUser(user);
-        answer.setQuestion(question);
+        // The answer key has already confirmed that the question exists
+        answer.setQuestion(questionRepository.getReferenceById(answerDto.getQuestionId()));
+        answer.setIsCorrect(correct);
+        if (answer.getCreatedBy() == null) {
+            // todo: remove after applying security
+            answer.setCreatedBy("SYSTEM");
+        }
         answer = answerRepository.save(answer);
+        addToScore(user.getId(), answerKey.getQuizId(), points(answer));
+        recordChoice(answer, 1);
+        if (Boolean.TRUE.equals(answer.getIsActive())) {
+            attemptTracker.recordAnswered(user.getId(), answerKey.getQuizId(), 1, answerKey.getQuestionCount());
+            answerMatrixCache.recordAnswer(answerKey.getQuizId(), user.getId(), answerDto.getQuestionId(), answerDto.getSelectedOptionId(), correct);
+        } else {
+            answerMatrixCache.recordWithdrawn(answerKey.getQuizId(), user.getId(), answerDto.getQuestionId());
+        }
+        countSubmitted(answerKey.getQuizId(), 1);
 
         return answerConverter.answerToAnswerDto(answer);
     }
 
+    /**
+     * Persists many answers in one operation using batched inserts, and adds the correct ones to the
+     * scores of their users with a single upsert.
+     *
+     * @param answers The answers to persist.
+     * @return A summary of the submission.
+     * @throws ValidationException            if the request is empty, too large, or an answer misses its user, question
+     *                                        or selected option, selects an option of another question, or references
+     *                                        a user, question or option that does not exist.
+     * @throws ResourceAlreadyExistsException if a user has already answered one of the questions.
+     */
+    @Transactional
+    @Override
+    public BulkAnswerResultDto submitAnswers(List<AnswerDto> answers) {
+        if (answers == null || answers.isEmpty()) {
+            throw new ValidationException("At least one answer is required");
+        }
+        if (answers.size() > bulkMaxSize) {
+            throw new ValidationException("A bulk submission accepts at most " + bulkMaxSize + " answers");
+        }
+
+        // Keep the last answer of each user for each question
+        Map<List<Long>, AnswerDto> latestAnswers = new LinkedHashMap<>();
+        for (int i = 0; i < answers.size(); i++) {
+            AnswerDto answer = answers.get(i);
+            if (answer == null || answer.getUserId() == null || answer.getQuestionId() == null || answer.getSelectedOptionId() == null) {
+                throw new ValidationException("Answer at index " + i + " must have a user ID, a question ID and a selected option ID");
+            }
+            try {
+                answer.setIsCorrect(grade(answer.getQuestionId(), answer.getSelectedOptionId()));
+            } catch (ValidationException | ResourceNotFoundException e) {
+                throw new ValidationException("Answer at index " + i + ": " + e.getMessage());
+            }
+            latestAnswers.put(List.of(answer.getUserId(), answer.getQuestionId()), answer);
+        }
+
+        // Sum the answered and correct answers of each user in each quiz
+        Map<List<Long>, Integer> answered = new HashMap<>();
+        Map<List<Long>, Integer> points = new HashMap<>();
+        for (AnswerDto answer : latestAnswers.values()) {
+            List<Long> attempt = List.of(answer.getUserId(), answerKeyCache.getByQuestionId(answer.getQuestionId()).getQuizId());
+            answered.merge(attempt, 1, Integer::sum);
+            if (Boolean.TRUE.equals(answer.getIsCorrect())) {
+                points.merge(attempt, 1, Integer::sum);
+            }
+        }
+
+        latestAnswers.values().forEach(answer -> recentWriters.recordWrite(answer.getUserId()));
+        int persisted;
+        try {
+            // todo: remove after applying security
+            persisted = answerJdbcRepository.batchInsert(new ArrayList<>(latestAnswers.values()), "SYSTEM");
+        } catch (DuplicateKeyException e) {
+            throw new ResourceAlreadyExistsException("One or more questions have already been answered by the user");
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("One or more answers reference a user, question or option that does not exist");
+        }
+        leaderboardService.addToScores(points.entrySet().stream()
+                .map(entry -> new UserScoreView(entry.getKey().get(0), entry.getKey().get(1), entry.getValue()))
+                .toList());
+        for (AnswerDto answer : latestAnswers.values()) {
+            choiceCounters.record(answer.getQuestionId(), answer.getSelectedOptionId(), 1);
+            answerMatrixCache.recordAnswer(answerKeyCache.getByQuestionId(answer.getQuestionId()).getQuizId(), answer.getUserId(),
+                    answer.getQuestionId(), answer.getSelectedOptionId(), Boolean.TRUE.equals(answer.getIsCorrect()));
+        }
+        answered.forEach((attempt, count) -> attemptTracker.recordAnswered(attempt.get(0), attempt.get(1), count,
+                answerKeyCache.get(attempt.get(1)).getQuestionCount()));
+        answered.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> entry.getKey().get(1), Collectors.summingInt(Map.Entry::getValue)))
+                .forEach(this::countSubmitted);
+
+        log.info("Bulk submission persisted {} of {} answers", persisted, answers.size());
+        return BulkAnswerResultDto.builder().received(answers.size()).persisted(persisted).build();
+    }
+
+    /**
+     * Stores an answer with a single {@code INSERT ... ON CONFLICT DO UPDATE} on the user and question,
+     * grading it against the cached answer key first.
+     *
+     * <p>The statement also returns the previous state of the answer, so score, choice counters and attempt
+     * progress are adjusted by exact deltas without reading the answer first. A retry carrying the idempotency
+     * key of the stored answer writes nothing and changes no counter.</p>
+     *
+     * @param answerDto      The answer to store.
+     * @param idempotencyKey The client supplied key of the request, or null.
+     * @return The stored answer.
+     * @throws ValidationException       if the user, question or selected option is missing or does not exist,
+     *                                   the option does not belong to the question, or the idempotency key is invalid.
+     * @throws ResourceNotFoundException if the question does not exist.
+     */
+    @Transactional
+    @Override
+    public AnswerDto upsertAnswer(AnswerDto answerDto, String idempotencyKey) {
+        if (answerDto.getUserId() == null || answerDto.getQuestionId() == null || answerDto.getSelectedOptionId() == null) {
+            throw new ValidationException("An answer must have a user ID, a question ID and a selected option ID");
+        }
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            throw new ValidationException("Idempotency key must be between 1 and " + IDEMPOTENCY_KEY_MAX_LENGTH + " characters");
+        }
+        Long userId = answerDto.getUserId();
+        Long questionId = answerDto.getQuestionId();
+        Long optionId = answerDto.getSelectedOptionId();
+        AnswerKey answerKey = answerKeyCache.getByQuestionId(questionId);
+        boolean correct = answerKey.grade(questionId, optionId);
+        AnswerDto graded = AnswerDto.builder().userId(userId).questionId(questionId).selectedOptionId(optionId)
+                .isCorrect(correct).build();
+
+        recentWriters.recordWrite(userId);
+        AnswerUpsertView result;
+        try {
+            // todo: remove after applying security
+            result = answerJdbcRepository.upsert(graded, idempotencyKey, "SYSTEM");
+        } catch (DataIntegrityViolationException e) {
+            throw new ValidationException("The answer references a user that does not exist");
+        }
+        graded.setId(result.getId());
+
+        if (!result.isApplied()) {
+            log.debug("Answer ID: {} already stored with idempotency key, request ignored", result.getId());
+            graded.setSelectedOptionId(result.getPreviousOptionId());
+            graded.setIsCorrect(result.getPreviousIsCorrect());
+            graded.setIsActive(result.getPreviousIsActive());
+            return graded;
+        }
+        graded.setIsActive(true);
+
+        addToScore(userId, answerKey.getQuizId(), recordUpsert(graded, answerKey, result));
+        countSubmitted(answerKey.getQuizId(), 1);
+        return graded;
+    }
+
+    /**
+     * Stores the oldest answers of the write-behind buffer with a single upsert, and adds them to the
+     * scores, choice counters and attempt progress by the exact deltas it returns. The answers are
+     * released from the buffer once the transaction commits; after a failure, the next flush reads
+     * them again.
+     *
+     * <p>Storing an answer a second time, e.g. when it is replayed from the journal after a crash that
+     * followed the commit, changes no counter.</p>
+     *
+     * @return The number of answers taken from the buffer.
+     */
+    @Transactional
+    @Override
+    public int flushBufferedAnswers() {
+        List<AnswerDto> batch = answerWriteBuffer.drain(bufferBatchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        // Keep the last answer of each user for each question; a statement cannot write a row twice
+        Map<List<Long>, AnswerDto> latestAnswers = new LinkedHashMap<>();
+        batch.forEach(answer -> latestAnswers.put(List.of(answer.getUserId(), answer.getQuestionId()), answer));
+        List<AnswerDto> answers = new ArrayList<>(latestAnswers.values());
+
+        // todo: remove after applying security
+        List<AnswerUpsertView> results = answerJdbcRepository.upsertAll(answers, "SYSTEM");
+        List<UserScoreView> scores = new ArrayList<>();
+        Map<Long, Integer> submitted = new HashMap<>();
+        int skipped = 0;
+        for (int i = 0; i < answers.size(); i++) {
+            AnswerDto answer = answers.get(i);
+            AnswerUpsertView result = results.get(i);
+            if (result == null) {
+                skipped++;
+                continue;
+            }
+            AnswerKey answerKey;
+            try {
+                answerKey = answerKeyCache.getByQuestionId(answer.getQuestionId());
+            } catch (ResourceNotFoundException e) {
+                // The quiz lost its questions since the answer was accepted; there is no attempt to update
+                continue;
+            }
+            scores.add(new UserScoreView(answer.getUserId(), answerKey.getQuizId(), recordUpsert(answer, answerKey, result)));
+            submitted.merge(answerKey.getQuizId(), 1, Integer::sum);
+        }
+        leaderboardService.addToScores(scores);
+        submitted.forEach(this::countSubmitted);
+        TransactionUtility.runAfterCommit(() -> answerWriteBuffer.release(batch.size()));
+
+        if (skipped > 0) {
+            log.warn("Skipped {} buffered answers of users that do not exist", skipped);
+        }
+        log.debug("Flushed {} buffered answers", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Retrieves the answers of a user in a quiz.
+     *
+     * <p>Answers are read from a replica unless the user wrote recently, so the user always sees their own
+     * answers. The answer matrix of a live quiz tells which users have answers, so users without one get
+     * an empty list without a query.</p>
+     *
+     * @param userId The ID of the user.
+     * @param quizId The ID of the quiz.
+     * @return The answers of the user in the quiz.
+     */
+    @Transactional(readOnly = true)
     @Override
     public List<AnswerDto> getAnswersByUserIdAndQuizId(Long userId, Long quizId) {
+        recentWriters.routeReadsOf(userId);
+        AnswerMatrix answerMatrix = answerMatrixCache.find(quizId);
+        if (answerMatrix != null && !answerMatrix.containsUser(userId)) {
+            return new ArrayList<>();
+        }
         return answerRepository.findByUserIdAndQuizId(userId, quizId).stream()
                 .map(answerConverter::answerToAnswerDto)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Retrieves all answers from the database.
+     * Retrieves one page of answers in ID order.
      *
-     * @return A list of AnswerDto objects representing all answers.
-     * @throws ResourceNotFoundException if no answers are found in the database.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size   Maximum number of answers in the page.
+     * @return The page of answers.
      */
+    @Transactional(readOnly = true)
     @Override
-    public List<AnswerDto> getAllAnswers() {
-        // Fetch all Answer entities from the database
-        List<Answer> answers = answerRepository.findAll();
+    public CursorPageDto<AnswerDto> getAnswers(String cursor, int size) {
+        int pageSize = CursorUtility.pageSize(size);
+        List<Answer> answers = answerRepository.findByIdGreaterThanOrderByIdAsc(CursorUtility.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPageDto.of(answers, pageSize, answerConverter::answerToAnswerDto, answer -> CursorUtility.encode(answer.getId()));
+    }
 
-        // Check if no answers were found and throw a custom exception
-        if (answers.isEmpty()) {
-            throw new ResourceNotFoundException("No answers found in the database.");
+    /**
+     * Writes all answers to the given stream as newline-delimited JSON.
+     *
+     * <p>Rows are fetched from a database cursor; each entity is detached as soon as it has been written,
+     * so the persistence context never holds more than one answer.</p>
+     *
+     * @param outputStream The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void streamAnswers(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        try (Stream<Answer> answers = answerRepository.streamAll()) {
+            Iterator<Answer> iterator = answers.iterator();
+            while (iterator.hasNext()) {
+                Answer answer = iterator.next();
+                generator.writeObject(answerConverter.answerToAnswerDto(answer));
+                generator.writeRaw('\n');
+                entityManager.detach(answer);
+                if (++count % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
         }
+        generator.close();
+        log.info("Streamed {} answers", count);
+    }
+
+    /**
+     * Writes the active answers of a quiz to the given stream as CSV, one row per answer.
+     *
+     * <p>Rows are read from a forward-only cursor of {@code quiz.exports.fetch-size} rows and written
+     * straight from the result set, without creating entities.</p>
+     *
+     * @param quizId       The ID of the quiz.
+     * @param outputStream The stream to write to; it is flushed but not closed.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportQuizResults(Long quizId, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CsvWriter csvWriter = new CsvWriter(writer);
+        csvWriter.writeRecord("userId", "userName", "score", "questionId", "optionId", "isCorrect", "answeredOn");
 
-        // Convert each Answer entity to its corresponding DTO using the converter
-        return answers.stream()
-                .map(answerConverter::answerToAnswerDto) // Convert Answer -> AnswerDto
-                .collect(Collectors.toList()); // Collect all DTOs into a list
+        long[] count = {0};
+        try {
+            answerJdbcRepository.streamResultsByQuizId(quizId, exportFetchSize, rs -> {
+                Timestamp answeredOn = rs.getTimestamp("answered_on");
+                try {
+                    csvWriter.writeRecord(rs.getLong("user_id"), rs.getString("user_name"), rs.getObject("score"),
+                            rs.getLong("question_id"), rs.getObject("option_id"), rs.getObject("is_correct"),
+                            answeredOn == null ? null : answeredOn.toLocalDateTime());
+                    if (++count[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} answers of quiz ID: {}", count[0], quizId);
     }
 
     /**
@@ -112,19 +501,50 @@ public class AnswerServiceImpl implements AnswerService {
      * @param answerDto The AnswerDto object containing the updated details.
      * @return An AnswerDto object representing the updated answer.
      * @throws ResourceNotFoundException if the answer with the specified ID does not exist.
+     * @throws ValidationException       if the selected option does not belong to the question of the answer.
      */
+    @Transactional
     @Override
     public AnswerDto updateAnswer(Long id, AnswerDto answerDto) {
         // Retrieve the existing answer entity by ID from the repository
         Answer existingAnswer = answerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Answer with ID " + id + " not found."));
+        recentWriters.recordWrite(existingAnswer.getUser().getId());
+        int oldPoints = points(existingAnswer);
+        boolean wasActive = Boolean.TRUE.equals(existingAnswer.getIsActive());
+        recordChoice(existingAnswer, -1);
 
         // Update the fields of the existing answer entity using the provided DTO
-//        existingAnswer.setSelectedAnswer(answerDto.getSelectedAnswer());
-        existingAnswer.setIsActive(answerDto.getIsActive());
+        if (answerDto.getSelectedOptionId() != null) {
+            Long questionId = existingAnswer.getQuestion().getId();
+            Long optionId = answerDto.getSelectedOptionId();
+            // Grading throws before the option is assigned when it is not an active option of the answer's question
+            existingAnswer.setIsCorrect(grade(questionId, optionId));
+            existingAnswer.setSelectedOption(entityManager.getReference(Option.class, optionId));
+        }
+        if (answerDto.getIsActive() != null) {
+            existingAnswer.setIsActive(answerDto.getIsActive());
+        }
 
         // Save the updated entity back to the repository
         Answer updatedAnswer = answerRepository.save(existingAnswer);
+        addToScore(updatedAnswer, points(updatedAnswer) - oldPoints);
+        recordChoice(updatedAnswer, 1);
+        boolean isActive = Boolean.TRUE.equals(updatedAnswer.getIsActive());
+        long quizId = quizIdOf(updatedAnswer);
+        if (isActive && updatedAnswer.getSelectedOption() != null) {
+            answerMatrixCache.recordAnswer(quizId, updatedAnswer.getUser().getId(), updatedAnswer.getQuestion().getId(),
+                    updatedAnswer.getSelectedOption().getId(), Boolean.TRUE.equals(updatedAnswer.getIsCorrect()));
+        } else {
+            answerMatrixCache.recordWithdrawn(quizId, updatedAnswer.getUser().getId(), updatedAnswer.getQuestion().getId());
+        }
+        if (isActive != wasActive) {
+            if (isActive) {
+                attemptTracker.recordAnswered(updatedAnswer.getUser().getId(), quizId, 1, answerKeyCache.get(quizId).getQuestionCount());
+            } else {
+                attemptTracker.recordWithdrawn(updatedAnswer.getUser().getId(), quizId);
+            }
+        }
 
         // Convert the updated entity to a DTO and return it
         return answerConverter.answerToAnswerDto(updatedAnswer);
@@ -136,18 +556,112 @@ public class AnswerServiceImpl implements AnswerService {
      * @param id The ID of the answer to delete.
      * @throws ResourceNotFoundException if the answer with the specified ID does not exist.
      */
+    @Transactional
     @Override
     public void deleteAnswer(Long id) {
         // Retrieve the existing answer entity by ID from the repository
         Answer answer = answerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Answer with ID " + id + " not found."));
 
+        recentWriters.recordWrite(answer.getUser().getId());
+
         // Set the isActive flag to false for soft delete
+        int oldPoints = points(answer);
+        boolean wasActive = Boolean.TRUE.equals(answer.getIsActive());
+        recordChoice(answer, -1);
         answer.setIsActive(false);
 
         // Save the updated entity back to the repository
         answerRepository.save(answer);
+        addToScore(answer, -oldPoints);
+        if (wasActive) {
+            long quizId = quizIdOf(answer);
+            attemptTracker.recordWithdrawn(answer.getUser().getId(), quizId);
+            answerMatrixCache.recordWithdrawn(quizId, answer.getUser().getId(), answer.getQuestion().getId());
+        }
     }
 
-}
+    private AnswerDto bufferAnswer(AnswerDto answerDto) {
+        // Known users are cached, so an accepted answer usually costs no lookup; one of a user deleted
+        // meanwhile is still skipped when the buffer is flushed
+        if (!knownUsers.exists(answerDto.getUserId())) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        Long questionId = answerDto.getQuestionId();
+        AnswerDto graded = AnswerDto.builder().userId(answerDto.getUserId()).questionId(questionId)
+                .selectedOptionId(answerDto.getSelectedOptionId())
+                .isCorrect(grade(questionId, answerDto.getSelectedOptionId()))
+                .isActive(true)
+                .build();
+        if (!answerWriteBuffer.offer(graded)) {
+            throw new TooManyRequestsException("Too many answers are waiting to be stored, please retry later");
+        }
+        recentWriters.recordWrite(graded.getUserId());
+        return graded;
+    }
+
+    /**
+     * Adjusts the choice counters, the attempt progress and the answer matrix to an applied upsert.
+     *
+     * @return the change of the score of the user.
+     */
+    private int recordUpsert(AnswerDto graded, AnswerKey answerKey, AnswerUpsertView result) {
+        Long userId = graded.getUserId();
+        Long questionId = graded.getQuestionId();
+        Long optionId = graded.getSelectedOptionId();
+        boolean wasActive = result.isExisted() && Boolean.TRUE.equals(result.getPreviousIsActive());
+        int oldPoints = wasActive && Boolean.TRUE.equals(result.getPreviousIsCorrect()) ? 1 : 0;
+        if (!wasActive) {
+            choiceCounters.record(questionId, optionId, 1);
+            attemptTracker.recordAnswered(userId, answerKey.getQuizId(), 1, answerKey.getQuestionCount());
+        } else if (!Objects.equals(result.getPreviousOptionId(), optionId)) {
+            if (result.getPreviousOptionId() != null) {
+                choiceCounters.record(questionId, result.getPreviousOptionId(), -1);
+            }
+            choiceCounters.record(questionId, optionId, 1);
+        }
+        answerMatrixCache.recordAnswer(answerKey.getQuizId(), userId, questionId, optionId, Boolean.TRUE.equals(graded.getIsCorrect()));
+        return (Boolean.TRUE.equals(graded.getIsCorrect()) ? 1 : 0) - oldPoints;
+    }
+
+    private boolean grade(Long questionId, Long selectedOptionId) {
+        return answerKeyCache.getByQuestionId(questionId).grade(questionId, selectedOptionId);
+    }
+
+    private static int points(Answer answer) {
+        return Boolean.TRUE.equals(answer.getIsActive()) && Boolean.TRUE.equals(answer.getIsCorrect()) ? 1 : 0;
+    }
 
+    private void addToScore(Answer answer, int delta) {
+        if (delta != 0) {
+            addToScore(answer.getUser().getId(), quizIdOf(answer), delta);
+        }
+    }
+
+    private long quizIdOf(Answer answer) {
+        Long questionId = answer.getQuestion().getId();
+        return questionRepository.findQuizIdById(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question not found with ID: " + questionId));
+    }
+
+    private void addToScore(long userId, long quizId, int delta) {
+        if (delta != 0) {
+            leaderboardService.addToScores(List.of(new UserScoreView(userId, quizId, delta)));
+        }
+    }
+
+    private void recordChoice(Answer answer, int delta) {
+        // Only active answers are counted in the option histograms
+        if (Boolean.TRUE.equals(answer.getIsActive()) && answer.getSelectedOption() != null) {
+            choiceCounters.record(answer.getQuestion().getId(), answer.getSelectedOption().getId(), delta);
+        }
+    }
+
+    private void countSubmitted(long quizId, int count) {
+        Counter counter = Counter.builder("quiz.answers.submitted")
+                .description("Answers stored by submissions and upserts")
+                .tag(MetricsConfiguration.QUIZ_ID_TAG, String.valueOf(quizId))
+                .register(meterRegistry);
+        TransactionUtility.runAfterCommit(() -> counter.increment(count));
+    }
+}
@@ -0,0 +1,100 @@
+package in.theexplorers.quiz.services.impl;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.caches.Leaderboard;
+import in.theexplorers.quiz.caches.LeaderboardCache;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
+import in.theexplorers.quiz.dtos.response.LeaderboardEntryDto;
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.exceptions.ValidationException;
+import in.theexplorers.quiz.repositories.UserQuizJdbcRepository;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
+import in.theexplorers.quiz.services.LeaderboardService;
+import in.theexplorers.quiz.utilities.CursorUtility;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service implementation for the scores of users and the leaderboards of quizzes.
+ *
+ * <p>Scores are the number of correct answers of a user in a quiz. They are kept in {@code user_quiz}
+ * and changed by deltas as answers are graded, and mirrored in the in-memory leaderboards of the
+ * {@link LeaderboardCache}, so ranking queries never sort {@code user_quiz}.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Service
+@Timed(value = "quiz.service", description = "Duration of service method calls")
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private final UserQuizJdbcRepository userQuizJdbcRepository;
+    private final LeaderboardCache leaderboardCache;
+
+    public LeaderboardServiceImpl(UserQuizJdbcRepository userQuizJdbcRepository, LeaderboardCache leaderboardCache) {
+        this.userQuizJdbcRepository = userQuizJdbcRepository;
+        this.leaderboardCache = leaderboardCache;
+    }
+
+    /**
+     * Adds changes to the scores of users and updates the leaderboards once the transaction commits.
+     *
+     * @param deltas The changes to apply, at most one per user and quiz; zero changes are skipped.
+     */
+    @Override
+    public void addToScores(Collection<UserScoreView> deltas) {
+        List<UserScoreView> changes = deltas.stream().filter(delta -> delta.getScore() != 0).toList();
+        // todo: remove after applying security
+        leaderboardCache.update(userQuizJdbcRepository.addScores(changes, "SYSTEM"));
+    }
+
+    /**
+     * Retrieves one page of the leaderboard of a quiz from memory.
+     *
+     * @param quizId The ID of the quiz.
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param size   Maximum number of entries in the page.
+     * @return The page of the leaderboard.
+     * @throws ValidationException if the cursor or page size is invalid.
+     * @throws ResourceNotFoundException if the quiz does not exist or has been deleted.
+     */
+    @Override
+    public CursorPageDto<LeaderboardEntryDto> getLeaderboard(Long quizId, String cursor, int size) {
+        int pageSize = CursorUtility.pageSize(size);
+        Leaderboard.Standing after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            long[] key = CursorUtility.decode(cursor, 2);
+            after = new Leaderboard.Standing(key[1], (int) key[0]);
+        }
+        List<Leaderboard.RankedStanding> standings = leaderboardCache.get(quizId).page(after, pageSize + 1);
+        return CursorPageDto.of(standings, pageSize, this::toEntry,
+                standing -> CursorUtility.encode(standing.getScore(), standing.getUserId()));
+    }
+
+    /**
+     * Retrieves the standing of a user from memory.
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The standing of the user.
+     * @throws ResourceNotFoundException if the quiz does not exist or the user has no score in it.
+     */
+    @Override
+    public LeaderboardEntryDto getStanding(Long quizId, Long userId) {
+        Leaderboard.RankedStanding standing = leaderboardCache.get(quizId).standingOf(userId);
+        if (standing == null) {
+            throw new ResourceNotFoundException("User with ID " + userId + " has no score in quiz with ID " + quizId);
+        }
+        return toEntry(standing);
+    }
+
+    private LeaderboardEntryDto toEntry(Leaderboard.RankedStanding standing) {
+        return LeaderboardEntryDto.builder().rank(standing.getRank()).userId(standing.getUserId())
+                .score(standing.getScore()).build();
+    }
+}
@@ -1,5 +1,7 @@
 package in.theexplorers.quiz.services.impl;
 
+import in.theexplorers.quiz.caches.AnswerKeyCache;
+import in.theexplorers.quiz.caches.QuizContentCache;
 import in.theexplorers.quiz.dtos.request.OptionRequestDto;
 import in.theexplorers.quiz.dtos.response.OptionResponseDto;
 import in.theexplorers.quiz.entities.Option;
@@ -7,33 +9,49 @@ import in.theexplorers.quiz.entities.Question;
 import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
 import in.theexplorers.quiz.repositories.OptionRepository;
 import in.theexplorers.quiz.repositories.QuestionRepository;
+import in.theexplorers.quiz.repositories.projections.OptionOwnerView;
 import in.theexplorers.quiz.services.OptionService;
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
 import in.theexplorers.quiz.utilities.converters.OptionConverter;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 @Slf4j
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class OptionServiceImpl implements OptionService {
     private final OptionRepository optionRepository;
     private final QuestionRepository questionRepository;
     private final OptionConverter optionConverter;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizContentCache quizContentCache;
+    private final EntityManager entityManager;
 
-    public OptionServiceImpl(OptionRepository optionRepository, QuestionRepository questionRepository, OptionConverter optionConverter) {
+    public OptionServiceImpl(OptionRepository optionRepository, QuestionRepository questionRepository, OptionConverter optionConverter, AnswerKeyCache answerKeyCache, QuizContentCache quizContentCache, EntityManager entityManager) {
         this.optionRepository = optionRepository;
         this.questionRepository = questionRepository;
         this.optionConverter = optionConverter;
+        this.answerKeyCache = answerKeyCache;
+        this.quizContentCache = quizContentCache;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<OptionResponseDto> getOptionsByQuestionId(Long questionId) {
+    public List<OptionResponseDto> getOptionsByQuestionId(Long questionId, boolean includeInactive) {
+        if (includeInactive) {
+            SoftDeleteUtility.includeInactive(entityManager);
+        }
         List<Option> options = optionRepository.findByQuestionId(questionId);
         return options.stream().map(optionConverter::optionToOptionResponseDto).toList();
     }
 
+    @Transactional
     @Override
     public OptionResponseDto addOption(Long questionId, OptionRequestDto optionRequestDto) {
         Question question = questionRepository.findById(questionId).orElseThrow(() -> new ResourceNotFoundException("Question not found"));
@@ -43,6 +61,8 @@ public class OptionServiceImpl implements OptionService {
         //todo: remove after applying security
         option.setCreatedBy("SYSTEM");
         option = optionRepository.save(option);
+        answerKeyCache.evict(question.getQuiz().getId());
+        quizContentCache.evictQuestion(question.getQuiz().getId(), questionId);
 
         return optionConverter.optionToOptionResponseDto(option);
     }
@@ -50,10 +70,11 @@ public class OptionServiceImpl implements OptionService {
     @Transactional
     @Override
     public void deleteOptionById(Long optionId) {
-        if (!optionRepository.existsById(optionId)) {
-            throw new ResourceNotFoundException("Option not found with ID: " + optionId);
-        }
+        OptionOwnerView owner = optionRepository.findOwnerById(optionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Option not found with ID: " + optionId));
         optionRepository.deleteById(optionId);
+        answerKeyCache.evict(owner.getQuizId());
+        quizContentCache.evictQuestion(owner.getQuizId(), owner.getQuestionId());
     }
 
     /**
@@ -79,6 +100,7 @@ public class OptionServiceImpl implements OptionService {
      * @return the updated OptionResponseDto representing the updated option details.
      * @throws ResourceNotFoundException if the option with the given ID does not exist.
      */
+    @Transactional
     @Override
     public OptionResponseDto updateOptionById(Long id, OptionRequestDto optionRequestDto) {
         // Find the existing option by ID, or throw an exception if not found
@@ -88,6 +110,8 @@ public class OptionServiceImpl implements OptionService {
         optionConverter.optionRequestDtoToOption(optionRequestDto, existingOption);
         // Save the updated option entity to the database
         Option updatedOption = optionRepository.save(existingOption);
+        answerKeyCache.evict(updatedOption.getQuestion().getQuiz().getId());
+        quizContentCache.evictQuestion(updatedOption.getQuestion().getQuiz().getId(), updatedOption.getQuestion().getId());
 
         // Convert the updated entity to OptionDto and return it
         return optionConverter.optionToOptionResponseDto(updatedOption);
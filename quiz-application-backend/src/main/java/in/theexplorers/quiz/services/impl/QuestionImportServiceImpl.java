@@ -0,0 +1,242 @@
+package in.theexplorers.quiz.services.impl;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.dtos.request.OptionRequestDto;
+import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
+import in.theexplorers.quiz.dtos.response.QuestionImportEventDto;
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.services.QuestionImportService;
+import in.theexplorers.quiz.services.QuizService;
+import in.theexplorers.quiz.utilities.CsvReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service implementation importing question banks into quizzes.
+ *
+ * <p>The question bank is read with a streaming parser, one question at a time. Valid questions are
+ * collected into chunks of {@code quiz.imports.chunk-size} questions, each written in its own transaction,
+ * so memory use depends on the chunk size and not on the size of the question bank. Rejected rows are
+ * reported as they are found and a progress event follows every chunk.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@Timed(value = "quiz.service", description = "Duration of service method calls")
+public class QuestionImportServiceImpl implements QuestionImportService {
+    private static final int MAX_FIELD_LENGTH = 10_000;
+
+    private final QuizService quizService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public QuestionImportServiceImpl(QuizService quizService, ObjectMapper objectMapper, Validator validator,
+                                     @Value("${quiz.imports.chunk-size:500}") int chunkSize) {
+        this.quizService = quizService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void importQuestions(Long quizId, Format format, InputStream input, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        Import progress = new Import(quizId, generator);
+        try {
+            if (format == Format.CSV) {
+                readCsv(input, progress);
+            } else {
+                readJson(input, progress);
+            }
+            progress.writeChunk();
+            progress.finish(QuestionImportEventDto.COMPLETED, null);
+            log.info("Imported {} of {} questions into quiz ID: {}", progress.imported, progress.processed, quizId);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String message = "Malformed input after row " + progress.processed + ": "
+                    + (e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage());
+            progress.finish(QuestionImportEventDto.ABORTED, message);
+        } catch (ResourceNotFoundException e) {
+            progress.finish(QuestionImportEventDto.ABORTED, e.getMessage());
+        }
+    }
+
+    private void readJson(InputStream input, Import progress) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(input);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of questions");
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of input");
+            }
+            // Only the current element is held as a tree, so a mistyped field rejects its row only
+            JsonNode node = parser.readValueAsTree();
+            long row = progress.processed + 1;
+            try {
+                progress.accept(row, objectMapper.treeToValue(node, QuestionRequestDto.class));
+            } catch (JsonProcessingException e) {
+                progress.reject(row, "Invalid question: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream input, Import progress) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), MAX_FIELD_LENGTH);
+        // The first record is the header
+        if (reader.readRecord() == null) {
+            return;
+        }
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long row = progress.processed + 1;
+            if (record.size() < 3) {
+                progress.reject(row, "A row needs a question text, the number of the correct option and at least one option");
+                continue;
+            }
+            List<OptionRequestDto> options = new ArrayList<>(record.size() - 2);
+            for (String text : record.subList(2, record.size())) {
+                if (!text.isBlank()) {
+                    options.add(OptionRequestDto.builder().text(text).isActive(true).build());
+                }
+            }
+            int correctOption;
+            try {
+                correctOption = Integer.parseInt(record.get(1).trim());
+            } catch (NumberFormatException e) {
+                progress.reject(row, "The number of the correct option must be an integer");
+                continue;
+            }
+            if (correctOption < 1 || correctOption > options.size()) {
+                progress.reject(row, "The number of the correct option must be between 1 and " + options.size());
+                continue;
+            }
+            options.get(correctOption - 1).setIsCorrect(true);
+            progress.accept(row, QuestionRequestDto.builder().text(record.get(0)).options(options).build());
+        }
+    }
+
+    private String validate(QuestionRequestDto question) {
+        Set<String> messages = new TreeSet<>();
+        validator.validate(question).stream().map(ConstraintViolation::getMessage).forEach(messages::add);
+        if (question.getOptions() != null) {
+            for (OptionRequestDto option : question.getOptions()) {
+                if (option == null) {
+                    messages.add("Options must not be null");
+                    continue;
+                }
+                validator.validate(option).stream().map(ConstraintViolation::getMessage).forEach(messages::add);
+            }
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    /**
+     * State of a single import: the pending chunk, the counters and the progress stream.
+     */
+    private final class Import {
+        private final Long quizId;
+        private final JsonGenerator generator;
+        private final List<QuestionRequestDto> chunk = new ArrayList<>();
+        private final List<Long> chunkRows = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private Import(Long quizId, JsonGenerator generator) {
+            this.quizId = quizId;
+            this.generator = generator;
+        }
+
+        void accept(long row, QuestionRequestDto question) throws IOException {
+            String violations = validate(question);
+            if (violations != null) {
+                reject(row, violations);
+                return;
+            }
+            processed++;
+            chunk.add(question);
+            chunkRows.add(row);
+            if (chunk.size() >= chunkSize) {
+                writeChunk();
+            }
+        }
+
+        void reject(long row, String message) throws IOException {
+            processed++;
+            failed++;
+            write(QuestionImportEventDto.builder().event(QuestionImportEventDto.ERROR).row(row).message(message).build());
+        }
+
+        void writeChunk() throws IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                imported += quizService.addQuestionsToQuiz(quizId, chunk);
+            } catch (DataAccessException e) {
+                log.warn("Failed to import {} questions into quiz ID: {}", chunk.size(), quizId, e);
+                failed += chunk.size();
+                for (Long row : chunkRows) {
+                    write(QuestionImportEventDto.builder().event(QuestionImportEventDto.ERROR).row(row)
+                            .message("The question could not be stored").build());
+                }
+            } finally {
+                chunk.clear();
+                chunkRows.clear();
+            }
+            write(event(QuestionImportEventDto.PROGRESS, null));
+            generator.flush();
+        }
+
+        void finish(String event, String message) throws IOException {
+            write(event(event, message));
+            generator.flush();
+        }
+
+        private QuestionImportEventDto event(String event, String message) {
+            return QuestionImportEventDto.builder().event(event).message(message)
+                    .processed(processed).imported(imported).failed(failed).build();
+        }
+
+        private void write(QuestionImportEventDto event) throws IOException {
+            generator.writeObject(event);
+            generator.writeRaw('\n');
+        }
+    }
+}
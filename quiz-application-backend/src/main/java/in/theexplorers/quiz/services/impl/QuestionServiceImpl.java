@@ -3,11 +3,18 @@ package in.theexplorers.quiz.services.impl;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.caches.AnswerKeyCache;
+import in.theexplorers.quiz.caches.ChoiceCounters;
+import in.theexplorers.quiz.caches.QuizContentCache;
+import in.theexplorers.quiz.caches.RenderedPayload;
 import in.theexplorers.quiz.dtos.common.AnswerDto;
 import in.theexplorers.quiz.dtos.common.OptionDto;
 import in.theexplorers.quiz.dtos.common.QuestionDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.dtos.response.QuestionStatsDto;
 import in.theexplorers.quiz.entities.Answer;
 import in.theexplorers.quiz.entities.Option;
 import in.theexplorers.quiz.entities.Question;
@@ -17,12 +24,18 @@ import in.theexplorers.quiz.repositories.AnswerRepository;
 import in.theexplorers.quiz.repositories.OptionRepository;
 import in.theexplorers.quiz.repositories.QuestionRepository;
 import in.theexplorers.quiz.services.QuestionService;
+import in.theexplorers.quiz.utilities.CursorUtility;
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
 import in.theexplorers.quiz.utilities.converters.AnswerConverter;
 import in.theexplorers.quiz.utilities.converters.OptionConverter;
 import in.theexplorers.quiz.utilities.converters.QuestionConverter;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +43,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class QuestionServiceImpl implements QuestionService {
     private final QuestionRepository questionRepository;
     private final OptionRepository optionRepository;
@@ -37,34 +51,68 @@ public class QuestionServiceImpl implements QuestionService {
     private final OptionConverter optionConverter;
     private final AnswerRepository answerRepository;
     private final AnswerConverter answerConverter;
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizContentCache quizContentCache;
+    private final ObjectMapper objectMapper;
+    private final ChoiceCounters choiceCounters;
+    private final EntityManager entityManager;
 
-    public QuestionServiceImpl(QuestionRepository questionRepository, OptionRepository optionRepository, QuestionConverter questionConverter, OptionConverter optionConverter, AnswerRepository answerRepository, AnswerConverter answerConverter) {
+    public QuestionServiceImpl(QuestionRepository questionRepository, OptionRepository optionRepository, QuestionConverter questionConverter, OptionConverter optionConverter, AnswerRepository answerRepository, AnswerConverter answerConverter, AnswerKeyCache answerKeyCache, QuizContentCache quizContentCache, ObjectMapper objectMapper, ChoiceCounters choiceCounters, EntityManager entityManager) {
         this.questionRepository = questionRepository;
         this.optionRepository = optionRepository;
         this.questionConverter = questionConverter;
         this.optionConverter = optionConverter;
         this.answerRepository = answerRepository;
         this.answerConverter = answerConverter;
+        this.answerKeyCache = answerKeyCache;
+        this.quizContentCache = quizContentCache;
+        this.objectMapper = objectMapper;
+        this.choiceCounters = choiceCounters;
+        this.entityManager = entityManager;
     }
 
+    /**
+     * Retrieves one page of questions, with their options, in ID order.
+     * The page is read with two queries: one for the IDs of the page and one for the question trees.
+     *
+     * @param cursor          Cursor returned with the previous page, or null for the first page.
+     * @param size            Maximum number of questions in the page.
+     * @param includeInactive Whether soft-deleted questions and options are included.
+     * @return The page of questions.
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<QuestionResponseDto> getAllQuestions() {
-        return questionRepository.findAll().stream().map(questionConverter::questionToQuestionResponseDto).toList();
+    public CursorPageDto<QuestionResponseDto> getQuestions(String cursor, int size, boolean includeInactive) {
+        if (includeInactive) {
+            SoftDeleteUtility.includeInactive(entityManager);
+        }
+        int pageSize = CursorUtility.pageSize(size);
+        List<Long> ids = questionRepository.findIdsAfter(CursorUtility.decodeId(cursor), Limit.of(pageSize + 1));
+        List<Question> questions = ids.isEmpty() ? List.of() : questionRepository.findWithOptionsByIdIn(ids);
+        return CursorPageDto.of(questions, pageSize, questionConverter::questionToQuestionResponseDto,
+                question -> CursorUtility.encode(question.getId()));
     }
 
+    @Transactional
     @Override
+    @Cacheable(cacheNames = QuizContentCache.QUESTIONS, sync = true)
     public QuestionResponseDto getQuestionById(Long questionId) {
-        Question question = questionRepository.findById(questionId).orElseThrow(() -> new ResourceNotFoundException("Question not found"));
+        Question question = questionRepository.findWithOptionsById(questionId).orElseThrow(() -> new ResourceNotFoundException("Question not found"));
         return questionConverter.questionToQuestionResponseDto(question);
     }
 
+    @Transactional
     @Override
     public QuestionDto createQuestion(QuestionDto questionDto) {
         Question question = questionConverter.questionDtoToQuestion(questionDto);
         question = questionRepository.save(question);
+        if (question.getQuiz() != null) {
+            answerKeyCache.evict(question.getQuiz().getId());
+        }
         return questionConverter.questionToQuestionDto(question);
     }
 
+    @Transactional
     @Override
     public QuestionResponseDto updateQuestion(Long questionId, QuestionRequestDto questionRequestDto) {
         Question question = questionRepository.findById(questionId).orElseThrow(() -> new ResourceNotFoundException("Question not found"));
@@ -74,16 +122,20 @@ public class QuestionServiceImpl implements QuestionService {
 
         // Save and return updated DTO
         question = questionRepository.save(question);
+        answerKeyCache.evict(question.getQuiz().getId());
+        quizContentCache.evictQuestion(question.getQuiz().getId(), questionId);
         return questionConverter.questionToQuestionResponseDto(question);
     }
 
     @Transactional
     @Override
     public void deleteQuestion(Long questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new ResourceNotFoundException("Question not found with ID: " + questionId);
-        }
+        Long quizId = questionRepository.findQuizIdById(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question not found with ID: " + questionId));
+        optionRepository.deactivateByQuestionId(questionId);
         questionRepository.deleteById(questionId);
+        answerKeyCache.evict(quizId);
+        quizContentCache.evictQuestion(quizId, questionId);
     }
 
     /**
@@ -118,6 +170,8 @@ public class QuestionServiceImpl implements QuestionService {
 
         // Save the option to the database
         Option savedOption = optionRepository.save(option);
+        answerKeyCache.evict(question.getQuiz().getId());
+        quizContentCache.evictQuestion(question.getQuiz().getId(), questionId);
 
         // Convert the saved Option entity back to OptionDto and return
         return optionConverter.optionToOptionDto(savedOption);
@@ -153,6 +207,27 @@ public class QuestionServiceImpl implements QuestionService {
         return options.stream().map(option -> new OptionDto(option.getId(), option.getText(), option.getIsCorrect(), option.getIsActive())).collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves the number of answers choosing each option of a question from the live choice counters.
+     *
+     * <p>No answer is read: the counters are maintained when answers are submitted, updated and deleted.</p>
+     *
+     * @param questionId the ID of the question.
+     * @return the histogram of the chosen options.
+     * @throws ResourceNotFoundException if the question with the given ID is not found.
+     */
+    @Override
+    public QuestionStatsDto getQuestionStats(Long questionId) {
+        if (!choiceCounters.contains(questionId) && !questionRepository.existsById(questionId)) {
+            throw new ResourceNotFoundException("Question not found with ID: " + questionId);
+        }
+        List<QuestionStatsDto.OptionStats> options = choiceCounters.get(questionId).entrySet().stream()
+                .map(entry -> new QuestionStatsDto.OptionStats(entry.getKey(), entry.getValue()))
+                .toList();
+        long totalAnswers = options.stream().mapToLong(QuestionStatsDto.OptionStats::getChoiceCount).sum();
+        return QuestionStatsDto.builder().questionId(questionId).totalAnswers(totalAnswers).options(options).build();
+    }
+
     /**
      * Retrieves all answers submitted for a specific question by its ID.
      *
@@ -188,10 +263,12 @@ public class QuestionServiceImpl implements QuestionService {
      * @return List of QuestionDto objects.
      * @throws ResourceNotFoundException if no questions are found for the given quiz ID.
      */
+    @Transactional
     @Override
+    @Cacheable(cacheNames = QuizContentCache.QUIZ_QUESTIONS, sync = true)
     public List<QuestionResponseDto> getQuestionsByQuizId(Long quizId) {
-        // Retrieve questions directly by quizId
-        List<Question> questions = questionRepository.findByQuizId(quizId);
+        // Retrieve questions with their options in a single query
+        List<Question> questions = questionRepository.findWithOptionsByQuizId(quizId);
 
         // If no questions are found, throw an exception
         if (questions.isEmpty()) {
@@ -202,5 +279,35 @@ public class QuestionServiceImpl implements QuestionService {
         return questions.stream().map(questionConverter::questionToQuestionResponseDto).toList();
     }
 
-}
+    /**
+     * Retrieve all questions for a given quiz ID, rendered once per version of the quiz content.
+     *
+     * <p>The version covers the ID, update timestamp and state of every question and option, so any
+     * change to them yields a new ETag.</p>
+     *
+     * @param quizId ID of the quiz.
+     * @return the rendered response.
+     * @throws ResourceNotFoundException if no questions are found for the given quiz ID.
+     */
+    @Transactional
+    @Override
+    @Cacheable(cacheNames = QuizContentCache.QUIZ_QUESTION_PAYLOADS, sync = true)
+    public RenderedPayload getQuizQuestionsPayload(Long quizId) {
+        List<Question> questions = questionRepository.findWithOptionsByQuizId(quizId);
+        if (questions.isEmpty()) {
+            throw new ResourceNotFoundException("No questions found for quiz with ID: " + quizId);
+        }
 
+        StringBuilder version = new StringBuilder("questions:").append(quizId);
+        for (Question question : questions) {
+            version.append('|').append(question.getId()).append(':').append(question.getUpdatedOn())
+                    .append(':').append(question.getIsActive());
+            for (Option option : question.getOptions()) {
+                version.append(',').append(option.getId()).append(':').append(option.getUpdatedOn())
+                        .append(':').append(option.getIsActive());
+            }
+        }
+        List<QuestionResponseDto> questionDtos = questions.stream().map(questionConverter::questionToQuestionResponseDto).toList();
+        return RenderedPayload.render(objectMapper, questionDtos, "Questions retrieved successfully", version.toString());
+    }
+}
@@ -0,0 +1,277 @@
+package in.theexplorers.quiz.services.impl;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.dtos.response.QuizEventDto;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.services.QuizEventService;
+import in.theexplorers.quiz.utilities.TransactionUtility;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation fanning out quiz status changes to Server-Sent Events streams.
+ *
+ * <p>Streams are asynchronous requests, so an idle subscriber holds a connection but no thread.
+ * An event is serialized once and queued on every stream of the quiz; neither the committing
+ * transaction nor the scheduler waits for a client. Each stream has a bounded queue, drained by one
+ * task at a time on a small pool of sender threads, so a slow client delays only its own stream.
+ * A stream whose queue is full, or that fails to accept a frame, is dropped and completed; the client
+ * reconnects on its own.</p>
+ *
+ * <p>The first frame of a stream is its current status, read from the primary by the sender once the
+ * stream is registered. A change committed before the read is part of it, and one committed after is
+ * queued behind it, so the last status a client receives is the current one.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@Timed(value = "quiz.service", description = "Duration of service method calls")
+public class QuizEventServiceImpl implements QuizEventService {
+    private static final String STATUS_EVENT = "quiz-status";
+    // Queued to complete a stream after the frames before it are sent
+    private static final Supplier<Set<ResponseBodyEmitter.DataWithMediaType>> COMPLETION = () -> null;
+
+    private final ObjectMapper objectMapper;
+    private final QuizRepository quizRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutMillis;
+    private final long reconnectDelayMillis;
+    private final int queueCapacity;
+    private final Map<Long, Set<Subscriber>> subscribersByQuizId = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senderExecutor;
+
+    public QuizEventServiceImpl(ObjectMapper objectMapper, QuizRepository quizRepository, PlatformTransactionManager transactionManager,
+                                @Value("${quiz.events.timeout:PT30M}") Duration timeout,
+                                @Value("${quiz.events.reconnect-delay:PT5S}") Duration reconnectDelay,
+                                @Value("${quiz.events.sender-threads:4}") int senderThreads,
+                                @Value("${quiz.events.queue-capacity:16}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.quizRepository = quizRepository;
+        // The initial status is read on a sender thread, from the primary, so it is never older than a published change
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.timeoutMillis = timeout.toMillis();
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.senderExecutor = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("quiz-events-"));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long quizId) {
+        Subscriber subscriber = new Subscriber(createEmitter(timeoutMillis), queueCapacity);
+        // Queued before the stream is registered, so it is the first frame and every published change follows it
+        subscriber.frames.add(() -> currentStatusFrame(quizId));
+        // Added under the map lock, so a concurrent removal of the last stream cannot drop the new one
+        subscribersByQuizId.compute(quizId, (id, subscribers) -> {
+            Set<Subscriber> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        Runnable remove = () -> remove(quizId, subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(error -> remove.run());
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void publishStatus(Collection<Long> quizIds, boolean isActive) {
+        if (quizIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(quizIds);
+        TransactionUtility.runAfterCommit(() -> {
+            for (Long quizId : ids) {
+                Set<Subscriber> subscribers = subscribersByQuizId.get(quizId);
+                if (subscribers == null || subscribers.isEmpty()) {
+                    continue;
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> frame = statusFrame(quizId, isActive);
+                if (frame != null) {
+                    subscribers.forEach(subscriber -> enqueue(quizId, subscriber, () -> frame));
+                    log.debug("Quiz ID: {} status queued on {} streams", quizId, subscribers.size());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close(Long quizId) {
+        TransactionUtility.runAfterCommit(() -> {
+            Set<Subscriber> subscribers = subscribersByQuizId.get(quizId);
+            if (subscribers != null) {
+                subscribers.forEach(subscriber -> enqueue(quizId, subscriber, COMPLETION));
+            }
+        });
+    }
+
+    @Override
+    public void sendHeartbeats() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribersByQuizId.forEach((quizId, subscribers) ->
+                subscribers.forEach(subscriber -> enqueue(quizId, subscriber, () -> heartbeat)));
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+        subscribersByQuizId.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * Creates the emitter of a new stream.
+     *
+     * @param timeoutMillis the timeout of the stream in milliseconds.
+     * @return the emitter.
+     */
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void enqueue(Long quizId, Subscriber subscriber, Supplier<Set<ResponseBodyEmitter.DataWithMediaType>> frame) {
+        if (subscriber.frames.offer(frame)) {
+            schedule(subscriber);
+            return;
+        }
+        // The emitter may be blocked in a send, so it is completed by its sender rather than here
+        log.debug("Dropping a stream of quiz ID: {} that fell {} frames behind", quizId, queueCapacity);
+        subscriber.dropped = true;
+        remove(quizId, subscriber);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senderExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the stream is completed by shutdown()
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Supplier<Set<ResponseBodyEmitter.DataWithMediaType>> next;
+        while (!subscriber.dropped && (next = subscriber.frames.poll()) != null) {
+            if (next == COMPLETION) {
+                subscriber.emitter.complete();
+                subscriber.frames.clear();
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = next.get();
+            if (frame != null && !send(subscriber.emitter, frame)) {
+                subscriber.frames.clear();
+                return;
+            }
+        }
+        if (subscriber.dropped) {
+            subscriber.frames.clear();
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.draining.set(false);
+        // A frame queued after the last poll but before the flag was cleared found the stream still draining
+        if (!subscriber.frames.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> currentStatusFrame(Long quizId) {
+        Boolean isActive = transactionTemplate.execute(status ->
+                quizRepository.findByIdAndIsDeletedFalse(quizId).map(Quiz::getIsActive).orElse(null));
+        // A quiz deleted since the stream opened has its stream completed by close()
+        return isActive == null ? null : statusFrame(quizId, isActive);
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> statusFrame(Long quizId, boolean isActive) {
+        QuizEventDto event = QuizEventDto.builder().quizId(quizId).isActive(isActive).occurredOn(LocalDateTime.now()).build();
+        try {
+            return SseEmitter.event().name(STATUS_EVENT).reconnectTime(reconnectDelayMillis)
+                    .data(objectMapper.writeValueAsString(event)).build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize status event of quiz ID: {}", quizId, e);
+            return null;
+        }
+    }
+
+    private boolean send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        try {
+            emitter.send(frame);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone or the stream already completed
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Long quizId, Subscriber subscriber) {
+        subscribersByQuizId.computeIfPresent(quizId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * An open stream and the frames waiting to be sent to it. At most one sender drains it at a time.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<Set<ResponseBodyEmitter.DataWithMediaType>>> frames;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.frames = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -3,63 +3,152 @@ package in.theexplorers.quiz.services.impl;
  * Copyright (c) 2024 TheExplorers.
  */
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.caches.AnswerKey;
+import in.theexplorers.quiz.caches.AnswerKeyCache;
+import in.theexplorers.quiz.caches.AnswerMatrix;
+import in.theexplorers.quiz.caches.AnswerMatrixCache;
+import in.theexplorers.quiz.caches.AttemptTracker;
+import in.theexplorers.quiz.caches.ChoiceCounters;
+import in.theexplorers.quiz.caches.LeaderboardCache;
+import in.theexplorers.quiz.caches.QuizContentCache;
+import in.theexplorers.quiz.caches.RenderedPayload;
+import in.theexplorers.quiz.dtos.common.AnswerDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
 import in.theexplorers.quiz.dtos.request.QuizRequestDto;
 import in.theexplorers.quiz.dtos.request.QuizSubmissionDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
 import in.theexplorers.quiz.dtos.response.QuizDto;
 import in.theexplorers.quiz.dtos.response.QuizResultDto;
+import in.theexplorers.quiz.dtos.response.QuizStatusDto;
 import in.theexplorers.quiz.entities.Question;
 import in.theexplorers.quiz.entities.Quiz;
 import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.exceptions.ValidationException;
+import in.theexplorers.quiz.repositories.AnswerRepository;
+import in.theexplorers.quiz.repositories.OptionRepository;
 import in.theexplorers.quiz.repositories.QuestionRepository;
 import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.repositories.projections.AttemptProgressView;
+import in.theexplorers.quiz.schedulers.QuizTransitionWheel;
+import in.theexplorers.quiz.services.QuizEventService;
 import in.theexplorers.quiz.services.QuizService;
+import in.theexplorers.quiz.services.WebhookService;
+import in.theexplorers.quiz.utilities.CursorUtility;
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
+import in.theexplorers.quiz.utilities.TransactionUtility;
 import in.theexplorers.quiz.utilities.converters.QuestionConverter;
 import in.theexplorers.quiz.utilities.converters.QuizConverter;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.BitSet;
 import java.util.List;
 
 @Service
 @Slf4j
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class QuizServiceImpl implements QuizService {
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final QuestionConverter questionConverter;
     private final QuizConverter quizConverter;
+    private final AnswerKeyCache answerKeyCache;
+    private final WebhookService webhookService;
+    private final QuizTransitionWheel quizTransitionWheel;
+    private final QuizContentCache quizContentCache;
+    private final ObjectMapper objectMapper;
+    private final AnswerRepository answerRepository;
+    private final QuizEventService quizEventService;
+    private final AttemptTracker attemptTracker;
+    private final OptionRepository optionRepository;
+    private final EntityManager entityManager;
+    private final AnswerMatrixCache answerMatrixCache;
+    private final LeaderboardCache leaderboardCache;
+    private final ChoiceCounters choiceCounters;
+    private final Counter activatedQuizzes;
+    private final Counter deactivatedQuizzes;
 
-    public QuizServiceImpl(QuizRepository quizRepository, QuestionRepository questionRepository, QuestionConverter questionConverter, QuizConverter quizConverter) {
+    public QuizServiceImpl(QuizRepository quizRepository, QuestionRepository questionRepository, QuestionConverter questionConverter, QuizConverter quizConverter, AnswerKeyCache answerKeyCache, WebhookService webhookService, QuizTransitionWheel quizTransitionWheel, QuizContentCache quizContentCache, ObjectMapper objectMapper, AnswerRepository answerRepository, QuizEventService quizEventService, AttemptTracker attemptTracker, MeterRegistry meterRegistry, OptionRepository optionRepository, EntityManager entityManager, AnswerMatrixCache answerMatrixCache, LeaderboardCache leaderboardCache, ChoiceCounters choiceCounters) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.questionConverter = questionConverter;
         this.quizConverter = quizConverter;
+        this.answerKeyCache = answerKeyCache;
+        this.webhookService = webhookService;
+        this.quizTransitionWheel = quizTransitionWheel;
+        this.quizContentCache = quizContentCache;
+        this.objectMapper = objectMapper;
+        this.answerRepository = answerRepository;
+        this.quizEventService = quizEventService;
+        this.attemptTracker = attemptTracker;
+        this.optionRepository = optionRepository;
+        this.entityManager = entityManager;
+        this.answerMatrixCache = answerMatrixCache;
+        this.leaderboardCache = leaderboardCache;
+        this.choiceCounters = choiceCounters;
+        this.activatedQuizzes = transitionCounter(meterRegistry, "activation");
+        this.deactivatedQuizzes = transitionCounter(meterRegistry, "deactivation");
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<QuizDto> getAllQuizzes() {
-        return quizRepository.findAll().stream().map(quizConverter::quizToQuizDto).toList();
+    public CursorPageDto<QuizDto> getQuizzes(String cursor, int size, boolean includeInactive) {
+        if (includeInactive) {
+            SoftDeleteUtility.includeInactive(entityManager);
+        }
+        int pageSize = CursorUtility.pageSize(size);
+        List<Quiz> quizzes = quizRepository.findByIdGreaterThanOrderByIdAsc(CursorUtility.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPageDto.of(quizzes, pageSize, quizConverter::quizToQuizDto, quiz -> CursorUtility.encode(quiz.getId()));
     }
 
+    @Transactional
     @Override
+    @Cacheable(cacheNames = QuizContentCache.QUIZZES, sync = true)
     public QuizDto getQuizById(Long quizId) {
-        Quiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
+        Quiz quiz = quizRepository.findByIdAndIsDeletedFalse(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
         return quizConverter.quizToQuizDto(quiz);
     }
 
+    /**
+     * Retrieves the details of a quiz, rendered once per version of the quiz.
+     *
+     * <p>The version is made of the quiz ID, update timestamp and state, which every change to the
+     * quiz, including the scheduled activation, updates.</p>
+     *
+     * @param quizId The ID of the quiz.
+     * @return The rendered response.
+     */
+    @Transactional
+    @Override
+    @Cacheable(cacheNames = QuizContentCache.QUIZ_PAYLOADS, sync = true)
+    public RenderedPayload getQuizPayload(Long quizId) {
+        Quiz quiz = quizRepository.findByIdAndIsDeletedFalse(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
+        String version = "quiz:" + quiz.getId() + ':' + quiz.getUpdatedOn() + ':' + quiz.getIsActive();
+        return RenderedPayload.render(objectMapper, quizConverter.quizToQuizDto(quiz), "Quiz details retrieved successfully", version);
+    }
+
     /**
      * @param quizRequestDto
      * @return
      */
+    @Transactional
     @Override
     public QuizDto createQuiz(QuizRequestDto quizRequestDto) {
         Quiz quiz = quizConverter.quizRequestDtoToQuiz(quizRequestDto);
         // todo: need to remove after applying security
         quiz.setCreatedBy("SYSTEM");
         quiz = quizRepository.save(quiz);
+        quizTransitionWheel.schedule(quiz.getId(), quiz.getStartTime(), quiz.getEndTime());
         return quizConverter.quizToQuizDto(quiz);
     }
 
@@ -71,9 +160,11 @@ public class QuizServiceImpl implements QuizService {
      * @param quizRequestDto DTO containing the updated quiz details.
      * @return Updated quiz details.
      */
+    @Transactional
     @Override
     public QuizDto updateQuiz(Long quizId, QuizRequestDto quizRequestDto) {
-        Quiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
+        Quiz quiz = quizRepository.findByIdAndIsDeletedFalse(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
+        boolean wasActive = Boolean.TRUE.equals(quiz.getIsActive());
 
         quiz = quizConverter.quizRequestDtoToQuiz(quizRequestDto, quiz);
 //        quiz.setTitle(quizRequestDto.getTitle());
@@ -83,18 +174,43 @@ public class QuizServiceImpl implements QuizService {
         // todo: need to remove after applying security
         quiz.setUpdatedBy("SYSTEM");
         quiz = quizRepository.save(quiz);
+        quizTransitionWheel.schedule(quiz.getId(), quiz.getStartTime(), quiz.getEndTime());
+        quizContentCache.evictQuiz(quizId);
+        boolean isActive = Boolean.TRUE.equals(quiz.getIsActive());
+        if (isActive != wasActive) {
+            quizEventService.publishStatus(List.of(quizId), isActive);
+        }
 
         return quizConverter.quizToQuizDto(quiz);
     }
 
+    /**
+     * Soft deletes a quiz together with its questions and options.
+     *
+     * <p>Each table is flagged with a single update. Options are flagged first, because they are
+     * found through the questions of the quiz.</p>
+     *
+     * @param quizId The ID of the quiz.
+     * @throws ResourceNotFoundException If the quiz does not exist or is already deleted.
+     */
     @Transactional
     @Override
     public void deleteQuiz(Long quizId) {
-        if (!quizRepository.existsById(quizId)) {
+        if (quizRepository.findByIdAndIsDeletedFalse(quizId).isEmpty()) {
             throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
         }
 
+        optionRepository.deactivateByQuizId(quizId);
+        questionRepository.deactivateByQuizId(quizId);
         quizRepository.deleteById(quizId);
+        answerKeyCache.evict(quizId);
+        quizContentCache.evictQuiz(quizId);
+        quizContentCache.evictQuizQuestions(quizId);
+        quizTransitionWheel.cancel(quizId);
+        quizEventService.close(quizId);
+        answerMatrixCache.evictQuizzes(List.of(quizId));
+        leaderboardCache.evictQuizzes(List.of(quizId));
+        choiceCounters.evictQuizzes(List.of(quizId));
     }
 
     /**
@@ -109,54 +225,207 @@ public class QuizServiceImpl implements QuizService {
     @Override
     public QuestionResponseDto addQuestionToQuiz(Long quizId, QuestionRequestDto questionRequestDto) {
         // Fetch the quiz by ID
-        Quiz quiz = quizRepository.findById(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        Quiz quiz = quizRepository.findByIdAndIsDeletedFalse(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
 
-        // Convert DTO to entity
-        Question question = questionConverter.questionRequestDtoToQuestion(questionRequestDto);
+        // Save the question
+        Question savedQuestion = questionRepository.save(toQuestion(quiz, questionRequestDto));
+        answerKeyCache.evict(quizId);
+        quizContentCache.evictQuizQuestions(quizId);
 
-        // Associate the question with the quiz
-        question.setQuiz(quiz);
+        // Return response
+        return questionConverter.questionToQuestionResponseDto(savedQuestion);
+    }
 
-        // todo: remove after applying security
-        question.setCreatedBy("SYSTEM");
+    /**
+     * Adds many questions to a quiz in one transaction.
+     *
+     * <p>Questions and options draw their IDs from pooled sequences, so Hibernate writes them with a
+     * few JDBC batches instead of one statement per row.</p>
+     *
+     * @param quizId    The ID of the quiz.
+     * @param questions The validated questions to add.
+     * @return The number of added questions.
+     * @throws ResourceNotFoundException If the quiz with the given ID does not exist.
+     */
+    @Transactional
+    @Override
+    public int addQuestionsToQuiz(Long quizId, List<QuestionRequestDto> questions) {
+        Quiz quiz = quizRepository.findByIdAndIsDeletedFalse(quizId).orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        questionRepository.saveAll(questions.stream().map(questionRequestDto -> toQuestion(quiz, questionRequestDto)).toList());
+        answerKeyCache.evict(quizId);
+        quizContentCache.evictQuizQuestions(quizId);
+        return questions.size();
+    }
 
-        // 🔥 Associate each option with the question
-        if (question.getOptions() != null) {
-            question.getOptions().forEach(option -> {
-                option.setQuestion(question);
-                option.setCreatedBy("SYSTEM"); // TODO: Replace with authenticated username after enabling security
-            });
+    /**
+     * Grades a submission against the cached answer key of the quiz.
+     *
+     * <p>An answer is correct when its selected option is a correct option of its question. Each question
+     * is graded at most once; answers to questions outside the quiz or with unknown options are ignored.
+     * Once the answer key is cached, grading does not read the database.</p>
+     *
+     * @param quizId     The ID of the quiz.
+     * @param submission The answers submitted by the user.
+     * @return The result of the submission.
+     * @throws ValidationException       If the submission has no answers.
+     * @throws ResourceNotFoundException If the quiz has no questions.
+     */
+    @Override
+    public QuizResultDto evaluateQuiz(Long quizId, QuizSubmissionDto submission) {
+        if (submission == null || submission.getAnswers() == null) {
+            throw new ValidationException("Submission answers are required");
         }
 
-        // Save the question
-        Question savedQuestion = questionRepository.save(question);
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        BitSet graded = new BitSet(answerKey.getQuestionCount());
+        int correctAnswers = 0;
 
-        // Return response
-        return questionConverter.questionToQuestionResponseDto(savedQuestion);
+        for (AnswerDto answer : submission.getAnswers()) {
+            if (answer == null || answer.getQuestionId() == null || answer.getSelectedOptionId() == null) {
+                continue;
+            }
+            int questionIndex = answerKey.indexOfQuestion(answer.getQuestionId());
+            if (questionIndex < 0 || graded.get(questionIndex)) {
+                continue;
+            }
+            int optionIndex = answerKey.indexOfOption(questionIndex, answer.getSelectedOptionId());
+            if (optionIndex < 0) {
+                continue;
+            }
+            graded.set(questionIndex);
+            if (answerKey.isCorrect(optionIndex)) {
+                correctAnswers++;
+            }
+        }
+
+        int totalQuestions = answerKey.getQuestionCount();
+        return QuizResultDto.builder().quizId(quizId).userId(submission.getUserId())
+                .correctAnswers(correctAnswers)
+                .totalQuestions(totalQuestions)
+                .score(correctAnswers * 100 / totalQuestions)
+                .build();
     }
 
+    /**
+     * Computes the result of a user from the answers stored for a quiz.
+     *
+     * <p>Answers are graded when they are submitted, so the result is a count of the stored correct
+     * answers and does not join answers to options. The answers of a live quiz are counted in its
+     * answer matrix without a query.</p>
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The result of the user.
+     * @throws ResourceNotFoundException If the quiz has no questions.
+     */
     @Override
-    public QuizResultDto evaluateQuiz(Long quizId, QuizSubmissionDto submission) {
-        // Evaluate logic
-        return QuizResultDto.builder().quizId(quizId).userId(submission.getUserId()).correctAnswers(5) // Example: Computed based on submission
-                .totalQuestions(10) // Example: Quiz question count
-                .score(50) // Example: Computed score
+    public QuizResultDto getResult(Long quizId, Long userId) {
+        int totalQuestions = answerKeyCache.get(quizId).getQuestionCount();
+        AnswerMatrix answerMatrix = answerMatrixCache.find(quizId);
+        int correctAnswers = answerMatrix != null ? answerMatrix.countCorrect(userId)
+                : (int) answerRepository.countCorrectByUserIdAndQuizId(userId, quizId);
+        return QuizResultDto.builder().quizId(quizId).userId(userId)
+                .correctAnswers(correctAnswers)
+                .totalQuestions(totalQuestions)
+                .score(correctAnswers * 100 / totalQuestions)
                 .build();
     }
 
     /**
-     * @return
+     * Retrieves the progress of a user in a quiz from the attempt tracker and the answer key.
+     *
+     * <p>Both are kept in memory, so once the attempt is known no query is run.</p>
+     *
+     * @param quizId The ID of the quiz.
+     * @param userId The ID of the user.
+     * @return The status of the attempt of the user.
+     * @throws ResourceNotFoundException If the quiz has no questions.
      */
     @Override
-    public List<QuizDto> findInactiveQuizzesWithinTimeRange() {
-        LocalDateTime now = LocalDateTime.now();
+    public QuizStatusDto getQuizStatus(Long quizId, Long userId) {
+        int totalQuestions = answerKeyCache.get(quizId).getQuestionCount();
+        AttemptProgressView progress = attemptTracker.get(userId, quizId);
+        return QuizStatusDto.builder().quizId(quizId).userId(userId)
+                .started(progress.getStartedAt() != null)
+                .completed(progress.getCompletedAt() != null)
+                .answeredCount(progress.getAnsweredCount())
+                .totalQuestions(totalQuestions)
+                .progressPercentage(Math.min(progress.getAnsweredCount() * 100 / totalQuestions, 100))
+                .startedAt(progress.getStartedAt())
+                .completedAt(progress.getCompletedAt())
+                .build();
+    }
 
-        // Fetch the list of inactive quizzes within the specified time range
-        List<Quiz> quizList = quizRepository.findAllByStartTimeBeforeAndEndTimeAfterAndIsActiveFalse(now);
+    @Override
+    @Transactional
+    public List<Long> activateDueQuizzes() {
+        List<Long> quizIds = quizRepository.activateQuizzesWithinTimeRange(LocalDateTime.now());
+        // Outbox rows are written in the same transaction, so a webhook exists only for a committed activation
+        quizIds.forEach(webhookService::triggerQuizActivationWebhook);
+        quizContentCache.evictQuizzes(quizIds);
+        quizEventService.publishStatus(quizIds, true);
+        answerMatrixCache.addQuizzes(quizIds);
+        leaderboardCache.addQuizzes(quizIds);
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> activatedQuizzes.increment(quizIds.size()));
+            log.info("Activated {} quizzes", quizIds.size());
+        }
+        return quizIds;
+    }
 
-        // Return the DTO list
-        return quizList.stream().map(quizConverter::quizToQuizDto).toList();
+    @Override
+    @Transactional
+    public List<Long> deactivateEndedQuizzes() {
+        List<Long> quizIds = quizRepository.deactivateQuizzesEndedBefore(LocalDateTime.now());
+        quizContentCache.evictQuizzes(quizIds);
+        quizEventService.publishStatus(quizIds, false);
+        attemptTracker.evictQuizzes(quizIds);
+        answerMatrixCache.evictQuizzes(quizIds);
+        leaderboardCache.evictQuizzes(quizIds);
+        choiceCounters.evictQuizzes(quizIds);
+        if (!quizIds.isEmpty()) {
+            TransactionUtility.runAfterCommit(() -> deactivatedQuizzes.increment(quizIds.size()));
+            log.info("Deactivated {} quizzes", quizIds.size());
+        }
+        return quizIds;
     }
 
-}
+    /**
+     * Applies the transitions that are due and reloads the wheel. The transitions are applied in this
+     * transaction, since self-invocation bypasses the transactional proxy of the methods called.
+     */
+    @Override
+    @Transactional
+    public void reconcileQuizTransitions() {
+        activateDueQuizzes();
+        deactivateEndedQuizzes();
+        quizTransitionWheel.scheduleAll(quizRepository.findScheduleViewsEndingAfter(LocalDateTime.now()));
+    }
+
+    private Question toQuestion(Quiz quiz, QuestionRequestDto questionRequestDto) {
+        // Convert DTO to entity
+        Question question = questionConverter.questionRequestDtoToQuestion(questionRequestDto);
+
+        // Associate the question with the quiz
+        question.setQuiz(quiz);
+
+        // todo: remove after applying security
+        question.setCreatedBy("SYSTEM");
+
+        // 🔥 Associate each option with the question
+        if (question.getOptions() != null) {
+            question.getOptions().forEach(option -> {
+                option.setQuestion(question);
+                option.setCreatedBy("SYSTEM"); // TODO: Replace with authenticated username after enabling security
+            });
+        }
+        return question;
+    }
 
+    private static Counter transitionCounter(MeterRegistry meterRegistry, String transition) {
+        return Counter.builder("quiz.scheduler.transitions")
+                .description("Quizzes switched on or off by the scheduler")
+                .tag("transition", transition)
+                .register(meterRegistry);
+    }
+}
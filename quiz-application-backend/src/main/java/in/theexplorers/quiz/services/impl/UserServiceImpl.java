@@ -1,34 +1,42 @@
 package in.theexplorers.quiz.services.impl;
 
+import in.theexplorers.quiz.caches.KnownUsers;
 import in.theexplorers.quiz.dtos.common.UserDto;
+import in.theexplorers.quiz.dtos.response.CursorPageDto;
 import in.theexplorers.quiz.entities.User;
 import in.theexplorers.quiz.entities.enums.UserRole;
 import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
 import in.theexplorers.quiz.repositories.UserRepository;
 import in.theexplorers.quiz.services.UserService;
+import in.theexplorers.quiz.utilities.CursorUtility;
 import in.theexplorers.quiz.utilities.converters.UserConverter;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserConverter userConverter;
+    private final KnownUsers knownUsers;
 
-    public UserServiceImpl(UserRepository userRepository, UserConverter userConverter) {
+    public UserServiceImpl(UserRepository userRepository, UserConverter userConverter, KnownUsers knownUsers) {
         this.userRepository = userRepository;
         this.userConverter = userConverter;
+        this.knownUsers = knownUsers;
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(userConverter::userToUserDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<UserDto> getUsers(String cursor, int size) {
+        int pageSize = CursorUtility.pageSize(size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(CursorUtility.decodeId(cursor), Limit.of(pageSize + 1));
+        return CursorPageDto.of(users, pageSize, userConverter::userToUserDto, user -> CursorUtility.encode(user.getId()));
     }
 
     @Override
@@ -45,6 +53,7 @@ public class UserServiceImpl implements UserService {
         return userConverter.userToUserDto(user);
     }
 
+    @Transactional
     @Override
     public UserDto updateUser(Long userId, UserDto userDto) {
         User user = userRepository.findById(userId)
@@ -62,6 +71,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        knownUsers.evict(userId);
     }
 }
 
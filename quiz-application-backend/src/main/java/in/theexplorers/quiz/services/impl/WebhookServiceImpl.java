@@ -1,26 +1,173 @@
 package in.theexplorers.quiz.services.impl;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.configurations.WebhookProperties;
 import in.theexplorers.quiz.dtos.request.QuizActivationDto;
+import in.theexplorers.quiz.dtos.response.WebhookMetricsDto;
+import in.theexplorers.quiz.entities.WebhookDelivery;
+import in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus;
+import in.theexplorers.quiz.exceptions.OperationFailedException;
+import in.theexplorers.quiz.repositories.WebhookDeliveryRepository;
 import in.theexplorers.quiz.services.WebhookService;
+import in.theexplorers.quiz.utilities.BackoffUtility;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for the webhook outbox.
+ *
+ * <p>Every attempt is recorded on the {@code quiz.webhooks.attempts} timer, tagged with its outcome,
+ * and deferrals on the {@code quiz.webhooks.deferred} counter.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 @Service
 @Slf4j
+@Timed(value = "quiz.service", description = "Duration of service method calls")
 public class WebhookServiceImpl implements WebhookService {
+    private static final String QUIZ_ACTIVATED = "QUIZ_ACTIVATED";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookDeliveryRepository webhookDeliveryRepository;
+    private final WebhookProperties webhookProperties;
+    private final ObjectMapper objectMapper;
 
-    private final RestTemplate restTemplate;
+    private final Timer delivered;
+    private final Timer retried;
+    private final Timer failed;
+    private final Counter deferred;
 
-    public WebhookServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public WebhookServiceImpl(WebhookDeliveryRepository webhookDeliveryRepository, WebhookProperties webhookProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.webhookDeliveryRepository = webhookDeliveryRepository;
+        this.webhookProperties = webhookProperties;
+        this.objectMapper = objectMapper;
+        this.delivered = attemptTimer(meterRegistry, "delivered");
+        this.retried = attemptTimer(meterRegistry, "retried");
+        this.failed = attemptTimer(meterRegistry, "failed");
+        this.deferred = Counter.builder("quiz.webhooks.deferred")
+                .description("Deliveries postponed by the per-endpoint concurrency limit")
+                .register(meterRegistry);
     }
 
     @Override
+    @Transactional
     public void triggerQuizActivationWebhook(Long quizId) {
-        String webhookUrl = "https://your-webhook-endpoint/api/webhooks/quiz-activation";
-        QuizActivationDto payload = new QuizActivationDto(quizId);
+        String webhookUrl = webhookProperties.getQuizActivationUrl();
+        if (!StringUtils.hasText(webhookUrl)) {
+            log.debug("No quiz activation webhook configured, skipping quiz ID: {}", quizId);
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(new QuizActivationDto(quizId));
+        } catch (JsonProcessingException e) {
+            throw new OperationFailedException("Failed to serialise webhook payload for quiz ID: " + quizId);
+        }
+        webhookDeliveryRepository.save(WebhookDelivery.builder()
+                .eventType(QUIZ_ACTIVATED)
+                .endpoint(webhookUrl)
+                .payload(payload)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdBy("SYSTEM")
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public List<WebhookDelivery> claimDueDeliveries(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> deliveries = webhookDeliveryRepository.findDueForUpdate(now, Limit.of(limit));
+        LocalDateTime claimExpiry = now.plus(webhookProperties.getClaimTimeout());
+        deliveries.forEach(delivery -> {
+            delivery.setStatus(WebhookDeliveryStatus.IN_FLIGHT);
+            delivery.setNextAttemptAt(claimExpiry);
+        });
+        return deliveries;
+    }
+
+    @Override
+    @Transactional
+    public void markDelivered(Long deliveryId, Duration latency) {
+        webhookDeliveryRepository.findById(deliveryId).ifPresent(delivery -> {
+            delivery.setStatus(WebhookDeliveryStatus.DELIVERED);
+            delivery.setAttempts(delivery.getAttempts() + 1);
+            delivery.setDeliveredAt(LocalDateTime.now());
+            delivery.setLastError(null);
+        });
+        delivered.record(latency);
+    }
+
+    @Override
+    @Transactional
+    public void markAttemptFailed(Long deliveryId, String error, boolean retryable, Duration latency) {
+        webhookDeliveryRepository.findById(deliveryId).ifPresent(delivery -> {
+            int attempt = delivery.getAttempts() + 1;
+            delivery.setAttempts(attempt);
+            delivery.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH));
+            if (!retryable || attempt >= webhookProperties.getMaxAttempts()) {
+                delivery.setStatus(WebhookDeliveryStatus.FAILED);
+                failed.record(latency);
+                log.warn("Webhook delivery ID: {} to {} failed after {} attempts: {}", deliveryId, delivery.getEndpoint(), attempt, error);
+                return;
+            }
+            Duration backoff = BackoffUtility.exponentialWithJitter(attempt,
+                    webhookProperties.getInitialBackoff(), webhookProperties.getMaxBackoff());
+            delivery.setStatus(WebhookDeliveryStatus.PENDING);
+            delivery.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+            retried.record(latency);
+            log.debug("Webhook delivery ID: {} attempt {} failed, retrying in {}: {}", deliveryId, attempt, backoff, error);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void deferDelivery(Long deliveryId) {
+        webhookDeliveryRepository.findById(deliveryId).ifPresent(delivery -> {
+            delivery.setStatus(WebhookDeliveryStatus.PENDING);
+            delivery.setNextAttemptAt(LocalDateTime.now().plus(webhookProperties.getDeferDelay()));
+        });
+        deferred.increment();
+    }
+
+    @Override
+    public WebhookMetricsDto getMetrics() {
+        long attemptCount = delivered.count() + retried.count() + failed.count();
+        double totalLatencyMillis = delivered.totalTime(TimeUnit.MILLISECONDS) + retried.totalTime(TimeUnit.MILLISECONDS)
+                + failed.totalTime(TimeUnit.MILLISECONDS);
+        return WebhookMetricsDto.builder()
+                .delivered(delivered.count())
+                .retried(retried.count())
+                .failed(failed.count())
+                .deferred((long) deferred.count())
+                .inFlight(webhookDeliveryRepository.countByStatus(WebhookDeliveryStatus.IN_FLIGHT))
+                .pending(webhookDeliveryRepository.countByStatus(WebhookDeliveryStatus.PENDING))
+                .averageLatencyMillis(attemptCount == 0 ? 0 : totalLatencyMillis / attemptCount)
+                .build();
+    }
 
-        restTemplate.postForObject(webhookUrl, payload, Void.class);
+    private static Timer attemptTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("quiz.webhooks.attempts")
+                .description("Duration of webhook delivery attempts")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,44 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Utility class for computing retry delays.
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class BackoffUtility {
+
+    /**
+     * Computes the delay before the next attempt using exponential backoff with jitter.
+     *
+     * <p>The base delay is {@code initial * 2^(attempt - 1)}, capped at {@code max}. The returned delay
+     * is picked at random between half the base delay and the base delay, so that deliveries failing
+     * together do not retry together.</p>
+     *
+     * @param attempt the number of attempts made so far, starting at 1.
+     * @param initial the delay after the first attempt.
+     * @param max     the upper bound of the delay.
+     * @return the delay before the next attempt.
+     */
+    public static Duration exponentialWithJitter(int attempt, Duration initial, Duration max) {
+        long initialMillis = Math.max(1, initial.toMillis());
+        long maxMillis = Math.max(initialMillis, max.toMillis());
+        int shift = Math.max(attempt - 1, 0);
+        // Shifting past the leading zeros would overflow; the cap is reached long before that
+        long base = shift >= Long.numberOfLeadingZeros(initialMillis) - 1
+                ? maxMillis
+                : Math.min(maxMillis, initialMillis << shift);
+        long half = base / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(base - half + 1));
+    }
+
+    private BackoffUtility() {
+    }
+}
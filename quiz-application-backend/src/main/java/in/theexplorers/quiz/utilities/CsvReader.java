@@ -0,0 +1,105 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of RFC 4180 comma-separated values, one record at a time.
+ *
+ * <p>Fields may be quoted with double quotes, in which case they may contain commas, line breaks and
+ * doubled quotes. Only the current record is held in memory, so inputs of any size can be read.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CsvReader {
+    private static final int END = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private int next = NONE;
+
+    /**
+     * @param reader         the reader to read from; it is not closed.
+     * @param maxFieldLength the maximum number of characters of a field.
+     */
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input.
+     * @throws IOException              if reading fails.
+     * @throws IllegalArgumentException if a field is too long or a quoted field is not closed.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = peek();
+        if (c == END) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            c = read();
+            if (quoted) {
+                if (c == END) {
+                    throw new IllegalArgumentException("Quoted field is not closed");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == END) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+        }
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() >= maxFieldLength) {
+            throw new IllegalArgumentException("Field exceeds " + maxFieldLength + " characters");
+        }
+        field.append(c);
+    }
+
+    private int peek() throws IOException {
+        if (next == NONE) {
+            next = reader.read();
+        }
+        return next;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        next = NONE;
+        return c;
+    }
+}
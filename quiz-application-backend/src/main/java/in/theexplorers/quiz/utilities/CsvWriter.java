@@ -0,0 +1,61 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer of RFC 4180 comma-separated values, one record at a time.
+ *
+ * <p>Fields containing a comma, a double quote or a line break are quoted; null fields are written
+ * as empty fields. Records end with CRLF.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CsvWriter {
+    private final Writer writer;
+
+    /**
+     * @param writer the writer to write to; it is neither flushed nor closed.
+     */
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param fields the fields of the record, written with {@link String#valueOf(Object)}.
+     * @throws IOException if writing fails.
+     */
+    public void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(String.valueOf(fields[i]));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
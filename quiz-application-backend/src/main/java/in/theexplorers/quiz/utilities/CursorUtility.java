@@ -0,0 +1,95 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for opaque keyset pagination cursors.
+ *
+ * <p>A cursor is the URL-safe Base64 encoding of the sort key of the last row of a page. Clients must
+ * treat it as opaque and pass it back unchanged to fetch the next page.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class CursorUtility {
+    public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes the sort key of a row into a cursor.
+     *
+     * @param values The components of the sort key.
+     * @return The opaque cursor.
+     */
+    public static String encode(long... values) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            builder.append(values[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the components of its sort key.
+     *
+     * @param cursor The opaque cursor.
+     * @param length The expected number of components.
+     * @return The components of the sort key.
+     * @throws ValidationException if the cursor is malformed.
+     */
+    public static long[] decode(String cursor, int length) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != length) {
+                throw new ValidationException("Invalid cursor");
+            }
+            long[] values = new long[length];
+            for (int i = 0; i < length; i++) {
+                values[i] = Long.parseLong(parts[i]);
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor holding a single ID.
+     *
+     * @param cursor The opaque cursor, or {@code null} for the first page.
+     * @return The ID after which the page starts, {@code 0} for the first page.
+     * @throws ValidationException if the cursor is malformed.
+     */
+    public static long decodeId(String cursor) {
+        return cursor == null || cursor.isEmpty() ? 0L : decode(cursor, 1)[0];
+    }
+
+    /**
+     * Validates a requested page size.
+     *
+     * @param size The requested page size.
+     * @return The page size.
+     * @throws ValidationException if the size is not between 1 and {@link #MAX_PAGE_SIZE}.
+     */
+    public static int pageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private CursorUtility() {
+    }
+}
@@ -0,0 +1,141 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ *
+ * <p>Every element is numbered by a sequence. A producer first {@link #claim() claims} the next
+ * sequence with a compare-and-set, which fails fast when the buffer is full, and then
+ * {@link #publish(long, Object) publishes} its element in the slot of that sequence. Between the two
+ * calls the producer may use the sequence, e.g. as the position of the element in a journal.</p>
+ *
+ * <p>The consumer {@link #drainTo(Collection, int) reads} published elements in sequence order and
+ * {@link #release(int) releases} them once they have been processed; until then their slots are not
+ * reused, so a failed batch is read again by the next drain. Producers must publish every sequence
+ * they claim, and only one thread may drain and release at a time.</p>
+ *
+ * @param <T> the type of the elements
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class RingBuffer<T> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    // Sequence + 1 of the element published in each slot, so the initial zeros match no sequence
+    private final AtomicLongArray published;
+    private final AtomicLong tail;
+    private volatile long head;
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity      the number of slots, a power of two.
+     * @param firstSequence the sequence of the first element.
+     */
+    public RingBuffer(int capacity, long firstSequence) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.published = new AtomicLongArray(capacity);
+        this.tail = new AtomicLong(firstSequence);
+        this.head = firstSequence;
+    }
+
+    /**
+     * Claims the next sequence.
+     *
+     * @return the claimed sequence, or {@code -1} when the buffer is full.
+     */
+    public long claim() {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return -1;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Publishes the element of a claimed sequence to the consumer.
+     *
+     * @param sequence the sequence returned by {@link #claim()}.
+     * @param element  the element.
+     */
+    public void publish(long sequence, T element) {
+        int slot = slot(sequence);
+        elements.set(slot, element);
+        published.set(slot, sequence + 1);
+    }
+
+    /**
+     * Adds the oldest unreleased elements to a collection, stopping at the first sequence that is not
+     * published yet. The elements stay in the buffer until they are released.
+     *
+     * @param batch the collection to add to.
+     * @param max   the maximum number of elements to add.
+     * @return the number of added elements.
+     */
+    public int drainTo(Collection<? super T> batch, int max) {
+        long sequence = head;
+        int count = 0;
+        while (count < max && published.get(slot(sequence)) == sequence + 1) {
+            batch.add(elements.get(slot(sequence)));
+            sequence++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Releases the oldest elements, making their slots available to producers.
+     *
+     * @param count the number of elements to release, at most the number drained since the last release.
+     */
+    public void release(int count) {
+        long sequence = head;
+        for (int i = 0; i < count; i++) {
+            elements.set(slot(sequence + i), null);
+        }
+        head = sequence + count;
+    }
+
+    /**
+     * @return the sequence of the oldest unreleased element, or of the next element when the buffer is empty.
+     */
+    public long getHead() {
+        return head;
+    }
+
+    /**
+     * @return the number of claimed sequences that have not been released.
+     */
+    public int size() {
+        return (int) (tail.get() - head);
+    }
+
+    /**
+     * @return the number of slots.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int slot(long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,42 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+/**
+ * Utility class for reading soft-deleted quizzes, questions and options.
+ *
+ * <p>The {@value #FILTER} Hibernate filter is enabled in every session, so queries and lazy collections
+ * only return live rows. Loads by ID ({@code findById}) are not filtered.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class SoftDeleteUtility {
+
+    /**
+     * Name of the Hibernate filter hiding soft-deleted rows.
+     */
+    public static final String FILTER = "softDeleteFilter";
+
+    /**
+     * Condition of the filter on the tables whose rows are soft deleted by clearing {@code is_active}.
+     */
+    public static final String ACTIVE = "is_active = true";
+
+    /**
+     * Includes the soft-deleted rows in the reads of the current transaction.
+     *
+     * @param entityManager the entity manager bound to the current transaction.
+     */
+    public static void includeInactive(EntityManager entityManager) {
+        entityManager.unwrap(Session.class).disableFilter(FILTER);
+    }
+
+    private SoftDeleteUtility() {
+    }
+}
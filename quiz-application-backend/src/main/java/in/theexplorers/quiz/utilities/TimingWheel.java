@@ -0,0 +1,181 @@
+package in.theexplorers.quiz.utilities;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Hierarchical timing wheel firing keys at their deadlines with a resolution of one tick.
+ *
+ * <p>The wheel has four levels of 64 slots. A level-0 slot spans one tick and each slot of the next
+ * level spans the whole level below it, so with a one-second tick the levels cover about a minute,
+ * an hour, three days and six months. Keys further out wait in an overflow queue. Scheduling and
+ * cancelling are O(1); when the lowest level wraps, the slot of the level above is cascaded down.</p>
+ *
+ * <p>A key fires on the first tick at or after its deadline, never before. Each key has at most one
+ * deadline: scheduling it again replaces the previous one. All methods are thread-safe.</p>
+ *
+ * @param <K> the type of the keys
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TimingWheel<K> {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<List<Entry<K>>>> wheels = new ArrayList<>(LEVELS);
+    private final PriorityQueue<Entry<K>> overflow = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.deadlineTick));
+    private final List<Entry<K>> due = new ArrayList<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tick      the resolution of the wheel.
+     * @param nowMillis the current time in epoch milliseconds.
+     */
+    public TimingWheel(Duration tick, long nowMillis) {
+        this.tickMillis = tick.toMillis();
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be at least one millisecond");
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        for (int level = 0; level < LEVELS; level++) {
+            List<List<Entry<K>>> wheel = new ArrayList<>(WHEEL_SIZE);
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheel.add(new ArrayList<>());
+            }
+            wheels.add(wheel);
+        }
+    }
+
+    /**
+     * Schedules a key, replacing its previous deadline if any.
+     *
+     * @param key            the key.
+     * @param deadlineMillis the deadline in epoch milliseconds; a past deadline fires on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> entry = new Entry<>(key, -Math.floorDiv(-deadlineMillis, tickMillis));
+        Entry<K> previous = entries.put(key, entry);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        place(entry);
+    }
+
+    /**
+     * Cancels a key.
+     *
+     * @param key the key.
+     * @return {@code true} if the key was scheduled.
+     */
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Moves the wheel to the given time and returns the keys whose deadline has been reached.
+     *
+     * @param nowMillis the current time in epoch milliseconds.
+     * @return the due keys; empty if none.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<K> fired = new ArrayList<>();
+        drain(due, fired);
+        if (entries.isEmpty() && nowTick > currentTick) {
+            // Only cancelled entries are left in the slots, so there is nothing to walk through
+            wheels.forEach(wheel -> wheel.forEach(List::clear));
+            overflow.clear();
+            currentTick = nowTick;
+            return fired;
+        }
+        while (currentTick < nowTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    List<Entry<K>> slot = slot(level, currentTick);
+                    List<Entry<K>> cascaded = new ArrayList<>(slot);
+                    slot.clear();
+                    cascaded.forEach(this::place);
+                }
+            }
+            while (!overflow.isEmpty() && overflow.peek().deadlineTick - currentTick < 1L << (WHEEL_BITS * LEVELS)) {
+                place(overflow.poll());
+            }
+            drain(due, fired);
+            drain(slot(0, currentTick), fired);
+        }
+        return fired;
+    }
+
+    /**
+     * Returns the number of scheduled keys.
+     *
+     * @return the number of keys.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void place(Entry<K> entry) {
+        if (entry.cancelled) {
+            return;
+        }
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (WHEEL_BITS * (level + 1))) {
+                slot(level, entry.deadlineTick).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private List<Entry<K>> slot(int level, long tick) {
+        return wheels.get(level).get((int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+    }
+
+    private void drain(List<Entry<K>> source, List<K> fired) {
+        for (Entry<K> entry : source) {
+            if (!entry.cancelled) {
+                entries.remove(entry.key);
+                fired.add(entry.key);
+            }
+        }
+        source.clear();
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -5,27 +5,24 @@ package in.theexplorers.quiz.utilities.converters.impl;
 
 import in.theexplorers.quiz.dtos.common.AnswerDto;
 import in.theexplorers.quiz.entities.Answer;
+import in.theexplorers.quiz.entities.Option;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.User;
 import in.theexplorers.quiz.utilities.converters.AnswerConverter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 /**
+ * Hand-written {@link AnswerConverter} that copies fields directly, without reflection.
+ *
+ * <p>Associations are exposed by ID only. Reading the ID of a lazy association does not initialize it,
+ * so converting an answer never loads its user, question or option.</p>
+ *
  * @author Md Wasif Ali
  * @version 1.0.0
  * @since 1.0.0
  */
 @Component
 public class AnswerConverterImpl implements AnswerConverter {
-    private final ModelMapper modelMapper;
-
-    /**
-     * Constructs a new {@link AnswerConverterImpl} with the given {@link ModelMapper}.
-     *
-     * @param modelMapper the {@link ModelMapper} instance used for converting between entities and DTOs
-     */
-    public AnswerConverterImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     /**
      * Converts an {@link Answer} entity to an {@link AnswerDto} data transfer object.
@@ -35,18 +32,36 @@ public class AnswerConverterImpl implements AnswerConverter {
      */
     @Override
     public AnswerDto answerToAnswerDto(Answer answer) {
-        return modelMapper.map(answer, AnswerDto.class);
+        return AnswerDto.builder()
+                .id(answer.getId())
+                .questionId(answer.getQuestion() == null ? null : answer.getQuestion().getId())
+                .userId(answer.getUser() == null ? null : answer.getUser().getId())
+                .selectedOptionId(answer.getSelectedOption() == null ? null : answer.getSelectedOption().getId())
+                .isCorrect(answer.getIsCorrect())
+                .isActive(answer.getIsActive())
+                .createdBy(answer.getCreatedBy())
+                .updatedBy(answer.getUpdatedBy())
+                .build();
     }
 
     /**
      * Converts an {@link AnswerDto} data transfer object to an {@link Answer} entity.
+     * The user, question and selected option are set as references carrying only their ID.
      *
      * @param answerDto the {@link AnswerDto} object to be converted
      * @return an {@link Answer} entity containing the data from the given {@link AnswerDto}
      */
     @Override
     public Answer answerDtoToAnswer(AnswerDto answerDto) {
-        return modelMapper.map(answerDto, Answer.class);
+        Answer answer = toUpdateAnswer(answerDto, new Answer());
+        answer.setId(answerDto.getId());
+        if (answerDto.getUserId() != null) {
+            answer.setUser(User.builder().id(answerDto.getUserId()).build());
+        }
+        if (answerDto.getQuestionId() != null) {
+            answer.setQuestion(Question.builder().id(answerDto.getQuestionId()).build());
+        }
+        return answer;
     }
 
     /**
@@ -58,7 +73,18 @@ public class AnswerConverterImpl implements AnswerConverter {
      */
     @Override
     public Answer toUpdateAnswer(AnswerDto answerDto, Answer answer) {
-        modelMapper.map(answerDto, answer);
+        if (answerDto.getSelectedOptionId() != null) {
+            answer.setSelectedOption(Option.builder().id(answerDto.getSelectedOptionId()).build());
+        }
+        if (answerDto.getIsActive() != null) {
+            answer.setIsActive(answerDto.getIsActive());
+        }
+        if (answerDto.getCreatedBy() != null) {
+            answer.setCreatedBy(answerDto.getCreatedBy());
+        }
+        if (answerDto.getUpdatedBy() != null) {
+            answer.setUpdatedBy(answerDto.getUpdatedBy());
+        }
         return answer;
     }
 }
@@ -5,16 +5,19 @@ import in.theexplorers.quiz.dtos.request.OptionRequestDto;
 import in.theexplorers.quiz.dtos.response.OptionResponseDto;
 import in.theexplorers.quiz.entities.Option;
 import in.theexplorers.quiz.utilities.converters.OptionConverter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Hand-written {@link OptionConverter} that copies fields directly, without reflection.
+ *
+ * <p>Merging methods skip {@code null} values of the source, so partial updates keep the current state.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 @Component
 public class OptionConverterImpl implements OptionConverter {
-    private final ModelMapper modelMapper;
-
-    public OptionConverterImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     /**
      * @param option
@@ -22,7 +25,12 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public OptionDto optionToOptionDto(Option option) {
-        return modelMapper.map(option, OptionDto.class);
+        return OptionDto.builder()
+                .id(option.getId())
+                .text(option.getText())
+                .isActive(option.getIsActive())
+                .isCorrect(option.getIsCorrect())
+                .build();
     }
 
     /**
@@ -31,7 +39,9 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public Option optionDtoToOption(OptionDto optionDto) {
-        return modelMapper.map(optionDto, Option.class);
+        Option option = toUpdateOption(optionDto, new Option());
+        option.setId(optionDto.getId());
+        return option;
     }
 
     /**
@@ -40,7 +50,7 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public Option optionRequestDtoToOption(OptionRequestDto optionRequestDto) {
-        return modelMapper.map(optionRequestDto, Option.class);
+        return optionRequestDtoToOption(optionRequestDto, new Option());
     }
 
     /**
@@ -50,7 +60,15 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public Option optionRequestDtoToOption(OptionRequestDto optionRequestDto, Option option) {
-        modelMapper.map(optionRequestDto, option);
+        if (optionRequestDto.getText() != null) {
+            option.setText(optionRequestDto.getText());
+        }
+        if (optionRequestDto.getIsCorrect() != null) {
+            option.setIsCorrect(optionRequestDto.getIsCorrect());
+        }
+        if (optionRequestDto.getIsActive() != null) {
+            option.setIsActive(optionRequestDto.getIsActive());
+        }
         return option;
     }
 
@@ -60,7 +78,7 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public OptionResponseDto optionToOptionResponseDto(Option option) {
-        return modelMapper.map(option, OptionResponseDto.class);
+        return new OptionResponseDto(option.getId(), option.getText(), option.getIsCorrect(), option.getIsActive());
     }
 
     /**
@@ -70,7 +88,15 @@ public class OptionConverterImpl implements OptionConverter {
      */
     @Override
     public Option toUpdateOption(OptionDto optionDto, Option option) {
-        modelMapper.map(optionDto, option);
+        if (optionDto.getText() != null) {
+            option.setText(optionDto.getText());
+        }
+        if (optionDto.getIsCorrect() != null) {
+            option.setIsCorrect(optionDto.getIsCorrect());
+        }
+        if (optionDto.getIsActive() != null) {
+            option.setIsActive(optionDto.getIsActive());
+        }
         return option;
     }
 }
@@ -1,19 +1,34 @@
 package in.theexplorers.quiz.utilities.converters.impl;
 
 import in.theexplorers.quiz.dtos.common.QuestionDto;
+import in.theexplorers.quiz.dtos.request.OptionRequestDto;
 import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
+import in.theexplorers.quiz.dtos.response.OptionResponseDto;
 import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.entities.Option;
 import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.utilities.converters.OptionConverter;
 import in.theexplorers.quiz.utilities.converters.QuestionConverter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written {@link QuestionConverter} that copies fields directly, without reflection.
+ *
+ * <p>Merging methods skip {@code null} values of the source, so partial updates keep the current state.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 @Component
 public class QuestionConverterImpl implements QuestionConverter {
-    private final ModelMapper modelMapper;
+    private final OptionConverter optionConverter;
 
-    public QuestionConverterImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public QuestionConverterImpl(OptionConverter optionConverter) {
+        this.optionConverter = optionConverter;
     }
 
     /**
@@ -22,7 +37,13 @@ public class QuestionConverterImpl implements QuestionConverter {
      */
     @Override
     public QuestionDto questionToQuestionDto(Question question) {
-        return modelMapper.map(question, QuestionDto.class);
+        return QuestionDto.builder()
+                .id(question.getId())
+                .text(question.getText())
+                .isActive(question.getIsActive())
+                .createdBy(question.getCreatedBy())
+                .updatedBy(question.getUpdatedBy())
+                .build();
     }
 
     /**
@@ -31,17 +52,29 @@ public class QuestionConverterImpl implements QuestionConverter {
      */
     @Override
     public QuestionResponseDto questionToQuestionResponseDto(Question question) {
-        return modelMapper.map(question, QuestionResponseDto.class);
+        List<OptionResponseDto> options = null;
+        if (question.getOptions() != null) {
+            options = new ArrayList<>(question.getOptions().size());
+            for (Option option : question.getOptions()) {
+                options.add(optionConverter.optionToOptionResponseDto(option));
+            }
+        }
+        return new QuestionResponseDto(question.getId(), question.getText(), options, question.getIsActive());
     }
 
     /**
+     * Merges the request into an existing question. Only the text is updated; the options of an
+     * existing question are managed through the option endpoints.
+     *
      * @param questionRequestDto
      * @param question
      * @return
      */
     @Override
     public Question questionRequestDtoToQuestion(QuestionRequestDto questionRequestDto, Question question) {
-        modelMapper.map(questionRequestDto, question);
+        if (questionRequestDto.getText() != null) {
+            question.setText(questionRequestDto.getText());
+        }
         return question;
     }
 
@@ -51,7 +84,9 @@ public class QuestionConverterImpl implements QuestionConverter {
      */
     @Override
     public Question questionDtoToQuestion(QuestionDto questionDto) {
-        return modelMapper.map(questionDto, Question.class);
+        Question question = toUpdateQuestion(questionDto, new Question());
+        question.setId(questionDto.getId());
+        return question;
     }
 
     /**
@@ -60,7 +95,15 @@ public class QuestionConverterImpl implements QuestionConverter {
      */
     @Override
     public Question questionRequestDtoToQuestion(QuestionRequestDto questionRequestDto) {
-        return modelMapper.map(questionRequestDto, Question.class);
+        Question question = questionRequestDtoToQuestion(questionRequestDto, new Question());
+        if (questionRequestDto.getOptions() != null) {
+            List<Option> options = new ArrayList<>(questionRequestDto.getOptions().size());
+            for (OptionRequestDto optionRequestDto : questionRequestDto.getOptions()) {
+                options.add(optionConverter.optionRequestDtoToOption(optionRequestDto));
+            }
+            question.setOptions(options);
+        }
+        return question;
     }
 
     /**
@@ -70,7 +113,18 @@ public class QuestionConverterImpl implements QuestionConverter {
      */
     @Override
     public Question toUpdateQuestion(QuestionDto questionDto, Question question) {
-        modelMapper.map(questionDto, question);
+        if (questionDto.getText() != null) {
+            question.setText(questionDto.getText());
+        }
+        if (questionDto.getIsActive() != null) {
+            question.setIsActive(questionDto.getIsActive());
+        }
+        if (questionDto.getCreatedBy() != null) {
+            question.setCreatedBy(questionDto.getCreatedBy());
+        }
+        if (questionDto.getUpdatedBy() != null) {
+            question.setUpdatedBy(questionDto.getUpdatedBy());
+        }
         return question;
     }
 }
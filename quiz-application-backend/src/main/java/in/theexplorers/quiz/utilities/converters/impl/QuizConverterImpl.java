@@ -2,18 +2,29 @@ package in.theexplorers.quiz.utilities.converters.impl;
 
 import in.theexplorers.quiz.dtos.request.QuizRequestDto;
 import in.theexplorers.quiz.dtos.response.QuizDto;
+import in.theexplorers.quiz.entities.Question;
 import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.entities.UserQuiz;
 import in.theexplorers.quiz.utilities.converters.QuizConverter;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written {@link QuizConverter} that copies fields directly, without reflection.
+ *
+ * <p>Merging methods skip {@code null} values of the source, so partial updates keep the current state.
+ * Question and participant IDs are only mapped when those collections are already loaded, so converting
+ * a quiz never triggers a lazy load.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 @Component
 public class QuizConverterImpl implements QuizConverter {
-    private final ModelMapper modelMapper;
-
-    public QuizConverterImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     /**
      * @param quiz
@@ -21,7 +32,22 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public QuizDto quizToQuizDto(Quiz quiz) {
-        return modelMapper.map(quiz, QuizDto.class);
+        List<Long> questionIds = null;
+        if (quiz.getQuestions() != null && Hibernate.isInitialized(quiz.getQuestions())) {
+            questionIds = new ArrayList<>(quiz.getQuestions().size());
+            for (Question question : quiz.getQuestions()) {
+                questionIds.add(question.getId());
+            }
+        }
+        List<Long> participantIds = null;
+        if (quiz.getUserQuizzes() != null && Hibernate.isInitialized(quiz.getUserQuizzes())) {
+            participantIds = new ArrayList<>(quiz.getUserQuizzes().size());
+            for (UserQuiz userQuiz : quiz.getUserQuizzes()) {
+                participantIds.add(userQuiz.getUser().getId());
+            }
+        }
+        return new QuizDto(quiz.getId(), quiz.getTitle(), quiz.getDescription(), quiz.getStartTime(), quiz.getEndTime(),
+                Boolean.TRUE.equals(quiz.getIsActive()), questionIds, participantIds);
     }
 
     /**
@@ -32,7 +58,7 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public Quiz quizRequestDtoToQuiz(QuizRequestDto quizRequestDto) {
-        return modelMapper.map(quizRequestDto, Quiz.class);
+        return quizRequestDtoToQuiz(quizRequestDto, new Quiz());
     }
 
     /**
@@ -44,7 +70,21 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public Quiz quizRequestDtoToQuiz(QuizRequestDto quizRequestDto, Quiz quiz) {
-        modelMapper.map(quizRequestDto, quiz);
+        if (quizRequestDto.getTitle() != null) {
+            quiz.setTitle(quizRequestDto.getTitle());
+        }
+        if (quizRequestDto.getDescription() != null) {
+            quiz.setDescription(quizRequestDto.getDescription());
+        }
+        if (quizRequestDto.getStartTime() != null) {
+            quiz.setStartTime(quizRequestDto.getStartTime());
+        }
+        if (quizRequestDto.getEndTime() != null) {
+            quiz.setEndTime(quizRequestDto.getEndTime());
+        }
+        if (quizRequestDto.getIsActive() != null) {
+            quiz.setIsActive(quizRequestDto.getIsActive());
+        }
         return quiz;
     }
 
@@ -57,7 +97,21 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public QuizRequestDto quizToQuizRequestDto(Quiz quiz, QuizRequestDto quizRequestDto) {
-        modelMapper.map(quiz, quizRequestDto);
+        if (quiz.getTitle() != null) {
+            quizRequestDto.setTitle(quiz.getTitle());
+        }
+        if (quiz.getDescription() != null) {
+            quizRequestDto.setDescription(quiz.getDescription());
+        }
+        if (quiz.getStartTime() != null) {
+            quizRequestDto.setStartTime(quiz.getStartTime());
+        }
+        if (quiz.getEndTime() != null) {
+            quizRequestDto.setEndTime(quiz.getEndTime());
+        }
+        if (quiz.getIsActive() != null) {
+            quizRequestDto.setIsActive(quiz.getIsActive());
+        }
         return quizRequestDto;
     }
 
@@ -69,7 +123,8 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public QuizRequestDto quizDtoToQuizRequestDto(QuizDto quizDto) {
-        return modelMapper.map(quizDto, QuizRequestDto.class);
+        return new QuizRequestDto(quizDto.getTitle(), quizDto.getDescription(), quizDto.getStartTime(),
+                quizDto.getEndTime(), quizDto.isActive());
     }
 
     /**
@@ -78,7 +133,9 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public Quiz quizDtoToQuiz(QuizDto quizDto) {
-        return modelMapper.map(quizDto, Quiz.class);
+        Quiz quiz = toUpdateQuiz(quizDto, new Quiz());
+        quiz.setId(quizDto.getId());
+        return quiz;
     }
 
     /**
@@ -88,7 +145,19 @@ public class QuizConverterImpl implements QuizConverter {
      */
     @Override
     public Quiz toUpdateQuiz(QuizDto quizDto, Quiz quiz) {
-        modelMapper.map(quizDto, quiz);
+        if (quizDto.getTitle() != null) {
+            quiz.setTitle(quizDto.getTitle());
+        }
+        if (quizDto.getDescription() != null) {
+            quiz.setDescription(quizDto.getDescription());
+        }
+        if (quizDto.getStartTime() != null) {
+            quiz.setStartTime(quizDto.getStartTime());
+        }
+        if (quizDto.getEndTime() != null) {
+            quiz.setEndTime(quizDto.getEndTime());
+        }
+        quiz.setIsActive(quizDto.isActive());
         return quiz;
     }
 }
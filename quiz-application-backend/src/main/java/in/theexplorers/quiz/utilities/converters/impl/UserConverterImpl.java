@@ -2,17 +2,21 @@ package in.theexplorers.quiz.utilities.converters.impl;
 
 import in.theexplorers.quiz.dtos.common.UserDto;
 import in.theexplorers.quiz.entities.User;
+import in.theexplorers.quiz.entities.enums.UserRole;
 import in.theexplorers.quiz.utilities.converters.UserConverter;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+/**
+ * Hand-written {@link UserConverter} that copies fields directly, without reflection.
+ *
+ * <p>Merging methods skip {@code null} values of the source, so partial updates keep the current state.</p>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
 @Component
 public class UserConverterImpl implements UserConverter {
-    private final ModelMapper modelMapper;
-
-    public UserConverterImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
 
     /**
      * @param user
@@ -20,7 +24,8 @@ public class UserConverterImpl implements UserConverter {
      */
     @Override
     public UserDto userToUserDto(User user) {
-        return modelMapper.map(user, UserDto.class);
+        return new UserDto(user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+                user.getRole() == null ? null : user.getRole().name());
     }
 
     /**
@@ -29,7 +34,9 @@ public class UserConverterImpl implements UserConverter {
      */
     @Override
     public User userDtoToUser(UserDto userDto) {
-        return modelMapper.map(userDto, User.class);
+        User user = toUpdateUser(userDto, new User());
+        user.setId(userDto.getId());
+        return user;
     }
 
     /**
@@ -39,7 +46,18 @@ public class UserConverterImpl implements UserConverter {
      */
     @Override
     public User toUpdateUser(UserDto userDto, User user) {
-        modelMapper.map(userDto, user);
+        if (userDto.getName() != null) {
+            user.setName(userDto.getName());
+        }
+        if (userDto.getEmail() != null) {
+            user.setEmail(userDto.getEmail());
+        }
+        if (userDto.getPassword() != null) {
+            user.setPassword(userDto.getPassword());
+        }
+        if (userDto.getRole() != null) {
+            user.setRole(UserRole.valueOf(userDto.getRole()));
+        }
         return user;
     }
 }
@@ -0,0 +1,153 @@
+-- Baseline schema of the quiz application.
+--
+-- Databases created earlier by hibernate.ddl-auto=update already hold these tables, so every
+-- statement is idempotent: missing tables, columns and sequences are created, existing ones are
+-- left untouched, and the ID sequences are moved past the IDs already in use.
+
+CREATE TABLE IF NOT EXISTS app_user
+(
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'USER')),
+    is_active  BOOLEAN,
+    created_by VARCHAR(255) NOT NULL,
+    updated_by VARCHAR(255),
+    created_on TIMESTAMP(6),
+    updated_on TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS quiz
+(
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    is_active   BOOLEAN,
+    created_by  VARCHAR(255) NOT NULL,
+    updated_by  VARCHAR(255),
+    created_on  TIMESTAMP(6),
+    updated_on  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS question
+(
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    text       VARCHAR(500) NOT NULL,
+    quiz_id    BIGINT       NOT NULL REFERENCES quiz (id),
+    is_active  BOOLEAN,
+    created_by VARCHAR(255) NOT NULL,
+    updated_by VARCHAR(255),
+    created_on TIMESTAMP(6),
+    updated_on TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS option
+(
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    text         VARCHAR(255) NOT NULL,
+    question_id  BIGINT       NOT NULL REFERENCES question (id),
+    is_correct   BOOLEAN      NOT NULL,
+    is_active    BOOLEAN      NOT NULL,
+    choice_count BIGINT       NOT NULL DEFAULT 0,
+    created_by   VARCHAR(255) NOT NULL,
+    updated_by   VARCHAR(255),
+    created_on   TIMESTAMP(6),
+    updated_on   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS answer
+(
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    user_id         BIGINT       NOT NULL REFERENCES app_user (id),
+    question_id     BIGINT       NOT NULL REFERENCES question (id),
+    option_id       BIGINT REFERENCES option (id),
+    is_correct      BOOLEAN,
+    is_active       BOOLEAN,
+    idempotency_key VARCHAR(100),
+    created_by      VARCHAR(255) NOT NULL,
+    updated_by      VARCHAR(255),
+    created_on      TIMESTAMP(6),
+    updated_on      TIMESTAMP(6),
+    UNIQUE (user_id, question_id)
+);
+
+CREATE TABLE IF NOT EXISTS user_quiz
+(
+    id             BIGINT       NOT NULL PRIMARY KEY,
+    user_id        BIGINT       NOT NULL REFERENCES app_user (id),
+    quiz_id        BIGINT       NOT NULL REFERENCES quiz (id),
+    status         VARCHAR(255) NOT NULL CHECK (status IN ('NOT_STARTED', 'STARTED', 'COMPLETED')),
+    score          INTEGER,
+    answered_count INTEGER DEFAULT 0,
+    started_at     TIMESTAMP(6),
+    completed_at   TIMESTAMP(6),
+    created_by     VARCHAR(255) NOT NULL,
+    updated_by     VARCHAR(255),
+    created_on     TIMESTAMP(6),
+    updated_on     TIMESTAMP(6),
+    UNIQUE (user_id, quiz_id)
+);
+
+CREATE TABLE IF NOT EXISTS webhook_delivery
+(
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    event_type      VARCHAR(255) NOT NULL,
+    endpoint        VARCHAR(255) NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'IN_FLIGHT', 'DELIVERED', 'FAILED')),
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    delivered_at    TIMESTAMP(6),
+    created_by      VARCHAR(255) NOT NULL,
+    created_on      TIMESTAMP(6),
+    updated_on      TIMESTAMP(6)
+);
+
+-- Columns added after the first schema generated by Hibernate
+ALTER TABLE option ADD COLUMN IF NOT EXISTS choice_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE answer ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(100);
+ALTER TABLE user_quiz ADD COLUMN IF NOT EXISTS answered_count INTEGER DEFAULT 0;
+
+-- IDs come from sequences; the increments match the allocation sizes of the entities
+CREATE SEQUENCE IF NOT EXISTS app_user_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS quiz_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS question_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS option_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS answer_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_quiz_seq INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS webhook_delivery_seq INCREMENT BY 50;
+
+DO
+$$
+    DECLARE
+        entity  RECORD;
+        next_id BIGINT;
+    BEGIN
+        FOR entity IN SELECT *
+                      FROM (VALUES ('app_user', 'app_user_seq'),
+                                   ('quiz', 'quiz_seq'),
+                                   ('question', 'question_seq'),
+                                   ('option', 'option_seq'),
+                                   ('answer', 'answer_seq'),
+                                   ('user_quiz', 'user_quiz_seq'),
+                                   ('webhook_delivery', 'webhook_delivery_seq')) AS e(table_name, sequence_name)
+            LOOP
+                -- IDENTITY columns of the former mapping would still hand out their own values
+                EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', entity.table_name);
+
+                -- Pooled-lo hands out the block starting at the value returned by nextval, so the
+                -- next value must be above every ID in use and above every block already handed out
+                EXECUTE format('SELECT COALESCE(MAX(id), 0) + 1 FROM %I', entity.table_name) INTO next_id;
+                SELECT GREATEST(next_id, COALESCE(s.last_value + s.increment_by, s.start_value))
+                INTO next_id
+                FROM pg_sequences s
+                WHERE s.schemaname = current_schema()
+                  AND s.sequencename = entity.sequence_name;
+                PERFORM setval(entity.sequence_name, next_id, false);
+            END LOOP;
+    END
+$$;
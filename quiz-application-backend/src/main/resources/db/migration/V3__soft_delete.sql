@@ -0,0 +1,19 @@
+-- Soft delete of quizzes, questions and options.
+--
+-- is_active of a quiz tells whether it is running, so deleted quizzes get their own flag. Questions
+-- and options are deleted by clearing is_active. Every read goes through the soft delete filter, so
+-- the indexes of the hot reads leave the deleted rows out.
+
+ALTER TABLE quiz ADD COLUMN IF NOT EXISTS is_deleted BOOLEAN NOT NULL DEFAULT false;
+
+-- Questions written before is_active was always set were live; the filter would hide them otherwise
+UPDATE question SET is_active = true WHERE is_active IS NULL;
+
+-- quiz: live quizzes by ID, and the scheduled activation, which skips deleted quizzes
+CREATE INDEX IF NOT EXISTS idx_quiz_live_id ON quiz (id) WHERE is_deleted = false;
+
+DROP INDEX IF EXISTS idx_quiz_start_end_inactive;
+CREATE INDEX idx_quiz_start_end_inactive ON quiz (start_time, end_time) WHERE is_active = false AND is_deleted = false;
+
+-- question: pages of active questions
+CREATE INDEX IF NOT EXISTS idx_question_active_id ON question (id) WHERE is_active = true;
@@ -0,0 +1,17 @@
+-- Backfill of option.choice_count.
+--
+-- The column was added with a default of 0 to a table whose options already had answers, and the
+-- counters only add the changes made since, so older options under-report how often they were chosen.
+-- Each count is set to the number of active answers choosing the option, in one pass over answer
+-- rather than one lookup per option, since answers are not indexed by option. Options already right
+-- are left untouched.
+
+WITH counts AS (SELECT o.id, COUNT(a.id) AS chosen
+                FROM option o
+                         LEFT JOIN answer a ON a.option_id = o.id AND a.is_active = true
+                GROUP BY o.id)
+UPDATE option o
+SET choice_count = c.chosen
+FROM counts c
+WHERE c.id = o.id
+  AND o.choice_count <> c.chosen;
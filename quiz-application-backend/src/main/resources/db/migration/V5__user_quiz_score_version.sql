@@ -0,0 +1,8 @@
+-- Version of user_quiz.score.
+--
+-- Every score change increments it in the same upsert, and returns it with the new score. The
+-- leaderboards apply the returned scores after their transactions commit, which can happen in another
+-- order than the row was written in; a score older than the one already ranked is ignored. Adding a
+-- column with a constant default does not rewrite the table.
+
+ALTER TABLE user_quiz ADD COLUMN IF NOT EXISTS score_version BIGINT NOT NULL DEFAULT 0;
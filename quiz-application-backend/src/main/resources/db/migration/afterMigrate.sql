@@ -0,0 +1,37 @@
+-- Runs after every migration, including when there is nothing to migrate.
+--
+-- V1 moves the ID sequences past the IDs in use once. Rows inserted later with explicit IDs, e.g. a
+-- restored dump or a database last started with ddl-auto, whose sequences start at 1, leave a
+-- sequence behind again, and its next block would collide with existing rows. Only sequences that
+-- are behind are moved; the others are left alone, so running instances keep drawing their blocks.
+
+DO
+$$
+    DECLARE
+        entity  RECORD;
+        max_id  BIGINT;
+        next_id BIGINT;
+    BEGIN
+        FOR entity IN SELECT *
+                      FROM (VALUES ('app_user', 'app_user_seq'),
+                                   ('quiz', 'quiz_seq'),
+                                   ('question', 'question_seq'),
+                                   ('option', 'option_seq'),
+                                   ('answer', 'answer_seq'),
+                                   ('user_quiz', 'user_quiz_seq'),
+                                   ('webhook_delivery', 'webhook_delivery_seq')) AS e(table_name, sequence_name)
+            LOOP
+                EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', entity.table_name) INTO max_id;
+                -- The value the next nextval returns; pooled-lo hands out the block starting there
+                SELECT COALESCE(s.last_value + s.increment_by, s.start_value)
+                INTO next_id
+                FROM pg_sequences s
+                WHERE s.schemaname = current_schema()
+                  AND s.sequencename = entity.sequence_name;
+                IF next_id <= max_id THEN
+                    RAISE NOTICE 'Moving % from % past the highest ID % of %', entity.sequence_name, next_id, max_id, entity.table_name;
+                    PERFORM setval(entity.sequence_name, max_id + 1, false);
+                END IF;
+            END LOOP;
+    END
+$$;
@@ -0,0 +1,115 @@
+package in.theexplorers.quiz.benchmarks;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.dtos.response.QuizDto;
+import in.theexplorers.quiz.entities.Option;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.utilities.converters.OptionConverter;
+import in.theexplorers.quiz.utilities.converters.QuestionConverter;
+import in.theexplorers.quiz.utilities.converters.QuizConverter;
+import in.theexplorers.quiz.utilities.converters.impl.OptionConverterImpl;
+import in.theexplorers.quiz.utilities.converters.impl.QuestionConverterImpl;
+import in.theexplorers.quiz.utilities.converters.impl.QuizConverterImpl;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the hand-written converters with the reflective {@link ModelMapper} mapping
+ * they replaced, for lists of quizzes and questions.
+ *
+ * <p>Run it from the project directory with:</p>
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=in.theexplorers.quiz.benchmarks.ConverterBenchmark
+ * </pre>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Quiz> quizzes;
+    private List<Question> questions;
+    private ModelMapper modelMapper;
+    private QuizConverter quizConverter;
+    private QuestionConverter questionConverter;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        // Same configuration as the ModelMapper bean the converters used to delegate to
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setSkipNullEnabled(true)
+                .setMatchingStrategy(MatchingStrategies.LOOSE)
+                .setAmbiguityIgnored(true);
+
+        OptionConverter optionConverter = new OptionConverterImpl();
+        quizConverter = new QuizConverterImpl();
+        questionConverter = new QuestionConverterImpl(optionConverter);
+
+        LocalDateTime now = LocalDateTime.now();
+        quizzes = new ArrayList<>(size);
+        questions = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Quiz quiz = Quiz.builder().id(id).title("Quiz " + id).description("Description " + id)
+                    .startTime(now).endTime(now.plusHours(1)).createdBy("SYSTEM").build();
+            quizzes.add(quiz);
+
+            Question question = Question.builder().id(id).text("Question " + id).quiz(quiz).createdBy("SYSTEM").build();
+            List<Option> options = new ArrayList<>(4);
+            for (long optionId = 1; optionId <= 4; optionId++) {
+                options.add(Option.builder().id(id * 4 + optionId).text("Option " + optionId).question(question)
+                        .isCorrect(optionId == 1).createdBy("SYSTEM").build());
+            }
+            question.setOptions(options);
+            questions.add(question);
+        }
+    }
+
+    @Benchmark
+    public List<QuizDto> quizToQuizDtoModelMapper() {
+        return quizzes.stream().map(quiz -> modelMapper.map(quiz, QuizDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<QuizDto> quizToQuizDtoConverter() {
+        return quizzes.stream().map(quizConverter::quizToQuizDto).toList();
+    }
+
+    @Benchmark
+    public List<QuestionResponseDto> questionToQuestionResponseDtoModelMapper() {
+        return questions.stream().map(question -> modelMapper.map(question, QuestionResponseDto.class)).toList();
+    }
+
+    @Benchmark
+    public List<QuestionResponseDto> questionToQuestionResponseDtoConverter() {
+        return questions.stream().map(questionConverter::questionToQuestionResponseDto).toList();
+    }
+}
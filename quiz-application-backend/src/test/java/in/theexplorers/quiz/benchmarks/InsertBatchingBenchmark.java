@@ -0,0 +1,153 @@
+package in.theexplorers.quiz.benchmarks;
+/*
+ * Copyright (c) 2024 TheExplorers.
+ */
+
+import in.theexplorers.quiz.entities.Answer;
+import in.theexplorers.quiz.entities.Option;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.entities.User;
+import in.theexplorers.quiz.entities.UserQuiz;
+import in.theexplorers.quiz.entities.WebhookDelivery;
+import in.theexplorers.quiz.entities.enums.UserRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmark measuring the insert rate of question and option trees and of bulk answers through
+ * Hibernate, with the pooled-lo sequence IDs of the entities.
+ *
+ * <p>With {@code batchSize=1} every row is a separate statement, the round trips the former
+ * {@code IDENTITY} IDs forced; with {@code batchSize=50} rows are sent in JDBC batches, as configured
+ * for the application. The default in-memory H2 database hides most of the round-trip cost; point
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.user} and {@code benchmark.jdbc.password} at a
+ * scratch PostgreSQL database for representative numbers. The schema is dropped after the run.</p>
+ *
+ * <p>Run it from the project directory with:</p>
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=in.theexplorers.quiz.benchmarks.InsertBatchingBenchmark
+ * </pre>
+ *
+ * @author Md Wasif Ali
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchingBenchmark {
+    private static final int OPTIONS_PER_QUESTION = 6;
+    private static final int ANSWERS_PER_USER = 100;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+    private Long quizId;
+    private List<Long> questionIds;
+    private List<Long> optionIds;
+    private final AtomicLong userCount = new AtomicLong();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InsertBatchingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                // Same settings as the application, apart from the batch size under test
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true")
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        List.of(Quiz.class, Question.class, Option.class, User.class, Answer.class, UserQuiz.class, WebhookDelivery.class)
+                .forEach(configuration::addAnnotatedClass);
+        sessionFactory = configuration.buildSessionFactory();
+
+        // One quiz with the questions answered by every user of the answer benchmark
+        questionIds = new ArrayList<>(ANSWERS_PER_USER);
+        optionIds = new ArrayList<>(ANSWERS_PER_USER);
+        quizId = sessionFactory.fromTransaction(session -> {
+            Quiz quiz = Quiz.builder().title("Benchmark").description("Insert batching")
+                    .startTime(LocalDateTime.now()).endTime(LocalDateTime.now().plusHours(1)).createdBy("SYSTEM").build();
+            session.persist(quiz);
+            for (int i = 0; i < ANSWERS_PER_USER; i++) {
+                Question question = questionTree(quiz, i);
+                session.persist(question);
+                questionIds.add(question.getId());
+                optionIds.add(question.getOptions().get(0).getId());
+            }
+            return quiz.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Inserts a question with its options, as {@code QuizServiceImpl.addQuestionToQuiz} does.
+     */
+    @Benchmark
+    public Long insertQuestionTree() {
+        return sessionFactory.fromTransaction(session -> {
+            Question question = questionTree(session.getReference(Quiz.class, quizId), 0);
+            session.persist(question);
+            return question.getId();
+        });
+    }
+
+    /**
+     * Inserts a user with an answer to every question of the quiz.
+     */
+    @Benchmark
+    public Long insertAnswers() {
+        long user = userCount.incrementAndGet();
+        return sessionFactory.fromTransaction(session -> {
+            User answerer = User.builder().name("User " + user).email("user" + user + "@example.com")
+                    .password("secret").role(UserRole.USER).createdBy("SYSTEM").build();
+            session.persist(answerer);
+            for (int i = 0; i < questionIds.size(); i++) {
+                session.persist(Answer.builder().user(answerer)
+                        .question(session.getReference(Question.class, questionIds.get(i)))
+                        .selectedOption(session.getReference(Option.class, optionIds.get(i)))
+                        .isCorrect(true).createdBy("SYSTEM").build());
+            }
+            return answerer.getId();
+        });
+    }
+
+    private static Question questionTree(Quiz quiz, int index) {
+        Question question = Question.builder().text("Question " + index).quiz(quiz).createdBy("SYSTEM").build();
+        List<Option> options = new ArrayList<>(OPTIONS_PER_QUESTION);
+        for (int i = 0; i < OPTIONS_PER_QUESTION; i++) {
+            options.add(Option.builder().text("Option " + i).question(question).isCorrect(i == 0).createdBy("SYSTEM").build());
+        }
+        question.setOptions(options);
+        return question;
+    }
+}
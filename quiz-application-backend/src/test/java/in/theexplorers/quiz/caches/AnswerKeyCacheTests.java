@@ -0,0 +1,77 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.repositories.OptionRepository;
+import in.theexplorers.quiz.repositories.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnswerKeyCacheTests {
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final OptionRepository optionRepository = mock(OptionRepository.class);
+    private final AnswerKeyCache answerKeyCache = new AnswerKeyCache(questionRepository, optionRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void missingQuestionIsLookedUpOnceUntilAnEviction() {
+        assertThatThrownBy(() -> answerKeyCache.getByQuestionId(10L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> answerKeyCache.getByQuestionId(10L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(questionRepository, times(1)).findQuizIdById(10L);
+
+        answerKeyCache.evict(1L);
+        assertThatThrownBy(() -> answerKeyCache.getByQuestionId(10L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(questionRepository, times(2)).findQuizIdById(10L);
+    }
+
+    @Test
+    void inactiveQuestionIsLookedUpOnce() {
+        when(questionRepository.findQuizIdById(11L)).thenReturn(Optional.of(1L));
+        when(questionRepository.findActiveIdsByQuizId(1L)).thenReturn(List.of(10L));
+
+        answerKeyCache.getByQuestionId(11L);
+        answerKeyCache.getByQuestionId(11L);
+
+        verify(questionRepository, times(1)).findQuizIdById(11L);
+        verify(questionRepository, times(1)).findActiveIdsByQuizId(1L);
+    }
+
+    @Test
+    void concurrentCallersShareOneBuild() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(questionRepository.findActiveIdsByQuizId(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(10L);
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AnswerKey> first = executor.submit(() -> answerKeyCache.get(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Another quiz is not blocked by the build in progress
+            assertThatThrownBy(() -> answerKeyCache.get(2L)).isInstanceOf(ResourceNotFoundException.class);
+            release.countDown();
+
+            assertThat(answerKeyCache.get(1L)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            verify(questionRepository, times(1)).findActiveIdsByQuizId(1L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.repositories.AnswerJdbcRepository;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnswerMatrixCacheTests {
+
+    private static final long QUIZ_ID = 1L;
+
+    private final AnswerKeyCache answerKeyCache = mock(AnswerKeyCache.class);
+    private final AnswerJdbcRepository answerJdbcRepository = mock(AnswerJdbcRepository.class);
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final AnswerMatrixCache answerMatrixCache = new AnswerMatrixCache(answerKeyCache, answerJdbcRepository,
+            quizRepository, mock(PlatformTransactionManager.class), DataSize.ofMegabytes(1));
+
+    @BeforeEach
+    void setUp() {
+        when(answerKeyCache.get(QUIZ_ID)).thenReturn(AnswerKey.of(QUIZ_ID, List.of(10L, 20L), List.of(
+                AnswerMatrixTests.option(10L, 101L, false), AnswerMatrixTests.option(10L, 102L, true),
+                AnswerMatrixTests.option(20L, 201L, true), AnswerMatrixTests.option(20L, 202L, false))));
+        when(quizRepository.findLiveIds(any())).thenReturn(List.of(QUIZ_ID));
+    }
+
+    @Test
+    void matrixIsLoadedWithActiveAndWithdrawnAnswers() throws SQLException {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(row(7L, 10L, 102L, true, true));
+            handler.processRow(row(8L, 20L, 201L, true, false));
+            return null;
+        }).when(answerJdbcRepository).streamAnswersByQuizId(eq(QUIZ_ID), anyInt(), any());
+
+        answerMatrixCache.rebuild();
+        AnswerMatrix matrix = answerMatrixCache.find(QUIZ_ID);
+
+        assertThat(matrix.countCorrect(7L)).isOne();
+        assertThat(matrix.containsUser(8L)).isTrue();
+        assertThat(matrix.countAnswered(8L)).isZero();
+        assertThat(matrix.containsUser(9L)).isFalse();
+    }
+
+    @Test
+    void changesCommittedWhileTheMatrixLoadsAreAppliedBeforeItIsPublished() throws SQLException {
+        AnswerMatrix[] foundWhileLoading = {null};
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(row(7L, 10L, 101L, false, true));
+            // Outside a transaction the changes apply at once, as if committed by another request
+            answerMatrixCache.recordAnswer(QUIZ_ID, 7L, 10L, 102L, true);
+            answerMatrixCache.recordAnswer(QUIZ_ID, 8L, 20L, 201L, true);
+            answerMatrixCache.recordWithdrawn(QUIZ_ID, 8L, 20L);
+            foundWhileLoading[0] = answerMatrixCache.find(QUIZ_ID);
+            return null;
+        }).when(answerJdbcRepository).streamAnswersByQuizId(anyLong(), anyInt(), any());
+
+        answerMatrixCache.rebuild();
+        AnswerMatrix matrix = answerMatrixCache.find(QUIZ_ID);
+
+        assertThat(foundWhileLoading[0]).isNull();
+        assertThat(matrix).isNotNull();
+        assertThat(matrix.countCorrect(7L)).isOne();
+        assertThat(matrix.containsUser(8L)).isTrue();
+        assertThat(matrix.countAnswered(8L)).isZero();
+    }
+
+    @Test
+    void quizEndedWhileItsMatrixLoadsIsNotPublished() throws SQLException {
+        doAnswer(invocation -> {
+            answerMatrixCache.evictQuizzes(List.of(QUIZ_ID));
+            return null;
+        }).when(answerJdbcRepository).streamAnswersByQuizId(anyLong(), anyInt(), any());
+
+        answerMatrixCache.rebuild();
+
+        assertThat(answerMatrixCache.find(QUIZ_ID)).isNull();
+    }
+
+    private static ResultSet row(long userId, long questionId, long optionId, boolean isCorrect, boolean isActive) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("user_id")).thenReturn(userId);
+        when(resultSet.getLong("question_id")).thenReturn(questionId);
+        when(resultSet.getLong("option_id")).thenReturn(optionId);
+        when(resultSet.getBoolean("is_correct")).thenReturn(isCorrect);
+        when(resultSet.getBoolean("is_active")).thenReturn(isActive);
+        return resultSet;
+    }
+}
@@ -0,0 +1,99 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.repositories.projections.OptionKeyView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerMatrixTests {
+
+    // Questions 10 and 20 with options 101-103 (102 correct) and 201-202 (201 correct)
+    private final AnswerKey answerKey = AnswerKey.of(1L, List.of(10L, 20L), List.of(
+            option(10L, 101L, false), option(10L, 102L, true), option(10L, 103L, false),
+            option(20L, 201L, true), option(20L, 202L, false)));
+
+    static OptionKeyView option(long questionId, long optionId, boolean isCorrect) {
+        return new OptionKeyView() {
+            @Override
+            public Long getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public Long getOptionId() {
+                return optionId;
+            }
+
+            @Override
+            public Boolean getIsCorrect() {
+                return isCorrect;
+            }
+        };
+    }
+
+    @Test
+    void cellsHoldSelectedOptionAndGradeOfCurrentAnswers() {
+        AnswerMatrix matrix = AnswerMatrix.of(answerKey, 1 << 20);
+
+        assertThat(matrix.put(7L, 10L, 103L, false)).isTrue();
+        assertThat(matrix.put(7L, 20L, 201L, true)).isTrue();
+        assertThat(matrix.put(7L, 10L, 102L, true)).isTrue();
+        assertThat(matrix.put(8L, 20L, 202L, false)).isTrue();
+
+        assertThat(matrix.countAnswered(7L)).isEqualTo(2);
+        assertThat(matrix.countCorrect(7L)).isEqualTo(2);
+        assertThat(matrix.countAnswered(8L)).isEqualTo(1);
+        assertThat(matrix.countCorrect(8L)).isZero();
+
+        assertThat(matrix.withdraw(7L, 20L)).isTrue();
+        assertThat(matrix.countAnswered(7L)).isEqualTo(1);
+        assertThat(matrix.countCorrect(7L)).isEqualTo(1);
+        assertThat(matrix.containsUser(7L)).isTrue();
+    }
+
+    @Test
+    void usersWithStoredAnswersOutsideTheKeyHaveAnEmptyRow() {
+        AnswerMatrix matrix = AnswerMatrix.of(answerKey, 1 << 20);
+
+        // An option of another question, and a withdrawn answer
+        assertThat(matrix.put(9L, 10L, 201L, true)).isTrue();
+        assertThat(matrix.withdraw(11L, 10L)).isTrue();
+
+        assertThat(matrix.containsUser(9L)).isTrue();
+        assertThat(matrix.containsUser(11L)).isTrue();
+        assertThat(matrix.containsUser(12L)).isFalse();
+        assertThat(matrix.countAnswered(9L)).isZero();
+        assertThat(matrix.countAnswered(11L)).isZero();
+    }
+
+    @Test
+    void usersBeyondTheCeilingAreRejectedAndKnownUsersStillAnswer() {
+        int maxUsers = 100;
+        AnswerMatrix matrix = AnswerMatrix.of(answerKey, (long) maxUsers * (2 + AnswerMatrix.BYTES_PER_USER));
+        Random random = new Random(42);
+        Map<Long, Integer> correct = new HashMap<>();
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < maxUsers; i++) {
+            userIds.add(random.nextLong(1_000_000_000L));
+        }
+        for (long userId : userIds) {
+            boolean isCorrect = random.nextBoolean();
+            assertThat(matrix.put(userId, 10L, isCorrect ? 102L : 101L, isCorrect)).isTrue();
+            correct.put(userId, isCorrect ? 1 : 0);
+        }
+
+        assertThat(matrix.put(-1L, 10L, 101L, false)).isFalse();
+        assertThat(matrix.put(userIds.get(0), 20L, 201L, true)).isTrue();
+        correct.merge(userIds.get(0), 1, Integer::sum);
+
+        assertThat(matrix.getUserCount()).isEqualTo(maxUsers);
+        assertThat(matrix.getSizeInBytes()).isLessThanOrEqualTo((long) maxUsers * (2 + AnswerMatrix.BYTES_PER_USER));
+        correct.forEach((userId, count) -> assertThat(matrix.countCorrect(userId)).isEqualTo(count));
+    }
+}
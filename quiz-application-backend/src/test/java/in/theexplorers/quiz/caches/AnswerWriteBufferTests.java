@@ -0,0 +1,66 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnswerWriteBufferTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void answersNotReleasedAreReplayedOnOpen() throws IOException {
+        Path journal = directory.resolve("answer-journal");
+        try (AnswerWriteBuffer buffer = AnswerWriteBuffer.open(journal, 4)) {
+            for (long questionId = 1; questionId <= 3; questionId++) {
+                assertThat(buffer.offer(answer(questionId))).isTrue();
+            }
+            assertThat(buffer.drain(2)).extracting(AnswerDto::getQuestionId).containsExactly(1L, 2L);
+            buffer.release(2);
+            assertThat(buffer.offer(answer(4))).isTrue();
+        }
+
+        try (AnswerWriteBuffer buffer = AnswerWriteBuffer.open(journal, 4)) {
+            List<AnswerDto> replayed = buffer.drain(10);
+            assertThat(replayed).extracting(AnswerDto::getQuestionId).containsExactly(3L, 4L);
+            assertThat(replayed.get(0)).isEqualTo(answer(3));
+            buffer.release(2);
+        }
+
+        try (AnswerWriteBuffer buffer = AnswerWriteBuffer.open(journal, 4)) {
+            assertThat(buffer.size()).isZero();
+        }
+    }
+
+    @Test
+    void fullBufferRejectsAnswers() throws IOException {
+        try (AnswerWriteBuffer buffer = AnswerWriteBuffer.open(directory.resolve("answer-journal"), 2)) {
+            assertThat(buffer.offer(answer(1))).isTrue();
+            assertThat(buffer.offer(answer(2))).isTrue();
+            assertThat(buffer.offer(answer(3))).isFalse();
+        }
+    }
+
+    @Test
+    void journalWithUnstoredAnswersKeepsItsCapacity() throws IOException {
+        Path journal = directory.resolve("answer-journal");
+        try (AnswerWriteBuffer buffer = AnswerWriteBuffer.open(journal, 2)) {
+            buffer.offer(answer(1));
+        }
+
+        assertThatThrownBy(() -> AnswerWriteBuffer.open(journal, 4)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static AnswerDto answer(long questionId) {
+        return AnswerDto.builder().userId(7L).questionId(questionId).selectedOptionId(questionId * 10)
+                .isCorrect(questionId % 2 == 1).isActive(true).build();
+    }
+}
@@ -0,0 +1,90 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.entities.enums.QuizAttemptStatus;
+import in.theexplorers.quiz.repositories.UserQuizJdbcRepository;
+import in.theexplorers.quiz.repositories.projections.AttemptProgressView;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Records changes outside a transaction, so they apply immediately, as they would after a commit.
+ */
+class AttemptTrackerTests {
+
+    private final UserQuizJdbcRepository userQuizJdbcRepository = mock(UserQuizJdbcRepository.class);
+    private final AttemptTracker attemptTracker = new AttemptTracker(userQuizJdbcRepository);
+
+    @Test
+    void firstAnswerOfAnUnknownAttemptIsCountedOnce() {
+        // The committed answer is already part of the seeded count
+        when(userQuizJdbcRepository.findProgress(1L, 2L))
+                .thenReturn(new AttemptProgressView(1L, 2L, QuizAttemptStatus.NOT_STARTED, 1, null, null));
+
+        attemptTracker.recordAnswered(1L, 2L, 1, 3);
+        AttemptProgressView progress = attemptTracker.get(1L, 2L);
+        assertThat(progress.getAnsweredCount()).isEqualTo(1);
+        assertThat(progress.getStatus()).isEqualTo(QuizAttemptStatus.STARTED);
+
+        attemptTracker.recordAnswered(1L, 2L, 2, 3);
+        progress = attemptTracker.get(1L, 2L);
+        assertThat(progress.getAnsweredCount()).isEqualTo(3);
+        assertThat(progress.getStatus()).isEqualTo(QuizAttemptStatus.COMPLETED);
+    }
+
+    @Test
+    void firstWithdrawalOfAnUnknownAttemptIsSubtractedOnce() {
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(5);
+        // The stored attempt was completed with 3 answers, one of which has just been withdrawn
+        when(userQuizJdbcRepository.findProgress(1L, 2L))
+                .thenReturn(new AttemptProgressView(1L, 2L, QuizAttemptStatus.COMPLETED, 2, startedAt, startedAt.plusMinutes(1)));
+
+        attemptTracker.recordWithdrawn(1L, 2L);
+        AttemptProgressView progress = attemptTracker.get(1L, 2L);
+        assertThat(progress.getAnsweredCount()).isEqualTo(2);
+        assertThat(progress.getStatus()).isEqualTo(QuizAttemptStatus.STARTED);
+
+        attemptTracker.recordWithdrawn(1L, 2L);
+        assertThat(attemptTracker.get(1L, 2L).getAnsweredCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changeCommittedBeforeTheAttemptWasSeededIsNotCountedAgain() {
+        when(userQuizJdbcRepository.findProgress(1L, 2L))
+                .thenReturn(new AttemptProgressView(1L, 2L, QuizAttemptStatus.NOT_STARTED, 2, null, null));
+
+        // The first answer is recorded in its transaction, whose callback only runs after the second answer seeds the attempt
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> firstCommit;
+        try {
+            attemptTracker.recordAnswered(1L, 2L, 1, 3);
+            firstCommit = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        attemptTracker.recordAnswered(1L, 2L, 1, 3);
+        firstCommit.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(attemptTracker.get(1L, 2L).getAnsweredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void readingAnUnknownAttemptDoesNotKeepIt() {
+        when(userQuizJdbcRepository.findProgress(1L, 2L))
+                .thenReturn(new AttemptProgressView(1L, 2L, QuizAttemptStatus.NOT_STARTED, 0, null, null));
+
+        attemptTracker.get(1L, 2L);
+        attemptTracker.get(1L, 2L);
+
+        verify(userQuizJdbcRepository, times(2)).findProgress(1L, 2L);
+    }
+}
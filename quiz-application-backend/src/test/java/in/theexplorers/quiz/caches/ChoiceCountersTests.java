@@ -0,0 +1,101 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.repositories.OptionJdbcRepository;
+import in.theexplorers.quiz.repositories.OptionRepository;
+import in.theexplorers.quiz.repositories.QuestionRepository;
+import in.theexplorers.quiz.repositories.projections.OptionChoiceCountView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChoiceCountersTests {
+
+    private final OptionRepository optionRepository = mock(OptionRepository.class);
+    private final OptionJdbcRepository optionJdbcRepository = mock(OptionJdbcRepository.class);
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final ChoiceCounters choiceCounters = new ChoiceCounters(optionRepository, optionJdbcRepository, questionRepository);
+
+    @BeforeEach
+    void setUp() {
+        List<OptionChoiceCountView> counts = List.of(count(101L, 3L), count(102L, 0L));
+        when(optionRepository.findChoiceCountsByQuestionId(10L)).thenReturn(counts);
+        when(questionRepository.findQuizIdById(10L)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void histogramIsSeededFromTheDatabaseAndIncremented() {
+        // Outside a transaction the changes apply at once, as if committed
+        choiceCounters.record(10L, 101L, 1);
+        choiceCounters.record(10L, 102L, 1);
+        choiceCounters.record(10L, 102L, 1);
+
+        assertThat(choiceCounters.get(10L)).containsExactly(Map.entry(101L, 4L), Map.entry(102L, 2L));
+    }
+
+    @Test
+    void changedAnswerMovesTheCountBetweenOptions() {
+        choiceCounters.record(10L, 101L, -1);
+        choiceCounters.record(10L, 102L, 1);
+
+        assertThat(choiceCounters.get(10L)).containsExactly(Map.entry(101L, 2L), Map.entry(102L, 1L));
+    }
+
+    @Test
+    void flushWritesTheNetChangesOnce() {
+        choiceCounters.record(10L, 101L, 1);
+        choiceCounters.record(10L, 102L, 1);
+        choiceCounters.record(10L, 102L, -1);
+
+        choiceCounters.flush();
+        choiceCounters.flush();
+
+        verify(optionJdbcRepository).addChoiceCounts(Map.of(101L, 1L));
+        assertThat(choiceCounters.get(10L)).containsExactly(Map.entry(101L, 4L), Map.entry(102L, 0L));
+    }
+
+    @Test
+    void failedFlushIsRetriedWithTheLaterChanges() {
+        doThrow(new DataAccessResourceFailureException("down")).doNothing().when(optionJdbcRepository).addChoiceCounts(any());
+        choiceCounters.record(10L, 101L, 1);
+        choiceCounters.flush();
+
+        choiceCounters.record(10L, 101L, 1);
+        choiceCounters.record(10L, 102L, 1);
+        choiceCounters.flush();
+
+        verify(optionJdbcRepository).addChoiceCounts(Map.of(101L, 1L));
+        verify(optionJdbcRepository).addChoiceCounts(Map.of(101L, 2L, 102L, 1L));
+    }
+
+    @Test
+    void histogramOfAnEndedQuizIsReseededWithTheUnflushedChanges() {
+        choiceCounters.record(10L, 101L, 1);
+
+        choiceCounters.evictQuizzes(List.of(2L));
+        assertThat(choiceCounters.contains(10L)).isTrue();
+        choiceCounters.evictQuizzes(List.of(1L));
+        assertThat(choiceCounters.contains(10L)).isFalse();
+
+        assertThat(choiceCounters.get(10L)).containsExactly(Map.entry(101L, 4L), Map.entry(102L, 0L));
+        verify(optionRepository, times(2)).findChoiceCountsByQuestionId(10L);
+    }
+
+    private static OptionChoiceCountView count(long optionId, long choiceCount) {
+        OptionChoiceCountView view = mock(OptionChoiceCountView.class);
+        when(view.getOptionId()).thenReturn(optionId);
+        when(view.getChoiceCount()).thenReturn(choiceCount);
+        return view;
+    }
+}
@@ -0,0 +1,46 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.configurations.AnswerBufferProperties;
+import in.theexplorers.quiz.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KnownUsersTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final KnownUsers knownUsers = new KnownUsers(userRepository, new AnswerBufferProperties());
+
+    @Test
+    void existingUserIsLookedUpOnce() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(knownUsers.exists(1L)).isTrue();
+        assertThat(knownUsers.exists(1L)).isTrue();
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void missingUserIsNotCached() {
+        assertThat(knownUsers.exists(1L)).isFalse();
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        assertThat(knownUsers.exists(1L)).isTrue();
+    }
+
+    @Test
+    void deletedUserIsLookedUpAgain() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        knownUsers.exists(1L);
+
+        knownUsers.evict(1L);
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThat(knownUsers.exists(1L)).isFalse();
+    }
+}
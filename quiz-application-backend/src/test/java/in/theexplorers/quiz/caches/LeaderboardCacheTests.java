@@ -0,0 +1,59 @@
+package in.theexplorers.quiz.caches;
+
+import in.theexplorers.quiz.exceptions.ResourceNotFoundException;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.repositories.UserQuizJdbcRepository;
+import in.theexplorers.quiz.repositories.projections.UserScoreView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardCacheTests {
+
+    private final UserQuizJdbcRepository userQuizJdbcRepository = mock(UserQuizJdbcRepository.class);
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final LeaderboardCache leaderboardCache = new LeaderboardCache(userQuizJdbcRepository, quizRepository, 1);
+
+    @Test
+    void unknownQuizIsRejectedWithoutBeingCached() {
+        assertThatThrownBy(() -> leaderboardCache.get(1L)).isInstanceOf(ResourceNotFoundException.class);
+
+        when(quizRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+        assertThat(leaderboardCache.get(1L).size()).isZero();
+    }
+
+    @Test
+    void liveLeaderboardIsDroppedWhenItsQuizEnds() {
+        when(quizRepository.findLiveIds(any())).thenReturn(List.of(1L));
+        leaderboardCache.rebuild();
+        Leaderboard live = leaderboardCache.get(1L);
+        assertThat(leaderboardCache.get(1L)).isSameAs(live);
+
+        leaderboardCache.evictQuizzes(List.of(1L));
+        when(quizRepository.existsByIdAndIsDeletedFalse(1L)).thenReturn(true);
+
+        assertThat(leaderboardCache.get(1L)).isNotSameAs(live);
+        verify(userQuizJdbcRepository, times(1)).findScoresByQuizId(1L);
+    }
+
+    @Test
+    void scoreCommittedEarlierButAppliedLaterIsIgnored() {
+        when(quizRepository.findLiveIds(any())).thenReturn(List.of(1L));
+        when(userQuizJdbcRepository.findScoresOfLiveQuizzes(any())).thenReturn(List.of(new UserScoreView(7L, 1L, 3, 3)));
+        leaderboardCache.rebuild();
+
+        leaderboardCache.update(List.of(new UserScoreView(7L, 1L, 2, 2)));
+        assertThat(leaderboardCache.get(1L).standingOf(7L).getScore()).isEqualTo(3);
+
+        leaderboardCache.update(List.of(new UserScoreView(7L, 1L, 4, 4)));
+        assertThat(leaderboardCache.get(1L).standingOf(7L).getScore()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,68 @@
+package in.theexplorers.quiz.caches;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTests {
+
+    private final Leaderboard leaderboard = new Leaderboard(1L);
+
+    @Test
+    void tiedScoresShareRankAndPagesResumeAfterCursor() {
+        leaderboard.update(1, 3, 1);
+        leaderboard.update(2, 5, 1);
+        leaderboard.update(3, 3, 1);
+        leaderboard.update(4, 1, 1);
+
+        List<Leaderboard.RankedStanding> first = leaderboard.page(null, 2);
+        assertThat(first).extracting(Leaderboard.RankedStanding::getUserId).containsExactly(2L, 1L);
+        assertThat(first).extracting(Leaderboard.RankedStanding::getRank).containsExactly(1, 2);
+
+        Leaderboard.RankedStanding last = first.get(1);
+        List<Leaderboard.RankedStanding> second = leaderboard.page(new Leaderboard.Standing(last.getUserId(), last.getScore()), 2);
+        assertThat(second).extracting(Leaderboard.RankedStanding::getUserId).containsExactly(3L, 4L);
+        assertThat(second).extracting(Leaderboard.RankedStanding::getRank).containsExactly(2, 4);
+    }
+
+    @Test
+    void olderScoreAppliedLateIsIgnored() {
+        leaderboard.update(1, 2, 2);
+        leaderboard.update(2, 1, 1);
+        leaderboard.update(1, 1, 1);
+
+        assertThat(leaderboard.standingOf(1)).isEqualTo(new Leaderboard.RankedStanding(1, 1, 2));
+        assertThat(leaderboard.standingOf(2)).isEqualTo(new Leaderboard.RankedStanding(2, 2, 1));
+        assertThat(leaderboard.page(null, 10)).hasSize(2);
+    }
+
+    @Test
+    void ranksMatchSortedScoresAfterRandomUpdates() {
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            long userId = random.nextInt(500);
+            // Scores beyond the initial Fenwick capacity force it to grow
+            int score = random.nextInt(200);
+            leaderboard.update(userId, score, i + 1);
+            expected.put(userId, score);
+        }
+
+        assertThat(leaderboard.size()).isEqualTo(expected.size());
+        List<Integer> sorted = new ArrayList<>(expected.values());
+        sorted.sort(Comparator.reverseOrder());
+        expected.forEach((userId, score) -> {
+            Leaderboard.RankedStanding standing = leaderboard.standingOf(userId);
+            assertThat(standing.getScore()).isEqualTo(score);
+            assertThat(standing.getRank()).isEqualTo(sorted.indexOf(score) + 1);
+        });
+        assertThat(leaderboard.standingOf(1_000)).isNull();
+    }
+}
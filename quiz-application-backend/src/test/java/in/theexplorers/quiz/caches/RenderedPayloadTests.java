@@ -0,0 +1,40 @@
+package in.theexplorers.quiz.caches;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RenderedPayloadTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void etagDependsOnVersionOnly() {
+        RenderedPayload first = RenderedPayload.render(objectMapper, Map.of("id", 1), "ok", "quiz:1:v1");
+        RenderedPayload again = RenderedPayload.render(objectMapper, Map.of("id", 1), "ok", "quiz:1:v1");
+        RenderedPayload changed = RenderedPayload.render(objectMapper, Map.of("id", 1), "ok", "quiz:1:v2");
+
+        assertThat(first.getEtag()).isEqualTo(again.getEtag()).startsWith("\"").endsWith("\"");
+        assertThat(changed.getEtag()).isNotEqualTo(first.getEtag());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModified() {
+        RenderedPayload payload = RenderedPayload.render(objectMapper, Map.of("id", 1), "ok", "quiz:1:v1");
+
+        ResponseEntity<byte[]> notModified = payload.toResponse("\"other\", W/" + payload.getEtag());
+        ResponseEntity<byte[]> modified = payload.toResponse("\"other\"");
+
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(payload.getEtag());
+        assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(modified.getBody())).contains("\"payload\":{\"id\":1}");
+    }
+}
@@ -0,0 +1,273 @@
+package in.theexplorers.quiz.repositories;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.dtos.common.AnswerDto;
+import in.theexplorers.quiz.entities.Option;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.entities.User;
+import in.theexplorers.quiz.entities.enums.UserRole;
+import in.theexplorers.quiz.entities.enums.WebhookDeliveryStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query on PostgreSQL with the migrated schema, and checks the generic plan of
+ * each statement it sent reads every table through an index.
+ *
+ * <p>Sequential scans and hash or merge joins are disabled while planning, so the planner only falls
+ * back to them when no index matches; such a plan, or an index scan filtering rows without an index
+ * condition, fails the test.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({AnswerJdbcRepository.class, OptionJdbcRepository.class, UserQuizJdbcRepository.class, QueryPlanTests.StatementRecorder.class})
+class QueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static final Pattern QUERY = Pattern.compile("^\\s*(select|update|delete|with)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private OptionRepository optionRepository;
+    @Autowired
+    private AnswerRepository answerRepository;
+    @Autowired
+    private QuizRepository quizRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+    @Autowired
+    private AnswerJdbcRepository answerJdbcRepository;
+    @Autowired
+    private OptionJdbcRepository optionJdbcRepository;
+    @Autowired
+    private UserQuizJdbcRepository userQuizJdbcRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long quizId;
+    private Long questionId;
+    private Long optionId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Quiz quiz = entityManager.persist(Quiz.builder().title("Java").description("Java basics")
+                .startTime(now).endTime(now.plusHours(1)).createdBy("SYSTEM").build());
+        Question question = entityManager.persist(Question.builder().text("Question").quiz(quiz).createdBy("SYSTEM").build());
+        Option option = entityManager.persist(Option.builder().text("Option").question(question).isCorrect(true)
+                .createdBy("SYSTEM").build());
+        User user = entityManager.persist(User.builder().name("User").email("user@theexplorers.in").password("secret")
+                .role(UserRole.USER).createdBy("SYSTEM").build());
+        entityManager.flush();
+        entityManager.clear();
+        quizId = quiz.getId();
+        questionId = question.getId();
+        optionId = option.getId();
+        userId = user.getId();
+    }
+
+    @Test
+    void repositoryQueriesReadEveryTableThroughAnIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("QuestionRepository.findByQuizId", () -> questionRepository.findByQuizId(quizId));
+        queries.put("QuestionRepository.findWithOptionsByQuizId", () -> questionRepository.findWithOptionsByQuizId(quizId));
+        queries.put("QuestionRepository.findWithOptionsById", () -> questionRepository.findWithOptionsById(questionId));
+        queries.put("QuestionRepository.findIdsAfter", () -> questionRepository.findIdsAfter(0L, Limit.of(10)));
+        queries.put("QuestionRepository.findWithOptionsByIdIn", () -> questionRepository.findWithOptionsByIdIn(List.of(questionId)));
+        queries.put("QuestionRepository.findActiveIdsByQuizId", () -> questionRepository.findActiveIdsByQuizId(quizId));
+        queries.put("QuestionRepository.findQuizIdById", () -> questionRepository.findQuizIdById(questionId));
+        queries.put("OptionRepository.findByQuestionId", () -> optionRepository.findByQuestionId(questionId));
+        queries.put("OptionRepository.findByQuestion", () -> optionRepository.findByQuestion(entityManager.getEntityManager().getReference(Question.class, questionId)));
+        queries.put("OptionRepository.findKeyViewsByQuizId", () -> optionRepository.findKeyViewsByQuizId(quizId));
+        queries.put("OptionRepository.findChoiceCountsByQuestionId", () -> optionRepository.findChoiceCountsByQuestionId(questionId));
+        queries.put("OptionRepository.findOwnerById", () -> optionRepository.findOwnerById(optionId));
+        queries.put("AnswerRepository.findActiveById", () -> answerRepository.findActiveById(1L));
+        queries.put("AnswerRepository.findByUserIdAndQuizId", () -> answerRepository.findByUserIdAndQuizId(userId, quizId));
+        queries.put("AnswerRepository.countCorrectByUserIdAndQuizId", () -> answerRepository.countCorrectByUserIdAndQuizId(userId, quizId));
+        queries.put("AnswerRepository.findByQuestion", () -> answerRepository.findByQuestion(entityManager.getEntityManager().getReference(Question.class, questionId)));
+        queries.put("AnswerRepository.findByIdGreaterThanOrderByIdAsc", () -> answerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        queries.put("QuizRepository.activateQuizzesWithinTimeRange", () -> quizRepository.activateQuizzesWithinTimeRange(now));
+        queries.put("QuizRepository.deactivateQuizzesEndedBefore", () -> quizRepository.deactivateQuizzesEndedBefore(now));
+        queries.put("QuizRepository.findScheduleViewsEndingAfter", () -> quizRepository.findScheduleViewsEndingAfter(now));
+        queries.put("QuizRepository.findLiveIds", () -> quizRepository.findLiveIds(now));
+        queries.put("QuizRepository.findByIdGreaterThanOrderByIdAsc", () -> quizRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        queries.put("QuizRepository.findByIdAndIsDeletedFalse", () -> quizRepository.findByIdAndIsDeletedFalse(quizId));
+        queries.put("UserRepository.findByIdGreaterThanOrderByIdAsc", () -> userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)));
+        queries.put("WebhookDeliveryRepository.findDueForUpdate", () -> webhookDeliveryRepository.findDueForUpdate(now, Limit.of(10)));
+        queries.put("WebhookDeliveryRepository.countByStatus", () -> webhookDeliveryRepository.countByStatus(WebhookDeliveryStatus.PENDING));
+        queries.put("AnswerJdbcRepository.upsert", () -> answerJdbcRepository.upsert(AnswerDto.builder().userId(userId)
+                .questionId(questionId).selectedOptionId(optionId).isCorrect(true).build(), null, "SYSTEM"));
+        queries.put("AnswerJdbcRepository.upsertAll", () -> answerJdbcRepository.upsertAll(List.of(AnswerDto.builder().userId(userId)
+                .questionId(questionId).selectedOptionId(optionId).isCorrect(true).build()), "SYSTEM"));
+        queries.put("AnswerJdbcRepository.streamResultsByQuizId", () -> answerJdbcRepository.streamResultsByQuizId(quizId, 100, rs -> {
+        }));
+        queries.put("AnswerJdbcRepository.streamAnswersByQuizId", () -> answerJdbcRepository.streamAnswersByQuizId(quizId, 100, rs -> {
+        }));
+        queries.put("OptionJdbcRepository.addChoiceCounts", () -> optionJdbcRepository.addChoiceCounts(Map.of(optionId, 1L)));
+        queries.put("UserQuizJdbcRepository.findProgress", () -> userQuizJdbcRepository.findProgress(userId, quizId));
+        queries.put("UserQuizJdbcRepository.findScoresByQuizId", () -> userQuizJdbcRepository.findScoresByQuizId(quizId));
+        queries.put("UserQuizJdbcRepository.findScoresOfLiveQuizzes", () -> userQuizJdbcRepository.findScoresOfLiveQuizzes(now));
+        queries.put("OptionRepository.deactivateByQuestionId", () -> optionRepository.deactivateByQuestionId(questionId));
+        queries.put("OptionRepository.deactivateByQuizId", () -> optionRepository.deactivateByQuizId(quizId));
+        queries.put("QuestionRepository.deactivateByQuizId", () -> questionRepository.deactivateByQuizId(quizId));
+        queries.put("QuestionRepository.deleteById", () -> questionRepository.deleteById(questionId));
+        queries.put("QuizRepository.deleteById", () -> quizRepository.deleteById(quizId));
+
+        List<String> violations = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            statementRecorder.start();
+            query.run();
+            entityManager.flush();
+            for (String sql : statementRecorder.stop()) {
+                if (!QUERY.matcher(sql).find()) {
+                    continue;
+                }
+                String plan = explain(sql);
+                List<String> scans = new ArrayList<>();
+                findUnindexedScans(readPlan(plan).get(0).get("Plan"), scans);
+                if (!scans.isEmpty()) {
+                    violations.add(name + " reads " + scans + "\n" + sql + "\n" + plan);
+                }
+            }
+        });
+
+        assertThat(violations).isEmpty();
+    }
+
+    private String explain(String sql) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_hashjoin = off");
+        jdbcTemplate.execute("SET LOCAL enable_mergejoin = off");
+        // Plan for any parameter values rather than for the NULLs passed to EXECUTE
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        Matcher matcher = PARAMETER.matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(numbered, "\\$" + ++parameter);
+        }
+        matcher.appendTail(numbered);
+        jdbcTemplate.execute("PREPARE repository_query AS " + numbered);
+        try {
+            String arguments = parameter == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameter, "NULL")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (FORMAT JSON) EXECUTE repository_query" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE repository_query");
+        }
+    }
+
+    private JsonNode readPlan(String plan) {
+        try {
+            return objectMapper.readTree(plan);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+    }
+
+    private void findUnindexedScans(JsonNode node, List<String> scans) {
+        String nodeType = node.path("Node Type").asText();
+        boolean indexScan = nodeType.equals("Index Scan") || nodeType.equals("Index Only Scan");
+        if (nodeType.equals("Seq Scan") || (indexScan && !node.has("Index Cond") && node.has("Filter"))) {
+            scans.add(nodeType + " on " + node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            findUnindexedScans(child, scans);
+        }
+    }
+
+    /**
+     * Records the SQL of the statements prepared on the application data source.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        List<String> stop() {
+            recording = false;
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof RecordingDataSource) {
+                return bean;
+            }
+            return new RecordingDataSource(dataSource);
+        }
+
+        private final class RecordingDataSource extends DelegatingDataSource {
+            private RecordingDataSource(DataSource dataSource) {
+                super(dataSource);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            if (recording && method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                                statements.add(sql);
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package in.theexplorers.quiz.repositories;
+
+import in.theexplorers.quiz.dtos.response.QuestionResponseDto;
+import in.theexplorers.quiz.entities.Option;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.utilities.SoftDeleteUtility;
+import in.theexplorers.quiz.utilities.converters.QuestionConverter;
+import in.theexplorers.quiz.utilities.converters.impl.OptionConverterImpl;
+import in.theexplorers.quiz.utilities.converters.impl.QuestionConverterImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QuestionRepositoryTests {
+
+    private static final int QUESTION_COUNT = 5;
+    private static final int OPTION_COUNT = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final QuestionConverter questionConverter = new QuestionConverterImpl(new OptionConverterImpl());
+
+    private Long quizId;
+
+    @BeforeEach
+    void setUp() {
+        Quiz quiz = entityManager.persist(Quiz.builder().title("Java").description("Java basics")
+                .startTime(LocalDateTime.now()).endTime(LocalDateTime.now().plusHours(1)).createdBy("SYSTEM").build());
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            Question question = entityManager.persist(Question.builder().text("Question " + i).quiz(quiz).createdBy("SYSTEM").build());
+            for (int j = 0; j < OPTION_COUNT; j++) {
+                entityManager.persist(Option.builder().text("Option " + j).question(question)
+                        .isCorrect(j == 0).createdBy("SYSTEM").build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        quizId = quiz.getId();
+    }
+
+    @Test
+    void findWithOptionsByQuizIdLoadsQuestionTreeInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<QuestionResponseDto> questions = questionRepository.findWithOptionsByQuizId(quizId).stream()
+                .map(questionConverter::questionToQuestionResponseDto)
+                .toList();
+
+        assertThat(questions).hasSize(QUESTION_COUNT);
+        assertThat(questions).allSatisfy(question -> assertThat(question.getOptions()).hasSize(OPTION_COUNT));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findWithOptionsByIdLoadsQuestionInOneStatement() {
+        Long questionId = questionRepository.findActiveIdsByQuizId(quizId).get(0);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        QuestionResponseDto question = questionConverter.questionToQuestionResponseDto(
+                questionRepository.findWithOptionsById(questionId).orElseThrow());
+
+        assertThat(question.getOptions()).hasSize(OPTION_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void softDeletedRowsAreHiddenFromCollectionsUnlessInactiveRowsAreIncluded() {
+        Long questionId = questionRepository.findActiveIdsByQuizId(quizId).get(0);
+        optionRepository.deactivateByQuestionId(questionId);
+        questionRepository.deleteById(questionId);
+        entityManager.clear();
+
+        assertThat(entityManager.find(Quiz.class, quizId).getQuestions()).hasSize(QUESTION_COUNT - 1);
+        assertThat(entityManager.find(Question.class, questionId).getOptions()).isEmpty();
+
+        entityManager.clear();
+        SoftDeleteUtility.includeInactive(entityManager.getEntityManager());
+
+        assertThat(entityManager.find(Quiz.class, quizId).getQuestions()).hasSize(QUESTION_COUNT);
+        assertThat(entityManager.find(Question.class, questionId).getOptions()).hasSize(OPTION_COUNT);
+    }
+}
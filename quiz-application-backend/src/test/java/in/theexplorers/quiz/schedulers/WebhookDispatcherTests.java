@@ -0,0 +1,163 @@
+package in.theexplorers.quiz.schedulers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import in.theexplorers.quiz.configurations.RestTemplateConfig;
+import in.theexplorers.quiz.configurations.WebhookConfiguration;
+import in.theexplorers.quiz.configurations.WebhookProperties;
+import in.theexplorers.quiz.entities.WebhookDelivery;
+import in.theexplorers.quiz.services.WebhookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the webhook dispatcher against a stub HTTP server on localhost.
+ */
+class WebhookDispatcherTests {
+
+    private static final String PAYLOAD = "{\"quizId\":7}";
+
+    private HttpServer server;
+    private ExecutorService webhookExecutor;
+    private WebhookService webhookService;
+    private WebhookDispatcher webhookDispatcher;
+
+    private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+    private volatile String receivedBody;
+    private final AtomicInteger concurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            receivedHeaders.put(WebhookDispatcher.EVENT_HEADER, exchange.getRequestHeaders().getFirst(WebhookDispatcher.EVENT_HEADER));
+            receivedHeaders.put(WebhookDispatcher.DELIVERY_HEADER, exchange.getRequestHeaders().getFirst(WebhookDispatcher.DELIVERY_HEADER));
+            receivedBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            respond(exchange, 204);
+        });
+        server.createContext("/unavailable", exchange -> respond(exchange, 503));
+        server.createContext("/rejected", exchange -> respond(exchange, 400));
+        server.createContext("/slow", exchange -> {
+            sleep(Duration.ofSeconds(3));
+            respond(exchange, 200);
+        });
+        server.createContext("/blocking", exchange -> {
+            int current = concurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(current, Math::max);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrentRequests.decrementAndGet();
+            respond(exchange, 200);
+        });
+        server.start();
+
+        WebhookProperties webhookProperties = new WebhookProperties();
+        webhookProperties.setReadTimeout(Duration.ofMillis(500));
+        webhookProperties.setWorkers(4);
+        webhookProperties.setPerEndpointConcurrency(2);
+        webhookExecutor = new WebhookConfiguration().webhookExecutor(webhookProperties);
+        webhookService = mock(WebhookService.class);
+        webhookDispatcher = new WebhookDispatcher(webhookService, new RestTemplateConfig().restTemplate(webhookProperties),
+                webhookExecutor, webhookProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        webhookExecutor.shutdownNow();
+    }
+
+    @Test
+    void acknowledgedDeliveryIsMarkedDelivered() {
+        webhookDispatcher.dispatch(delivery(1L, "/ok"));
+
+        verify(webhookService, timeout(5000)).markDelivered(eq(1L), any());
+        assertThat(receivedBody).isEqualTo(PAYLOAD);
+        assertThat(receivedHeaders).containsEntry(WebhookDispatcher.EVENT_HEADER, "QUIZ_ACTIVATED")
+                .containsEntry(WebhookDispatcher.DELIVERY_HEADER, "1");
+    }
+
+    @Test
+    void serverErrorIsRetried() {
+        webhookDispatcher.dispatch(delivery(2L, "/unavailable"));
+
+        verify(webhookService, timeout(5000)).markAttemptFailed(eq(2L), eq("HTTP 503"), eq(true), any());
+    }
+
+    @Test
+    void clientErrorIsNotRetried() {
+        webhookDispatcher.dispatch(delivery(3L, "/rejected"));
+
+        verify(webhookService, timeout(5000)).markAttemptFailed(eq(3L), eq("HTTP 400"), eq(false), any());
+    }
+
+    @Test
+    void slowReceiverTimesOutAndIsRetried() {
+        long start = System.nanoTime();
+        webhookDispatcher.dispatch(delivery(4L, "/slow"));
+
+        verify(webhookService, timeout(2500)).markAttemptFailed(eq(4L), startsWith("I/O error"), eq(true), any());
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void deliveriesOverTheEndpointLimitAreDeferred() {
+        for (long id = 10; id < 14; id++) {
+            webhookDispatcher.dispatch(delivery(id, "/blocking"));
+        }
+
+        verify(webhookService, times(2)).deferDelivery(anyLong());
+        release.countDown();
+        verify(webhookService, timeout(5000).times(2)).markDelivered(anyLong(), any());
+        assertThat(maxConcurrentRequests.get()).isLessThanOrEqualTo(2);
+    }
+
+    private WebhookDelivery delivery(Long id, String path) {
+        return WebhookDelivery.builder().id(id).eventType("QUIZ_ACTIVATED")
+                .endpoint("http://localhost:" + server.getAddress().getPort() + path)
+                .payload(PAYLOAD).createdBy("SYSTEM").build();
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
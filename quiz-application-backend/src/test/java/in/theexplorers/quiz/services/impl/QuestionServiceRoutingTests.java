@@ -0,0 +1,127 @@
+package in.theexplorers.quiz.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.theexplorers.quiz.caches.AnswerKeyCache;
+import in.theexplorers.quiz.caches.ChoiceCounters;
+import in.theexplorers.quiz.caches.QuizContentCache;
+import in.theexplorers.quiz.dtos.request.QuestionRequestDto;
+import in.theexplorers.quiz.entities.Question;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.repositories.QuestionRepository;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import in.theexplorers.quiz.utilities.converters.AnswerConverter;
+import in.theexplorers.quiz.utilities.converters.impl.OptionConverterImpl;
+import in.theexplorers.quiz.utilities.converters.impl.QuestionConverterImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({QuestionServiceImpl.class, QuestionConverterImpl.class, OptionConverterImpl.class, QuestionServiceRoutingTests.RoutingConfiguration.class})
+class QuestionServiceRoutingTests {
+
+    private static final AtomicInteger replicaConnections = new AtomicInteger();
+
+    @MockBean
+    private AnswerConverter answerConverter;
+    @MockBean
+    private AnswerKeyCache answerKeyCache;
+    @MockBean
+    private QuizContentCache quizContentCache;
+    @MockBean
+    private ObjectMapper objectMapper;
+    @MockBean
+    private ChoiceCounters choiceCounters;
+
+    @Autowired
+    private QuestionServiceImpl questionService;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    private Long questionId;
+
+    @BeforeEach
+    void setUp() {
+        Quiz quiz = quizRepository.save(Quiz.builder().title("Java").description("Java basics")
+                .startTime(LocalDateTime.now()).endTime(LocalDateTime.now().plusHours(1)).createdBy("SYSTEM").build());
+        questionId = questionRepository.save(Question.builder().text("What is a JVM?").quiz(quiz).createdBy("SYSTEM").build()).getId();
+        replicaConnections.set(0);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        questionRepository.deleteAllInBatch();
+        quizRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void findByIdOutsideATransactionUsesTheReplica() {
+        questionRepository.findById(questionId);
+
+        assertThat(replicaConnections).hasValue(1);
+    }
+
+    @Test
+    void updateQuestionReadsTheQuestionFromThePrimary() {
+        questionService.updateQuestion(questionId, QuestionRequestDto.builder().text("What is the JVM?").build());
+
+        assertThat(replicaConnections).hasValue(0);
+        assertThat(questionRepository.findWithOptionsById(questionId)).get().extracting(Question::getText).isEqualTo("What is the JVM?");
+    }
+
+    @TestConfiguration
+    static class RoutingConfiguration {
+
+        @Bean(destroyMethod = "shutdown")
+        EmbeddedDatabase primaryDataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(EmbeddedDatabase primaryDataSource) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+            dataSource.setReadOnlyDataSource(new DelegatingDataSource(primaryDataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    replicaConnections.incrementAndGet();
+                    return super.getConnection();
+                }
+            });
+            return dataSource;
+        }
+    }
+}
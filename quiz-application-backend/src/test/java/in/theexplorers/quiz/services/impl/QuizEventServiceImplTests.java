@@ -0,0 +1,171 @@
+package in.theexplorers.quiz.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import in.theexplorers.quiz.entities.Quiz;
+import in.theexplorers.quiz.repositories.QuizRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuizEventServiceImplTests {
+
+    private static final long QUIZ_ID = 1L;
+
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean nextEmitterBlocks;
+    private final QuizEventServiceImpl quizEventService = new QuizEventServiceImpl(
+            new ObjectMapper().registerModule(new JavaTimeModule()), quizRepository, mock(PlatformTransactionManager.class),
+            Duration.ofMinutes(1), Duration.ofSeconds(5), 2, 4) {
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            RecordingEmitter emitter = new RecordingEmitter(nextEmitterBlocks ? released : null);
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        quizEventService.shutdown();
+    }
+
+    @Test
+    void subscriberIsFirstSentTheCurrentStatus() {
+        when(quizRepository.findByIdAndIsDeletedFalse(QUIZ_ID)).thenReturn(Optional.of(quiz(true)));
+
+        quizEventService.subscribe(QUIZ_ID);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> !emitters.get(0).frames.isEmpty());
+        assertThat(emitters.get(0).frames.get(0)).contains("event:quiz-status", "\"active\":true");
+        assertThat(quizEventService.getSubscriberCount()).isOne();
+    }
+
+    @Test
+    void statusChangeIsQueuedBehindTheInitialStatus() {
+        CountDownLatch read = new CountDownLatch(1);
+        when(quizRepository.findByIdAndIsDeletedFalse(QUIZ_ID)).thenAnswer(invocation -> {
+            // The quiz is read before the activation below commits
+            read.await(5, TimeUnit.SECONDS);
+            return Optional.of(quiz(false));
+        });
+
+        quizEventService.subscribe(QUIZ_ID);
+        quizEventService.publishStatus(List.of(QUIZ_ID), true);
+        read.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitters.get(0).frames.size() == 2);
+        assertThat(emitters.get(0).frames.get(0)).contains("\"active\":false");
+        assertThat(emitters.get(0).frames.get(1)).contains("\"active\":true");
+    }
+
+    @Test
+    void statusIsFannedOutToEveryStreamOfTheQuiz() {
+        when(quizRepository.findByIdAndIsDeletedFalse(QUIZ_ID)).thenReturn(Optional.of(quiz(false)));
+        when(quizRepository.findByIdAndIsDeletedFalse(2L)).thenReturn(Optional.of(quiz(false)));
+        quizEventService.subscribe(QUIZ_ID);
+        quizEventService.subscribe(QUIZ_ID);
+        quizEventService.subscribe(2L);
+
+        quizEventService.publishStatus(List.of(QUIZ_ID), true);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitters.get(0).frames.size() == 2 && emitters.get(1).frames.size() == 2);
+        assertThat(emitters.get(0).frames.get(1)).contains("\"active\":true");
+        assertThat(emitters.get(1).frames.get(1)).contains("\"active\":true");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitters.get(2).frames.size() == 1);
+        assertThat(emitters.get(2).frames).hasSize(1);
+    }
+
+    @Test
+    void heartbeatIsSentToEveryStream() {
+        when(quizRepository.findByIdAndIsDeletedFalse(QUIZ_ID)).thenReturn(Optional.of(quiz(true)));
+        when(quizRepository.findByIdAndIsDeletedFalse(2L)).thenReturn(Optional.of(quiz(true)));
+        quizEventService.subscribe(QUIZ_ID);
+        quizEventService.subscribe(2L);
+
+        quizEventService.sendHeartbeats();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> emitters.stream().allMatch(emitter -> emitter.frames.size() == 2));
+        emitters.forEach(emitter -> assertThat(emitter.frames.get(1)).isEqualTo(":heartbeat\n\n"));
+    }
+
+    @Test
+    void slowStreamIsDroppedWithoutDelayingTheOthers() {
+        when(quizRepository.findByIdAndIsDeletedFalse(QUIZ_ID)).thenReturn(Optional.of(quiz(true)));
+        nextEmitterBlocks = true;
+        quizEventService.subscribe(QUIZ_ID);
+        nextEmitterBlocks = false;
+        quizEventService.subscribe(QUIZ_ID);
+        RecordingEmitter slow = emitters.get(0);
+        RecordingEmitter fast = emitters.get(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.sending && fast.frames.size() == 1);
+
+        for (int i = 0; i < 5; i++) {
+            quizEventService.sendHeartbeats();
+            int sent = i + 2;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.frames.size() == sent);
+        }
+
+        assertThat(quizEventService.getSubscriberCount()).isOne();
+        released.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.completed);
+        assertThat(fast.completed).isFalse();
+    }
+
+    private static Quiz quiz(boolean isActive) {
+        Quiz quiz = new Quiz();
+        quiz.setIsActive(isActive);
+        return quiz;
+    }
+
+    /**
+     * Emitter recording the frames sent to it, optionally blocking in its first send like a stalled client.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            sending = true;
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package in.theexplorers.quiz.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTests {
+
+    @Test
+    void readsQuotedFieldsAcrossLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "text,correctOption,option1\r\n\"Say \"\"hi\"\", then\nwait\",1,\"a,b\"\nlast,2,x,"), 100);
+
+        assertThat(reader.readRecord()).containsExactly("text", "correctOption", "option1");
+        assertThat(reader.readRecord()).containsExactly("Say \"hi\", then\nwait", "1", "a,b");
+        assertThat(reader.readRecord()).containsExactly("last", "2", "x", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void rejectsUnclosedQuotesAndLongFields() {
+        assertThatThrownBy(() -> new CsvReader(new StringReader("\"open,1"), 100).readRecord())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CsvReader(new StringReader("abcdef"), 5).readRecord())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
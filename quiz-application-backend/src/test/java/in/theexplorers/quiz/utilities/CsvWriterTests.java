@@ -0,0 +1,23 @@
+package in.theexplorers.quiz.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTests {
+
+    @Test
+    void quotesOnlyFieldsThatNeedItAndReadsBack() throws IOException {
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+        writer.writeRecord(1L, "plain", null, "a,b", "say \"hi\"", "two\nlines", true);
+
+        assertThat(output.toString()).isEqualTo("1,plain,,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",true\r\n");
+        assertThat(new CsvReader(new StringReader(output.toString()), 100).readRecord())
+                .containsExactly("1", "plain", "", "a,b", "say \"hi\"", "two\nlines", "true");
+    }
+}
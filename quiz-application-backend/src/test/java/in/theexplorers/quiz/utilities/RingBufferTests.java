@@ -0,0 +1,101 @@
+package in.theexplorers.quiz.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTests {
+
+    private final RingBuffer<String> buffer = new RingBuffer<>(4, 10);
+
+    @Test
+    void claimFailsWhenFullUntilElementsAreReleased() {
+        for (int i = 0; i < 4; i++) {
+            long sequence = buffer.claim();
+            assertThat(sequence).isEqualTo(10 + i);
+            buffer.publish(sequence, "answer " + i);
+        }
+        assertThat(buffer.claim()).isEqualTo(-1);
+
+        List<String> batch = new ArrayList<>();
+        assertThat(buffer.drainTo(batch, 3)).isEqualTo(3);
+        assertThat(buffer.claim()).isEqualTo(-1);
+
+        buffer.release(3);
+        assertThat(buffer.claim()).isEqualTo(14);
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void drainStopsAtUnpublishedSequenceAndRepeatsUntilRelease() {
+        long first = buffer.claim();
+        long second = buffer.claim();
+        buffer.publish(second, "second");
+
+        List<String> batch = new ArrayList<>();
+        assertThat(buffer.drainTo(batch, 10)).isZero();
+
+        buffer.publish(first, "first");
+        assertThat(buffer.drainTo(batch, 10)).isEqualTo(2);
+        assertThat(buffer.drainTo(batch, 10)).isEqualTo(2);
+        assertThat(batch).containsExactly("first", "second", "first", "second");
+    }
+
+    @Test
+    void concurrentProducersPublishEveryElementOnce() throws InterruptedException {
+        RingBuffer<Integer> ring = new RingBuffer<>(1024, 0);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence;
+                    while ((sequence = ring.claim()) < 0) {
+                        Thread.onSpinWait();
+                    }
+                    ring.publish(sequence, producer * perProducer + i);
+                }
+            });
+        }
+
+        start.countDown();
+        boolean[] seen = new boolean[producers * perProducer];
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        while (received < seen.length) {
+            batch.clear();
+            int count = ring.drainTo(batch, 100);
+            for (int element : batch) {
+                assertThat(seen[element]).isFalse();
+                seen[element] = true;
+            }
+            ring.release(count);
+            received += count;
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void capacityMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new RingBuffer<String>(6, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package in.theexplorers.quiz.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTests {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long SECOND = 1000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofSeconds(1), START);
+
+    @Test
+    void keyFiresOnFirstTickAtOrAfterDeadline() {
+        wheel.schedule("quiz", START + 5 * SECOND + 200);
+
+        assertThat(wheel.advance(START + 5 * SECOND + 999)).isEmpty();
+        assertThat(wheel.advance(START + 6 * SECOND)).containsExactly("quiz");
+        assertThat(wheel.advance(START + 7 * SECOND)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvance() {
+        wheel.schedule("late", START - SECOND);
+
+        assertThat(wheel.advance(START)).containsExactly("late");
+    }
+
+    @Test
+    void rescheduleReplacesAndCancelRemoves() {
+        wheel.schedule("moved", START + 10 * SECOND);
+        wheel.schedule("moved", START + 2 * 3600 * SECOND);
+        wheel.schedule("cancelled", START + 10 * SECOND);
+        assertThat(wheel.cancel("cancelled")).isTrue();
+
+        assertThat(wheel.advance(START + 3600 * SECOND)).isEmpty();
+        assertThat(wheel.advance(START + 2 * 3600 * SECOND)).containsExactly("moved");
+    }
+
+    @Test
+    void farDeadlinesCascadeDownToTheExactTick() {
+        Random random = new Random(42);
+        Map<Long, List<String>> expected = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            // Up to a year ahead, beyond the top level so the overflow queue is used as well
+            long deadline = START + 1 + (long) (random.nextDouble() * 365 * 24 * 3600 * SECOND);
+            String key = "key-" + i;
+            wheel.schedule(key, deadline);
+            long dueTick = (deadline + SECOND - 1) / SECOND * SECOND;
+            expected.computeIfAbsent(dueTick, tick -> new ArrayList<>()).add(key);
+        }
+
+        for (Map.Entry<Long, List<String>> entry : expected.entrySet()) {
+            assertThat(wheel.advance(entry.getKey() - 1)).isEmpty();
+            assertThat(wheel.advance(entry.getKey())).containsExactlyInAnyOrderElementsOf(entry.getValue());
+        }
+        assertThat(wheel.size()).isZero();
+    }
+}